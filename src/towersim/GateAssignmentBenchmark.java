@@ -0,0 +1,134 @@
+package towersim;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.control.BestFitGatePolicy;
+import towersim.control.ControlTower;
+import towersim.control.FirstFitGatePolicy;
+import towersim.control.GateAssignmentPolicy;
+import towersim.control.LandingQueue;
+import towersim.control.LeastOccupiedGatePolicy;
+import towersim.control.RoundRobinGatePolicy;
+import towersim.control.TakeoffQueue;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Measures how quickly each {@link GateAssignmentPolicy} assigns gates at airports with thousands
+ * of gates.
+ * <p>
+ * For each airport size and policy, a control tower is filled to half of its gates. Then, in each
+ * operation, a random parked aircraft leaves its gate and a new aircraft is parked at the gate
+ * found by {@link ControlTower#findUnoccupiedGate(Aircraft)}. After a warm-up, the average time
+ * per operation is reported. Like {@link HeadlessLauncher}, this class does not use JavaFX.
+ */
+public class GateAssignmentBenchmark {
+
+    /**
+     * Runs the benchmark.
+     * <p>
+     * Usage: {@code [num_operations]}, where {@code num_operations} is the number of timed
+     * operations for each airport size and policy (default 1000000).
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        int numOperations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Map<String, Supplier<GateAssignmentPolicy>> policies = new LinkedHashMap<>();
+        policies.put("first-fit", FirstFitGatePolicy::new);
+        policies.put("round-robin", RoundRobinGatePolicy::new);
+        policies.put("least-occupied", LeastOccupiedGatePolicy::new);
+        policies.put("best-fit", BestFitGatePolicy::new);
+        // {number of terminals, gates per terminal}
+        int[][] sizes = {{200, 6}, {2000, 6}, {40, 100}, {4, 3000}};
+
+        for (int[] size : sizes) {
+            for (Map.Entry<String, Supplier<GateAssignmentPolicy>> policy
+                    : policies.entrySet()) {
+                // warm up on a separate airport, then time a fresh one
+                run(size[0], size[1], policy.getValue(), numOperations / 10);
+                long elapsedNanos = run(size[0], size[1], policy.getValue(), numOperations);
+                System.out.printf("%5d terminals x %4d gates  %-15s %8.1f ns/op%n",
+                        size[0], size[1], policy.getKey(),
+                        (double) elapsedNanos / numOperations);
+            }
+        }
+    }
+
+    /* Builds an airport half full of aircraft, then times the given number of operations in which
+    a random aircraft leaves and a new one is parked. Returns the time taken in nanoseconds. */
+    private static long run(int numTerminals, int gatesPerTerminal,
+                            Supplier<GateAssignmentPolicy> policy, int numOperations) {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        tower.setGateAssignmentPolicy(policy);
+        int gateNumber = 1;
+        for (int terminalNumber = 1; terminalNumber <= numTerminals; terminalNumber++) {
+            Terminal terminal = new AirplaneTerminal(terminalNumber, gatesPerTerminal);
+            for (int i = 0; i < gatesPerTerminal; i++) {
+                try {
+                    terminal.addGate(new Gate(gateNumber++));
+                } catch (NoSpaceException impossible) {
+                    // the terminal's capacity is exactly the number of gates added
+                    throw new IllegalStateException(impossible);
+                }
+            }
+            tower.addTerminal(terminal);
+        }
+
+        // one aircraft for every gate, half of them parked
+        int numGates = numTerminals * gatesPerTerminal;
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        Aircraft[] aircraft = new Aircraft[numGates];
+        for (int i = 0; i < numGates; i++) {
+            aircraft[i] = new PassengerAircraft("BEN" + i, AircraftCharacteristics.AIRBUS_A320,
+                    taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        }
+        Gate[] parkedAt = new Gate[numGates];
+        int numParked = numGates / 2;
+        for (int i = 0; i < numParked; i++) {
+            parkedAt[i] = park(tower, aircraft[i]);
+        }
+
+        Random random = new Random(numGates);
+        long start = System.nanoTime();
+        for (int operation = 0; operation < numOperations; operation++) {
+            // a random parked aircraft leaves, and the first waiting aircraft takes its place
+            int leaving = random.nextInt(numParked);
+            parkedAt[leaving].aircraftLeaves();
+            Aircraft left = aircraft[leaving];
+            aircraft[leaving] = aircraft[numParked];
+            aircraft[numParked] = left;
+            parkedAt[leaving] = park(tower, aircraft[leaving]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /* Parks the given aircraft at the gate chosen by the control tower's policy. */
+    private static Gate park(ControlTower tower, Aircraft aircraft) {
+        try {
+            Gate gate = tower.findUnoccupiedGate(aircraft);
+            gate.parkAircraft(aircraft);
+            return gate;
+        } catch (NoSuitableGateException | NoSpaceException exception) {
+            throw new IllegalStateException("Airport is full", exception);
+        }
+    }
+}
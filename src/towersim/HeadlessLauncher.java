@@ -0,0 +1,180 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSaver;
+import towersim.control.InputJournal;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Entry point for running the Control Tower Simulation without a GUI.
+ * <p>
+ * The headless simulation loads a control tower from the same four save files used by
+ * {@link Launcher}, runs a given number of ticks as fast as possible, reports the tick rate and
+ * saves the final state of the control tower.
+ * <p>
+ * This class, and every class it depends on, does not use JavaFX. It can therefore be compiled
+ * and run with only the {@code towersim.aircraft}, {@code towersim.control},
+ * {@code towersim.ground}, {@code towersim.tasks} and {@code towersim.util} packages on the
+ * classpath.
+ */
+public class HeadlessLauncher {
+
+    /**
+     * Runs the simulation without a GUI.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file num_ticks
+     * [out_tick_file out_aircraft_file out_queues_file out_terminalsWithGates_file]
+     * [--latency latency_file]}
+     * <p>
+     * Where the first four arguments are the save files to load from (see
+     * {@link Launcher#main(String[])}) and {@code num_ticks} is the number of ticks to run.
+     * If four output files are given, the final state is saved to them; otherwise it is saved
+     * back to the files it was loaded from. If {@code --latency} is given, the queue wait and
+     * gate occupancy histograms measured during the run are also saved to {@code latency_file}
+     * (see {@link ControlTowerSaver#saveLatencies(ControlTower, java.io.Writer)}).
+     * <p>
+     * Alternatively, the state of a recorded session can be rebuilt with: {@code --replay
+     * journal_file tick_file aircraft_file queues_file terminalsWithGates_file to_tick
+     * out_tick_file out_aircraft_file out_queues_file out_terminalsWithGates_file}
+     * <p>
+     * Where the save files are those the session was started from, {@code journal_file} is the
+     * {@link InputJournal} recorded during the session, and {@code to_tick} is the number of
+     * ticks elapsed to replay up to. The replayed state is saved to the four output files.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--replay")) {
+            replay(args);
+            return;
+        }
+        // the file the latency histograms are saved to; or null if they are not saved
+        String latencyFile = null;
+        if (args.length >= 2 && args[args.length - 2].equals("--latency")) {
+            latencyFile = args[args.length - 1];
+            args = Arrays.copyOf(args, args.length - 2);
+        }
+        if (args.length != 5 && args.length != 9) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file num_ticks [out_tick_file out_aircraft_file"
+                    + " out_queues_file out_terminalsWithGates_file] [--latency latency_file]");
+            System.exit(1);
+        }
+        long numTicks;
+        try {
+            numTicks = Long.parseLong(args[4]);
+        } catch (NumberFormatException exception) {
+            numTicks = -1;
+        }
+        if (numTicks < 0) {
+            System.err.println("Number of ticks must be a non-negative integer: " + args[4]);
+            System.exit(1);
+        }
+        // the files the final state is saved to
+        int outputOffset = args.length == 9 ? 5 : 0;
+
+        try {
+            ControlTower tower = loadControlTower(args[0], args[1], args[2], args[3]);
+            long elapsedNanos = runTicks(tower, numTicks);
+            double elapsedSeconds = elapsedNanos / 1e9;
+            System.out.printf("%d ticks in %.3f s (%.1f ticks/sec)%n", numTicks, elapsedSeconds,
+                    elapsedSeconds > 0 ? numTicks / elapsedSeconds : 0.0);
+            System.out.println(tower);
+            ControlTowerSaver.saveControlTower(tower,
+                    new FileWriter(args[outputOffset]),
+                    new FileWriter(args[outputOffset + 1]),
+                    new FileWriter(args[outputOffset + 2]),
+                    new FileWriter(args[outputOffset + 3]));
+            if (latencyFile != null) {
+                ControlTowerSaver.saveLatencies(tower, new FileWriter(latencyFile));
+            }
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error running headless simulation. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /* Runs the replay mode of main() with the given command line arguments. */
+    private static void replay(String[] args) {
+        if (args.length != 11) {
+            System.err.println("Usage: --replay journal_file tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file to_tick out_tick_file out_aircraft_file"
+                    + " out_queues_file out_terminalsWithGates_file");
+            System.exit(1);
+        }
+        long toTick;
+        try {
+            toTick = Long.parseLong(args[6]);
+        } catch (NumberFormatException exception) {
+            toTick = -1;
+        }
+        if (toTick < 0) {
+            System.err.println("Tick to replay to must be a non-negative integer: " + args[6]);
+            System.exit(1);
+        }
+
+        try (InputStream journal = new FileInputStream(args[1])) {
+            ControlTower tower = loadControlTower(args[2], args[3], args[4], args[5]);
+            long start = System.nanoTime();
+            long inputs = InputJournal.replay(tower, journal, toTick);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Replayed %d inputs to tick %d in %.3f s%n", inputs, toTick,
+                    elapsedSeconds);
+            System.out.println(tower);
+            ControlTowerSaver.saveControlTower(tower, new FileWriter(args[7]),
+                    new FileWriter(args[8]), new FileWriter(args[9]), new FileWriter(args[10]));
+        } catch (MalformedSaveException | IOException | IllegalArgumentException e) {
+            System.err.println("Error replaying simulation. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a control tower by reading from the given save files.
+     *
+     * @param tickFile path to the tick file
+     * @param aircraftFile path to the aircraft file
+     * @param queuesFile path to the queues file
+     * @param terminalsFile path to the terminals with gates file
+     * @return control tower read from the files
+     * @throws MalformedSaveException if any of the files are invalid according to
+     * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}
+     * @throws IOException if an IOException is encountered when reading from the files
+     */
+    public static ControlTower loadControlTower(String tickFile, String aircraftFile,
+                                                String queuesFile, String terminalsFile)
+            throws MalformedSaveException, IOException {
+        try (Reader tick = new FileReader(tickFile);
+             Reader aircraft = new FileReader(aircraftFile);
+             Reader queues = new FileReader(queuesFile);
+             Reader terminals = new FileReader(terminalsFile)) {
+            return ControlTowerInitialiser.createControlTower(tick, aircraft, queues, terminals);
+        }
+    }
+
+    /**
+     * Ticks the given control tower the given number of times, as fast as possible.
+     * <p>
+     * Idle stretches of the simulation are skipped using {@link ControlTower#advanceTo(long)}.
+     *
+     * @param tower control tower to tick
+     * @param numTicks number of ticks to run
+     * @return time taken to run the ticks, in nanoseconds
+     */
+    public static long runTicks(ControlTower tower, long numTicks) {
+        long start = System.nanoTime();
+        tower.advanceTo(tower.getTicksElapsed() + numTicks);
+        return System.nanoTime() - start;
+    }
+}
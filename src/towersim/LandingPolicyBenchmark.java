@@ -0,0 +1,195 @@
+package towersim;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.control.AgingLandingPolicy;
+import towersim.control.ControlTower;
+import towersim.control.FuelUrgencyLandingPolicy;
+import towersim.control.LandingPriorityPolicy;
+import towersim.control.LandingQueue;
+import towersim.control.RuleBasedLandingPolicy;
+import towersim.control.TakeoffQueue;
+import towersim.control.TowerEventBus;
+import towersim.control.TowerEventType;
+import towersim.control.WeightClassLandingPolicy;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the {@link LandingPriorityPolicy} implementations, both by how quickly a landing queue
+ * using each policy performs its operations, and by how each policy affects a busy airport.
+ * <p>
+ * First, for each queue length and policy, a landing queue is filled with aircraft. Then, in each
+ * operation, the aircraft at the front of the queue is removed and added again, and every eighth
+ * operation a state of emergency is declared or cleared on a random aircraft. After a warm-up,
+ * the average time per operation is reported.
+ * <p>
+ * Second, for each policy, a control tower with one terminal and more passenger and freight
+ * aircraft than it can land is run for a number of ticks. The number of aircraft landed, and the
+ * average and worst number of ticks passenger and freight aircraft waited in the landing queue,
+ * are reported. Aircraft still waiting at the end count towards the worst wait. Like
+ * {@link HeadlessLauncher}, this class does not use JavaFX.
+ */
+public class LandingPolicyBenchmark {
+
+    /**
+     * Runs the benchmark.
+     * <p>
+     * Usage: {@code [num_operations [num_ticks]]}, where {@code num_operations} is the number of
+     * timed operations for each queue length and policy (default 1000000), and
+     * {@code num_ticks} is the number of ticks each airport is run for (default 100000).
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        int numOperations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int numTicks = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Map<String, LandingPriorityPolicy> policies = new LinkedHashMap<>();
+        policies.put("rule-based", new RuleBasedLandingPolicy());
+        policies.put("fuel-urgency", new FuelUrgencyLandingPolicy());
+        policies.put("weight-class", new WeightClassLandingPolicy());
+        policies.put("aging", new AgingLandingPolicy());
+
+        for (int queueLength : new int[] {100, 10_000, 1_000_000}) {
+            for (Map.Entry<String, LandingPriorityPolicy> policy : policies.entrySet()) {
+                // warm up on a separate queue, then time a fresh one
+                runQueue(queueLength, policy.getValue(), numOperations / 10);
+                long elapsedNanos = runQueue(queueLength, policy.getValue(), numOperations);
+                System.out.printf("%8d aircraft queued  %-13s %8.1f ns/op%n", queueLength,
+                        policy.getKey(), (double) elapsedNanos / numOperations);
+            }
+        }
+        System.out.println();
+        System.out.printf("%-13s %8s %23s %23s%n", "", "landed", "passenger wait avg/max",
+                "freight wait avg/max");
+        for (Map.Entry<String, LandingPriorityPolicy> policy : policies.entrySet()) {
+            System.out.printf("%-13s %s%n", policy.getKey(), runAirport(policy.getValue(),
+                    numTicks));
+        }
+    }
+
+    /* Creates a new aircraft that flies away for a few ticks, lands, loads and takes off, with a
+    random type and amount of fuel. */
+    private static Aircraft createAircraft(int number, Random random) {
+        List<Task> tasks = new ArrayList<>();
+        for (int away = random.nextInt(8); away >= 0; away--) {
+            tasks.add(new Task(TaskType.AWAY));
+        }
+        tasks.add(new Task(TaskType.LAND));
+        tasks.add(new Task(TaskType.LOAD, 50));
+        tasks.add(new Task(TaskType.TAKEOFF));
+        TaskList taskList = new TaskList(tasks);
+        switch (random.nextInt(3)) {
+            case 0:
+                return new FreightAircraft("FRT" + number, AircraftCharacteristics.BOEING_747_8F,
+                        taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity
+                        * random.nextDouble(), 0);
+            case 1:
+                return new PassengerAircraft("PAX" + number, AircraftCharacteristics.BOEING_787,
+                        taskList, AircraftCharacteristics.BOEING_787.fuelCapacity
+                        * random.nextDouble(), 0);
+            default:
+                return new PassengerAircraft("PAX" + number, AircraftCharacteristics.FOKKER_100,
+                        taskList, AircraftCharacteristics.FOKKER_100.fuelCapacity
+                        * random.nextDouble(), 0);
+        }
+    }
+
+    /* Fills a landing queue with the given number of aircraft, then times the given number of
+    operations in which the front aircraft is removed and added again. Returns the time taken in
+    nanoseconds. */
+    private static long runQueue(int queueLength, LandingPriorityPolicy policy,
+                                 int numOperations) {
+        Random random = new Random(queueLength);
+        LandingQueue queue = new LandingQueue(policy);
+        Aircraft[] aircraft = new Aircraft[queueLength];
+        for (int i = 0; i < queueLength; i++) {
+            aircraft[i] = createAircraft(i, random);
+            queue.addAircraft(aircraft[i]);
+        }
+
+        long start = System.nanoTime();
+        for (int operation = 0; operation < numOperations; operation++) {
+            queue.addAircraft(queue.removeAircraft());
+            if (operation % 8 == 0) {
+                Aircraft changed = aircraft[random.nextInt(queueLength)];
+                if (changed.hasEmergency()) {
+                    changed.clearEmergency();
+                } else {
+                    changed.declareEmergency();
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /* Runs a busy airport using the given policy for the given number of ticks, and returns a
+    line describing the number of aircraft landed and how long they waited. */
+    private static String runAirport(LandingPriorityPolicy policy, int numTicks) {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(policy),
+                new TakeoffQueue(), new HashMap<>());
+        Terminal terminal = new AirplaneTerminal(1);
+        try {
+            for (int gate = 1; gate <= Terminal.MAX_NUM_GATES; gate++) {
+                terminal.addGate(new Gate(gate));
+            }
+        } catch (NoSpaceException impossible) {
+            // the terminal has room for exactly this many gates
+            throw new IllegalStateException(impossible);
+        }
+        tower.addTerminal(terminal);
+        Random random = new Random(0);
+        try {
+            for (int i = 0; i < 40; i++) {
+                tower.addAircraft(createAircraft(i, random));
+            }
+        } catch (NoSuitableGateException impossible) {
+            // no aircraft starts at a gate
+            throw new IllegalStateException(impossible);
+        }
+
+        // tick at which each aircraft in the landing queue was queued
+        Map<Aircraft, Long> queuedAt = new IdentityHashMap<>();
+        // {landed, total wait, worst wait} for passenger and freight aircraft
+        long[][] waits = new long[2][3];
+        TowerEventBus.Subscription subscription = tower.getEventBus().subscribe();
+        for (int tick = 0; tick < numTicks; tick++) {
+            tower.tick();
+            subscription.drain(event -> {
+                if (event.getType() == TowerEventType.QUEUED_TO_LAND) {
+                    queuedAt.put(event.getAircraft(), event.getTick());
+                } else if (event.getType() == TowerEventType.LANDED) {
+                    long wait = event.getTick() - queuedAt.remove(event.getAircraft());
+                    long[] kind = waits[event.getAircraft() instanceof PassengerAircraft ? 0 : 1];
+                    kind[0]++;
+                    kind[1] += wait;
+                    kind[2] = Math.max(kind[2], wait);
+                }
+            });
+        }
+        subscription.close();
+        for (Map.Entry<Aircraft, Long> waiting : queuedAt.entrySet()) {
+            long[] kind = waits[waiting.getKey() instanceof PassengerAircraft ? 0 : 1];
+            kind[2] = Math.max(kind[2], tower.getTicksElapsed() - waiting.getValue());
+        }
+        return String.format("%8d %14.1f / %6d %14.1f / %6d", waits[0][0] + waits[1][0],
+                (double) waits[0][1] / Math.max(1, waits[0][0]), waits[0][2],
+                (double) waits[1][1] / Math.max(1, waits[1][0]), waits[1][2]);
+    }
+}
@@ -25,7 +25,7 @@ public class Launcher extends Application {
     /**
      * Launches the GUI.
      * <p>
-     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file}
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [journal_file]}
      * <p>
      * Where
      * <ul>
@@ -36,15 +36,17 @@ public class Launcher extends Application {
      * and list of loading aircraft</li>
      * <li>{@code terminalsWithGates_file} is the path to the file containing the terminals and
      * their gates</li>
+     * <li>{@code journal_file}, if given, is the path to which every external input is recorded
+     * (see {@link towersim.control.InputJournal})</li>
      * </ul>
      *
      * @param args command line arguments
      * @given
      */
     public static void main(String[] args) {
-        if (args.length != 4) {
+        if (args.length != 4 && args.length != 5) {
             System.err.println("Usage: tick_file aircraft_file queues_file"
-                    + " terminalsWithGates_file\n");
+                    + " terminalsWithGates_file [journal_file]\n");
             System.err.println("You did not specify the names of the four required save files"
                     + " from which to load.");
             System.err.println("To do this, you need to add four command line arguments to your "
@@ -0,0 +1,112 @@
+package towersim;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.control.AircraftQueue;
+import towersim.control.LandingQueue;
+import towersim.control.TakeoffQueue;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long it takes to submit an aircraft to a queue with
+ * {@link AircraftQueue#submitAircraft(Aircraft)} as the number of submitting threads grows.
+ * <p>
+ * For each queue type and number of producer threads, every producer submits the same number of
+ * aircraft as fast as it can, while a single consumer thread adds the submitted aircraft to the
+ * queue and removes them again. The average time per submission, over all producers, and the
+ * time for the consumer to remove every aircraft are reported. Like {@link HeadlessLauncher},
+ * this class does not use JavaFX.
+ */
+public class QueueSubmissionBenchmark {
+
+    /**
+     * Runs the benchmark.
+     * <p>
+     * Usage: {@code [submissions_per_thread]} (default 1000000).
+     *
+     * @param args command line arguments
+     * @throws InterruptedException if interrupted while waiting for producers or the consumer
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 0), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY)));
+        // a small pool of aircraft, submitted over and over
+        Aircraft[] aircraft = new Aircraft[64];
+        for (int i = 0; i < aircraft.length; i++) {
+            aircraft[i] = i % 2 == 0
+                    ? new PassengerAircraft("SUB" + i, AircraftCharacteristics.AIRBUS_A320,
+                    taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0)
+                    : new FreightAircraft("SUB" + i, AircraftCharacteristics.BOEING_747_8F,
+                    taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 0);
+        }
+
+        for (int numThreads : new int[] {1, 2, 4, 8, 16}) {
+            for (Supplier<AircraftQueue> queue
+                    : List.<Supplier<AircraftQueue>>of(TakeoffQueue::new, LandingQueue::new)) {
+                // warm up on a separate queue, then time a fresh one
+                run(queue.get(), numThreads, perThread / 10, aircraft);
+                long[] result = run(queue.get(), numThreads, perThread, aircraft);
+                System.out.printf("%2d producers  %-13s %8.1f ns/submission %8.1f ms to consume%n",
+                        numThreads, queue.get().getClass().getSimpleName(),
+                        (double) result[0] / ((long) numThreads * perThread), result[1] / 1e6);
+            }
+        }
+    }
+
+    /* Submits aircraft to the given queue from the given number of threads while consuming them
+    on another thread. Returns the total time spent submitting, and the time taken to consume
+    every aircraft, in nanoseconds. */
+    private static long[] run(AircraftQueue queue, int numThreads, int perThread,
+                              Aircraft[] aircraft) throws InterruptedException {
+        AtomicLong submitNanos = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            producers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+                long begin = System.nanoTime();
+                for (int i = 0; i < perThread; i++) {
+                    queue.submitAircraft(aircraft[i & (aircraft.length - 1)]);
+                }
+                submitNanos.addAndGet(System.nanoTime() - begin);
+            });
+            producers[t].start();
+        }
+        long[] consumeNanos = new long[1];
+        Thread consumer = new Thread(() -> {
+            long remaining = (long) numThreads * perThread;
+            long begin = System.nanoTime();
+            while (remaining > 0) {
+                Aircraft submitted;
+                while ((submitted = queue.pollSubmission()) != null) {
+                    queue.addAircraft(submitted);
+                }
+                if (queue.removeAircraft() != null) {
+                    remaining--;
+                }
+            }
+            consumeNanos[0] = System.nanoTime() - begin;
+        });
+        consumer.start();
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        consumer.join();
+        return new long[] {submitNanos.get(), consumeNanos[0]};
+    }
+}
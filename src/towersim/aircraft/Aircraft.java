@@ -7,10 +7,16 @@ import towersim.util.Encodable;
 import towersim.util.OccupancyLevel;
 import towersim.util.Tickable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringJoiner;
 
 /**
  * Represents an aircraft whose movement is managed by the system.
+ * <p>
+ * Each aircraft is a view over a slot of a {@link FleetStore}, which holds its callsign,
+ * characteristics, fuel, cargo and emergency state, and the position of its current task. The
+ * aircraft object itself holds only its listeners and modification count.
  * @ass1
  */
 public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencyState, Encodable {
@@ -21,20 +27,26 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     public static final double LITRE_OF_FUEL_WEIGHT = 0.8;
 
-    /** Unique callsign to identify the aircraft */
-    private String callsign;
+    /** Fleet store holding the state of this aircraft */
+    private final FleetStore store;
 
-    /** Characteristics of this aircraft including weight, fuel capacity, etc. */
-    private AircraftCharacteristics characteristics;
+    /** Slot of the fleet store holding the state of this aircraft */
+    private final int slot;
 
     /** List of tasks representing the aircraft's desired operations */
-    private TaskList tasks;
+    private final TaskList tasks;
 
-    /** Current amount of fuel onboard, in litres */
-    private double fuelAmount;
+    /** Listeners notified of changes to the fuel or emergency state; null until one is registered */
+    private List<AircraftListener> listeners;
 
-    /** Whether the aircraft is currently in a state of emergency */
-    private boolean emergency;
+    /** Number of times the fuel, cargo or emergency state of this aircraft may have changed */
+    private int modificationCount;
+
+    /** Whether notifications of fuel changes are held back until they are sent explicitly */
+    private boolean notificationsDeferred;
+
+    /** Whether a change to the fuel onboard has been held back since notifications were deferred */
+    private boolean fuelChangeDeferred;
 
     /**
      * Creates a new aircraft with the given callsign, task list, fuel capacity and amount.
@@ -44,6 +56,9 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * If the given fuel amount is less than zero or greater than the aircraft's maximum fuel
      * capacity as defined in the aircraft's characteristics, then an
      * {@code IllegalArgumentException} should be thrown.
+     * <p>
+     * The aircraft is created in the fleet store its task list is bound to, or in a new store of
+     * its own if the task list is not bound to one.
      *
      * @param callsign        unique callsign
      * @param characteristics characteristics that describe this aircraft
@@ -54,17 +69,36 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     protected Aircraft(String callsign, AircraftCharacteristics characteristics, TaskList tasks,
             double fuelAmount) {
+        this(FleetStore.of(tasks), callsign, characteristics, tasks, fuelAmount, 0);
+    }
+
+    /**
+     * Creates a new aircraft in the next slot of the given fleet store, with the given callsign,
+     * task list, fuel amount and amount of cargo onboard.
+     * <p>
+     * Newly created aircraft are not in a state of emergency. The amount of cargo must already
+     * have been checked against the aircraft's capacity by the subclass.
+     *
+     * @param store           fleet store to hold the state of the aircraft
+     * @param callsign        unique callsign
+     * @param characteristics characteristics that describe this aircraft
+     * @param tasks           task list to be used by aircraft
+     * @param fuelAmount      current amount of fuel onboard, in litres
+     * @param cargoAmount     current number of passengers or kilograms of freight onboard
+     * @throws IllegalArgumentException if fuelAmount &lt; 0 or if fuelAmount &gt; fuel capacity,
+     * or if the task list is bound to a different fleet store
+     */
+    protected Aircraft(FleetStore store, String callsign, AircraftCharacteristics characteristics,
+            TaskList tasks, double fuelAmount, int cargoAmount) {
         if (fuelAmount < 0) {
             throw new IllegalArgumentException("Amount of fuel onboard cannot be negative");
         }
         if (fuelAmount > characteristics.fuelCapacity) {
             throw new IllegalArgumentException("Amount of fuel onboard cannot exceed capacity");
         }
-        this.callsign = callsign;
-        this.characteristics = characteristics;
+        this.store = store;
         this.tasks = tasks;
-        this.fuelAmount = fuelAmount;
-        this.emergency = false;
+        this.slot = store.add(this, callsign, characteristics, tasks, fuelAmount, cargoAmount);
     }
 
     /**
@@ -74,7 +108,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public String getCallsign() {
-        return callsign;
+        return store.getCallsign(slot);
     }
 
     /**
@@ -84,7 +118,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getFuelAmount() {
-        return fuelAmount;
+        return store.getFuel(slot);
     }
 
     /**
@@ -94,7 +128,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public AircraftCharacteristics getCharacteristics() {
-        return characteristics;
+        return store.getCharacteristics(slot);
     }
 
     /**
@@ -107,7 +141,13 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public int getFuelPercentRemaining() {
-        return (int) Math.round(100 * fuelAmount / this.characteristics.fuelCapacity);
+        return toFuelPercent(getFuelAmount());
+    }
+
+    /* Returns the given amount of fuel as a percentage of capacity, as getFuelPercentRemaining()
+    would. */
+    private int toFuelPercent(double amount) {
+        return (int) Math.round(100 * amount / getCharacteristics().fuelCapacity);
     }
 
     /**
@@ -124,7 +164,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getTotalWeight() {
-        return this.getCharacteristics().emptyWeight + this.fuelAmount * LITRE_OF_FUEL_WEIGHT;
+        return this.getCharacteristics().emptyWeight + getFuelAmount() * LITRE_OF_FUEL_WEIGHT;
     }
 
     /**
@@ -137,6 +177,44 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
         return this.tasks;
     }
 
+    /**
+     * Returns the fleet store holding the state of this aircraft.
+     *
+     * @return fleet store of this aircraft
+     */
+    public FleetStore getFleetStore() {
+        return this.store;
+    }
+
+    /**
+     * Returns the slot of the fleet store holding the state of this aircraft.
+     *
+     * @return slot of this aircraft
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Returns the number of passengers or kilograms of freight onboard the aircraft.
+     *
+     * @return amount of cargo onboard
+     */
+    protected int getCargoAmount() {
+        return store.getCargo(slot);
+    }
+
+    /**
+     * Sets the number of passengers or kilograms of freight onboard the aircraft.
+     * <p>
+     * Subclasses should also call {@link #recordModification()} when changing their cargo.
+     *
+     * @param amount amount of cargo onboard
+     */
+    protected void setCargoAmount(int amount) {
+        store.setCargo(slot, amount);
+    }
+
     /**
      * Returns the number of ticks required to load the aircraft at the gate.
      * <p>
@@ -166,22 +244,169 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void tick() {
-        TaskType currentTaskType = this.tasks.getCurrentTask().getType();
-
-        // fuel amount drops by 10% of capacity each AWAY tick
-        if (currentTaskType == TaskType.AWAY) {
-            this.fuelAmount -= this.characteristics.fuelCapacity / 10;
-            // fuel amount can't go below 0
-            if (this.fuelAmount < 0) {
-                this.fuelAmount = 0;
-            }
+        TaskType currentTaskType = this.tasks.getCurrentTaskType();
+        double previousFuelAmount = getFuelAmount();
+
+        // fuel amount drops by 10% of capacity each AWAY tick, but can't go below 0
+        if (currentTaskType == TaskType.AWAY && previousFuelAmount > 0) {
+            recordModification();
+            store.burnFuel(slot);
         }
 
         // loading replenishes fuelCapacity/loadingTime of maximum fuel capacity
         if (currentTaskType == TaskType.LOAD) {
-            this.fuelAmount = Math.min(this.characteristics.fuelCapacity,
-                    this.fuelAmount + this.characteristics.fuelCapacity / getLoadingTime());
+            // subclasses also load cargo on LOAD ticks
+            recordModification();
+            double fuelCapacity = getCharacteristics().fuelCapacity;
+            store.setFuel(slot, Math.min(fuelCapacity,
+                    previousFuelAmount + fuelCapacity / getLoadingTime()));
+        }
+        if (getFuelAmount() != previousFuelAmount) {
+            notifyFuelChanged();
+        }
+    }
+
+    /* Records that the fleet store burned the fuel of an AWAY tick from this aircraft, as
+    tick() would have. */
+    void fuelBurned() {
+        recordModification();
+        notifyFuelChanged();
+    }
+
+    /**
+     * Applies the given number of {@code AWAY} ticks to the aircraft's fuel onboard at once.
+     * <p>
+     * The resulting amount of fuel is exactly the same as calling {@link #tick()} the given
+     * number of times while the aircraft's current task is {@code AWAY}. Since the aircraft runs
+     * out of fuel after at most ten {@code AWAY} ticks, this takes constant time regardless of
+     * the number of ticks. The aircraft's task list is not modified.
+     *
+     * @param numTicks number of {@code AWAY} ticks to apply
+     * @throws IllegalArgumentException if numTicks &lt; 0
+     */
+    public void burnFuelAway(long numTicks) {
+        if (numTicks < 0) {
+            throw new IllegalArgumentException("Number of ticks cannot be negative");
+        }
+        // repeat the per-tick subtraction so the result is identical to ticking; fuel reaches
+        // zero after a bounded number of ticks, after which nothing changes
+        double previousFuelAmount = getFuelAmount();
+        if (numTicks > 0 && previousFuelAmount > 0) {
+            recordModification();
         }
+        for (long tick = 0; tick < numTicks && getFuelAmount() > 0; tick++) {
+            store.burnFuel(slot);
+        }
+        if (getFuelAmount() != previousFuelAmount) {
+            notifyFuelChanged();
+        }
+    }
+
+    /**
+     * Returns the number of {@code AWAY} ticks after which the percentage of fuel remaining, as
+     * given by {@link #getFuelPercentRemaining()}, would first be less than the given percentage.
+     * <p>
+     * The result is exactly the number of times {@link #tick()} would have to be called while
+     * the aircraft's current task is {@code AWAY}. Zero is returned if the percentage of fuel
+     * remaining is already less than the given percentage, and -1 is returned if it never would
+     * be (that is, if the given percentage is zero or less). Since the aircraft runs out of fuel
+     * after at most ten {@code AWAY} ticks, this takes constant time.
+     *
+     * @param percent percentage of fuel to fall below
+     * @return number of {@code AWAY} ticks until the fuel remaining is below the percentage, or
+     * -1 if it never will be
+     */
+    public int countAwayTicksUntilFuelBelow(int percent) {
+        double amount = getFuelAmount();
+        double fuelCapacity = getCharacteristics().fuelCapacity;
+        int ticks = 0;
+        // repeat the per-tick subtraction so rounding matches ticking exactly
+        while (toFuelPercent(amount) >= percent) {
+            if (amount <= 0) {
+                return -1;
+            }
+            amount = Math.max(0, amount - fuelCapacity / 10);
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * Returns the number of {@code AWAY} ticks after which the aircraft would have no fuel
+     * onboard.
+     * <p>
+     * The result is exactly the number of times {@link #tick()} would have to be called while
+     * the aircraft's current task is {@code AWAY}, or zero if the aircraft has no fuel onboard.
+     * This takes constant time.
+     *
+     * @return number of {@code AWAY} ticks until the fuel onboard is zero
+     */
+    public int countAwayTicksUntilFuelEmpty() {
+        double amount = getFuelAmount();
+        double fuelCapacity = getCharacteristics().fuelCapacity;
+        int ticks = 0;
+        while (amount > 0) {
+            amount -= fuelCapacity / 10;
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * Returns the number of ticks of the simulation after which the percentage of fuel remaining
+     * would first be less than the given percentage, if this can be known from the aircraft's
+     * task list.
+     * <p>
+     * While its current task is {@code AWAY}, an aircraft burns fuel on every tick and moves to
+     * its next task, so its fuel onboard over its current run of consecutive {@code AWAY} tasks
+     * is fully determined. Once the run ends, the aircraft waits to land for as long as the
+     * control tower decides. The number of ticks from {@link #countAwayTicksUntilFuelBelow(int)}
+     * is therefore returned if the aircraft is {@code AWAY} for at least that many ticks, and -1
+     * otherwise. Zero is returned if the percentage of fuel remaining is already less than the
+     * given percentage, whatever the current task.
+     * <p>
+     * This allows a control tower to schedule a change in landing priority, such as an aircraft
+     * falling below 20% fuel, ahead of time. It assumes the aircraft's task list is not shared
+     * with other aircraft, which would move it forward more than once per tick. This takes
+     * constant time.
+     *
+     * @param percent percentage of fuel to fall below
+     * @return number of ticks until the fuel remaining is below the percentage, or -1 if this
+     * does not happen during the current run of {@code AWAY} tasks
+     */
+    public long projectTicksUntilFuelBelow(int percent) {
+        return projectAwayTicks(countAwayTicksUntilFuelBelow(percent));
+    }
+
+    /**
+     * Returns the number of ticks of the simulation after which the aircraft would have no fuel
+     * onboard, if this happens during the aircraft's current run of consecutive {@code AWAY}
+     * tasks.
+     * <p>
+     * As with {@link #projectTicksUntilFuelBelow(int)}, the number of ticks from
+     * {@link #countAwayTicksUntilFuelEmpty()} is returned if the aircraft is {@code AWAY} for
+     * at least that many ticks, zero is returned if there is already no fuel onboard, and -1 is
+     * returned otherwise. This takes constant time.
+     *
+     * @return number of ticks until the fuel onboard is zero, or -1 if this does not happen
+     * during the current run of {@code AWAY} tasks
+     */
+    public long projectTicksUntilFuelEmpty() {
+        return projectAwayTicks(countAwayTicksUntilFuelEmpty());
+    }
+
+    /* Returns the given number of AWAY ticks if the aircraft's current run of AWAY tasks is at
+    least that long, or -1 if it is not (or the given number is -1). */
+    private long projectAwayTicks(int awayTicks) {
+        if (awayTicks <= 0) {
+            return awayTicks;
+        }
+        int awayTasks = this.tasks.countConsecutiveTasks(TaskType.AWAY);
+        // an aircraft with only AWAY tasks is never anything but AWAY
+        if (awayTasks >= awayTicks || awayTasks == this.tasks.size()) {
+            return awayTicks;
+        }
+        return -1;
     }
 
     /**
@@ -204,11 +429,11 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
     @Override
     public String toString() {
         return String.format("%s %s %s %s%s",
-                this.characteristics.type,
-                this.callsign,
-                this.characteristics,
-                this.tasks.getCurrentTask().getType(),
-                this.emergency ? " (EMERGENCY)" : "");
+                getCharacteristics().type,
+                getCallsign(),
+                getCharacteristics(),
+                this.tasks.getCurrentTaskType(),
+                hasEmergency() ? " (EMERGENCY)" : "");
     }
 
     /**
@@ -217,7 +442,11 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        if (!hasEmergency()) {
+            store.setEmergency(slot, true);
+            recordModification();
+            notifyEmergencyChanged();
+        }
     }
 
     /**
@@ -226,7 +455,108 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        if (hasEmergency()) {
+            store.setEmergency(slot, false);
+            recordModification();
+            notifyEmergencyChanged();
+        }
+    }
+
+    /**
+     * Registers the given listener to be notified of changes to this aircraft's fuel onboard and
+     * emergency state.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(AircraftListener listener) {
+        if (this.listeners == null) {
+            this.listeners = new ArrayList<>(1);
+        }
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener previously registered with {@link #addListener(AircraftListener)}.
+     * <p>
+     * If the listener is not registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(AircraftListener listener) {
+        if (this.listeners != null) {
+            this.listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Returns the number of times the state of this aircraft (other than its task list) may have
+     * changed since it was created.
+     * <p>
+     * If two calls to this method return the same value, the aircraft's fuel, cargo and
+     * emergency state did not change between the calls. The converse does not necessarily hold.
+     *
+     * @return modification count of this aircraft
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Records that the fuel, cargo or emergency state of this aircraft may have changed.
+     * <p>
+     * Subclasses should call this method whenever they change their cargo.
+     */
+    protected void recordModification() {
+        this.modificationCount++;
+    }
+
+    /* Notifies all listeners that the emergency state of this aircraft has changed. */
+    private void notifyEmergencyChanged() {
+        if (this.listeners != null) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).emergencyChanged(this);
+            }
+        }
+    }
+
+    /**
+     * Holds back notifications of changes to the fuel onboard this aircraft until
+     * {@link #sendDeferredNotifications()} is called.
+     * <p>
+     * This allows the aircraft to be ticked on another thread while its listeners are still
+     * notified on the thread that owns them. However many times the fuel changes in the meantime,
+     * listeners are notified at most once.
+     */
+    public void deferNotifications() {
+        this.notificationsDeferred = true;
+    }
+
+    /**
+     * Stops holding back notifications, and notifies listeners of any change to the fuel onboard
+     * that was held back since {@link #deferNotifications()} was called.
+     * <p>
+     * If notifications are not being held back, no action is taken.
+     */
+    public void sendDeferredNotifications() {
+        this.notificationsDeferred = false;
+        if (this.fuelChangeDeferred) {
+            this.fuelChangeDeferred = false;
+            notifyFuelChanged();
+        }
+    }
+
+    /* Notifies all listeners that the amount of fuel onboard this aircraft has changed, or
+    records the change to be sent later if notifications are deferred. */
+    private void notifyFuelChanged() {
+        if (this.notificationsDeferred) {
+            this.fuelChangeDeferred = true;
+            return;
+        }
+        if (this.listeners != null) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).fuelChanged(this);
+            }
+        }
     }
 
     /**
@@ -235,7 +565,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public boolean hasEmergency() {
-        return emergency;
+        return store.hasEmergency(slot);
     }
 
     /**
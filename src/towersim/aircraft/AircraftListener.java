@@ -0,0 +1,32 @@
+package towersim.aircraft;
+
+/**
+ * Denotes an object that wishes to be notified of changes to the fuel onboard or emergency state
+ * of an aircraft.
+ * <p>
+ * Listeners are registered with {@link Aircraft#addListener(AircraftListener)}. Listeners are
+ * called on the thread that changed the aircraft, unless notifications were deferred with
+ * {@link Aircraft#deferNotifications()}, in which case they are called on the thread that sends
+ * them. A control tower that ticks aircraft in parallel defers notifications while the aircraft
+ * are ticked, so listeners are still called on the thread running the tick.
+ */
+public interface AircraftListener {
+
+    /**
+     * Called after a state of emergency has been declared or cleared on the given aircraft.
+     *
+     * @param aircraft aircraft whose emergency state changed
+     */
+    void emergencyChanged(Aircraft aircraft);
+
+    /**
+     * Called after the amount of fuel onboard the given aircraft has changed, as a result of
+     * burning fuel while away or refuelling while loading.
+     * <p>
+     * By default, no action is taken.
+     *
+     * @param aircraft aircraft whose fuel onboard changed
+     */
+    default void fuelChanged(Aircraft aircraft) {
+    }
+}
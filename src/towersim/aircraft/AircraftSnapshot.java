@@ -0,0 +1,168 @@
+package towersim.aircraft;
+
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.util.Encodable;
+
+/**
+ * Immutable record of the state of an aircraft at a point in time.
+ * <p>
+ * Snapshots can be read from any thread, independently of the aircraft they were taken from.
+ */
+public final class AircraftSnapshot implements Encodable {
+    /** callsign of the aircraft */
+    private final String callsign;
+
+    /** characteristics of the aircraft */
+    private final AircraftCharacteristics characteristics;
+
+    /** task the aircraft was performing */
+    private final Task currentTask;
+
+    /** amount of fuel onboard, in litres */
+    private final double fuelAmount;
+
+    /** whether the aircraft was in a state of emergency */
+    private final boolean emergency;
+
+    /** occupancy level of the aircraft, as a percentage */
+    private final int occupancyLevel;
+
+    /** machine-readable representation of the aircraft */
+    private final String encoded;
+
+    /** task list the snapshot was taken from, used to detect changes to the aircraft */
+    private final TaskList taskList;
+
+    /** index of the current task the snapshot was taken at */
+    private final int taskIndex;
+
+    /** modification count of the aircraft the snapshot was taken at */
+    private final int modificationCount;
+
+    /**
+     * Takes a snapshot of the current state of the given aircraft.
+     * <p>
+     * This should be called on the thread that modifies the aircraft.
+     *
+     * @param aircraft aircraft to take a snapshot of
+     */
+    public AircraftSnapshot(Aircraft aircraft) {
+        this.callsign = aircraft.getCallsign();
+        this.characteristics = aircraft.getCharacteristics();
+        this.taskList = aircraft.getTaskList();
+        this.taskIndex = taskList.getCurrentTaskIndex();
+        this.currentTask = taskList.getCurrentTask();
+        this.fuelAmount = aircraft.getFuelAmount();
+        this.emergency = aircraft.hasEmergency();
+        this.occupancyLevel = aircraft.calculateOccupancyLevel();
+        this.modificationCount = aircraft.getModificationCount();
+        this.encoded = aircraft.encode();
+    }
+
+    /**
+     * Returns true if the given aircraft is in the same state as when this snapshot was taken,
+     * so that this snapshot can be reused rather than taking a new one.
+     *
+     * @param aircraft aircraft to compare with
+     * @return true if this snapshot is an up-to-date snapshot of the given aircraft
+     */
+    public boolean isCurrent(Aircraft aircraft) {
+        return aircraft.getModificationCount() == modificationCount
+                && aircraft.getTaskList() == taskList
+                && taskList.getCurrentTaskIndex() == taskIndex
+                && aircraft.getCallsign().equals(callsign);
+    }
+
+    /**
+     * Returns the callsign of the aircraft.
+     *
+     * @return callsign
+     */
+    public String getCallsign() {
+        return callsign;
+    }
+
+    /**
+     * Returns the characteristics of the aircraft.
+     *
+     * @return characteristics
+     */
+    public AircraftCharacteristics getCharacteristics() {
+        return characteristics;
+    }
+
+    /**
+     * Returns the task the aircraft was performing.
+     *
+     * @return current task
+     */
+    public Task getCurrentTask() {
+        return currentTask;
+    }
+
+    /**
+     * Returns the amount of fuel onboard the aircraft, in litres.
+     *
+     * @return fuel amount
+     */
+    public double getFuelAmount() {
+        return fuelAmount;
+    }
+
+    /**
+     * Returns the percentage of fuel remaining, as given by
+     * {@link Aircraft#getFuelPercentRemaining()}.
+     *
+     * @return percentage of fuel remaining
+     */
+    public int getFuelPercentRemaining() {
+        return (int) Math.round(100 * fuelAmount / characteristics.fuelCapacity);
+    }
+
+    /**
+     * Returns whether the aircraft was in a state of emergency.
+     *
+     * @return true if the aircraft had an emergency; false otherwise
+     */
+    public boolean hasEmergency() {
+        return emergency;
+    }
+
+    /**
+     * Returns the occupancy level of the aircraft, as given by
+     * {@link Aircraft#calculateOccupancyLevel()}.
+     *
+     * @return occupancy level as a percentage
+     */
+    public int getOccupancyLevel() {
+        return occupancyLevel;
+    }
+
+    /**
+     * Returns the machine-readable string representation of the aircraft, as given by
+     * {@link Aircraft#encode()}.
+     *
+     * @return encoded string representation of the aircraft
+     */
+    @Override
+    public String encode() {
+        return encoded;
+    }
+
+    /**
+     * Returns the human-readable string representation of the aircraft, in the same format as
+     * {@link Aircraft#toString()}.
+     *
+     * @return string representation of the aircraft
+     */
+    @Override
+    public String toString() {
+        return String.format("%s %s %s %s%s",
+                characteristics.type,
+                callsign,
+                characteristics,
+                currentTask.getType(),
+                emergency ? " (EMERGENCY)" : "");
+    }
+}
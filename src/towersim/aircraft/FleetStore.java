@@ -0,0 +1,321 @@
+package towersim.aircraft;
+
+import towersim.tasks.TaskCycle;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskPositions;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact store for the state of a fleet of aircraft, kept in parallel primitive arrays rather
+ * than in the fields of separate objects.
+ * <p>
+ * Every {@link Aircraft} is a lightweight view over a slot of a fleet store. Slots are numbered
+ * from zero in the order aircraft were created. The fuel onboard, cargo onboard (passengers or
+ * kilograms of freight), characteristics and emergency state of every aircraft, and the position
+ * of the current task in its task list, are held in one array each, indexed by slot. Aircraft
+ * flying the same schedule share a single {@link TaskCycle}. Only the listeners and modification
+ * count of an aircraft are kept in the aircraft object itself.
+ * <p>
+ * The task list of each aircraft is bound to the slot of the first aircraft created with it (see
+ * {@link TaskList#bind(TaskPositions, int)}), so aircraft sharing a task list share its position,
+ * as they do when the list holds its position itself. Aircraft created with a task list that is
+ * already bound join the store it is bound to.
+ * <p>
+ * Aircraft created without a fleet store get a store of their own. A large fleet should instead
+ * be created in a single store, so that the phases of a tick become sequential sweeps over
+ * arrays: {@link #tick()} applies {@link Aircraft#tick()} to every aircraft, and
+ * {@link #moveAwayAndWaiting(BitSet)} moves every {@code AWAY} or {@code WAIT} aircraft to its
+ * next task.
+ * <p>
+ * Slots are never freed. A fleet store is not thread-safe: aircraft must not be created in a
+ * store while other aircraft in it are being created or updated on another thread. Aircraft in
+ * different slots may be updated on different threads at the same time.
+ */
+public class FleetStore implements TaskPositions {
+    /** all characteristics, indexed by ordinal */
+    private static final AircraftCharacteristics[] CHARACTERISTICS =
+            AircraftCharacteristics.values();
+
+    /** number of slots in use */
+    private int size;
+
+    /** aircraft viewing each slot */
+    private Aircraft[] aircraft;
+
+    /** callsign of the aircraft in each slot */
+    private String[] callsigns;
+
+    /** ordinal of the characteristics of the aircraft in each slot */
+    private byte[] characteristics;
+
+    /** amount of fuel onboard the aircraft in each slot, in litres */
+    private double[] fuel;
+
+    /** number of passengers or kilograms of freight onboard the aircraft in each slot */
+    private int[] cargo;
+
+    /** whether the aircraft in each slot is in a state of emergency */
+    private boolean[] emergency;
+
+    /** task cycle followed by the aircraft in each slot, as an index into the task cycles */
+    private int[] cycles;
+
+    /** index of the current task of each task list bound to a slot, within its task cycle */
+    private int[] taskIndices;
+
+    /** slot whose task index is the position of the task list of the aircraft in each slot */
+    private int[] taskSlots;
+
+    /** each distinct task cycle followed by aircraft in the store */
+    private final List<TaskCycle> taskCycles;
+
+    /** index of each distinct task cycle in taskCycles */
+    private final Map<TaskCycle, Integer> cycleIndex;
+
+    /**
+     * Creates a new, empty fleet store with room for the given number of aircraft before its
+     * arrays need to grow.
+     *
+     * @param initialCapacity number of aircraft to allocate room for
+     * @throws IllegalArgumentException if initialCapacity &lt; 0
+     */
+    public FleetStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        this.size = 0;
+        this.aircraft = new Aircraft[initialCapacity];
+        this.callsigns = new String[initialCapacity];
+        this.characteristics = new byte[initialCapacity];
+        this.fuel = new double[initialCapacity];
+        this.cargo = new int[initialCapacity];
+        this.emergency = new boolean[initialCapacity];
+        this.cycles = new int[initialCapacity];
+        this.taskIndices = new int[initialCapacity];
+        this.taskSlots = new int[initialCapacity];
+        this.taskCycles = new ArrayList<>(1);
+        this.cycleIndex = new IdentityHashMap<>(2);
+    }
+
+    /**
+     * Returns the fleet store the given task list is bound to, or a new store with room for a
+     * single aircraft if it is not bound to one.
+     *
+     * @param tasks task list of an aircraft about to be created
+     * @return store in which to create the aircraft
+     */
+    static FleetStore of(TaskList tasks) {
+        if (tasks.getPositions() instanceof FleetStore) {
+            return (FleetStore) tasks.getPositions();
+        }
+        return new FleetStore(1);
+    }
+
+    /* Adds a slot viewed by the given aircraft, holding the given state, and returns it. The
+    state must already have been validated. */
+    int add(Aircraft view, String callsign, AircraftCharacteristics characteristics,
+            TaskList tasks, double fuelAmount, int cargoAmount) {
+        if (tasks.getPositions() != null && tasks.getPositions() != this) {
+            throw new IllegalArgumentException("Task list is bound to another fleet store");
+        }
+        if (size == callsigns.length) {
+            grow();
+        }
+        int slot = size++;
+        this.aircraft[slot] = view;
+        this.callsigns[slot] = callsign;
+        this.characteristics[slot] = (byte) characteristics.ordinal();
+        this.fuel[slot] = fuelAmount;
+        this.cargo[slot] = cargoAmount;
+        this.emergency[slot] = false;
+        this.cycles[slot] = indexCycle(tasks.getCycle());
+        if (tasks.getPositions() == null) {
+            tasks.bind(this, slot);
+            this.taskSlots[slot] = slot;
+        } else {
+            // the task list is shared with an aircraft created earlier in this store
+            this.taskSlots[slot] = tasks.getPositionSlot();
+        }
+        return slot;
+    }
+
+    /* Doubles the length of every per-slot array. */
+    private void grow() {
+        int capacity = Math.max(4, callsigns.length * 2);
+        aircraft = Arrays.copyOf(aircraft, capacity);
+        callsigns = Arrays.copyOf(callsigns, capacity);
+        characteristics = Arrays.copyOf(characteristics, capacity);
+        fuel = Arrays.copyOf(fuel, capacity);
+        cargo = Arrays.copyOf(cargo, capacity);
+        emergency = Arrays.copyOf(emergency, capacity);
+        cycles = Arrays.copyOf(cycles, capacity);
+        taskIndices = Arrays.copyOf(taskIndices, capacity);
+        taskSlots = Arrays.copyOf(taskSlots, capacity);
+    }
+
+    /* Returns the index of the given task cycle in taskCycles, adding it if necessary. */
+    private int indexCycle(TaskCycle cycle) {
+        Integer existing = cycleIndex.get(cycle);
+        if (existing != null) {
+            return existing;
+        }
+        taskCycles.add(cycle);
+        cycleIndex.put(cycle, taskCycles.size() - 1);
+        return taskCycles.size() - 1;
+    }
+
+    /**
+     * Returns the number of aircraft in the store.
+     *
+     * @return number of slots in use
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct task cycles followed by aircraft in the store. Aircraft
+     * whose task lists share a {@link TaskCycle} share a single entry.
+     *
+     * @return number of distinct task cycles
+     */
+    public int getNumTaskCycles() {
+        return taskCycles.size();
+    }
+
+    /**
+     * Returns the aircraft viewing the given slot.
+     *
+     * @param slot slot of the aircraft
+     * @return aircraft in the slot
+     * @throws IndexOutOfBoundsException if the slot is not in use
+     */
+    public Aircraft get(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("No aircraft in slot " + slot);
+        }
+        return aircraft[slot];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTaskIndex(int slot) {
+        return taskIndices[slot];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTaskIndex(int slot, int index) {
+        taskIndices[slot] = index;
+    }
+
+    /* Returns the callsign of the aircraft in the given slot. */
+    String getCallsign(int slot) {
+        return callsigns[slot];
+    }
+
+    /* Returns the characteristics of the aircraft in the given slot. */
+    AircraftCharacteristics getCharacteristics(int slot) {
+        return CHARACTERISTICS[characteristics[slot]];
+    }
+
+    /* Returns the fuel onboard the aircraft in the given slot, in litres. */
+    double getFuel(int slot) {
+        return fuel[slot];
+    }
+
+    /* Sets the fuel onboard the aircraft in the given slot, in litres. */
+    void setFuel(int slot, double amount) {
+        fuel[slot] = amount;
+    }
+
+    /* Burns the fuel of one AWAY tick, 10% of capacity, from the aircraft in the given slot,
+    stopping at zero. */
+    void burnFuel(int slot) {
+        fuel[slot] = Math.max(0, fuel[slot] - CHARACTERISTICS[characteristics[slot]].fuelCapacity
+                / 10);
+    }
+
+    /* Returns the passengers or kilograms of freight onboard the aircraft in the given slot. */
+    int getCargo(int slot) {
+        return cargo[slot];
+    }
+
+    /* Sets the passengers or kilograms of freight onboard the aircraft in the given slot. */
+    void setCargo(int slot, int amount) {
+        cargo[slot] = amount;
+    }
+
+    /* Returns whether the aircraft in the given slot is in a state of emergency. */
+    boolean hasEmergency(int slot) {
+        return emergency[slot];
+    }
+
+    /* Sets whether the aircraft in the given slot is in a state of emergency. */
+    void setEmergency(int slot, boolean emergency) {
+        this.emergency[slot] = emergency;
+    }
+
+    /* Returns the type of the current task of the aircraft in the given slot. */
+    private TaskType getCurrentTaskType(int slot) {
+        return taskCycles.get(cycles[slot]).getType(taskIndices[taskSlots[slot]]);
+    }
+
+    /**
+     * Updates the state of every aircraft in the store as {@link Aircraft#tick()} would, in slot
+     * order.
+     * <p>
+     * Aircraft with a current task of {@code AWAY} burn fuel in a sweep over the arrays of the
+     * store, and aircraft with a current task of {@code LOAD} are ticked individually to refuel
+     * and load passengers or freight. Listeners are notified and modification counts updated
+     * exactly as if each aircraft had been ticked.
+     */
+    public void tick() {
+        for (int slot = 0; slot < size; slot++) {
+            TaskType type = getCurrentTaskType(slot);
+            if (type == TaskType.AWAY) {
+                if (fuel[slot] > 0) {
+                    burnFuel(slot);
+                    aircraft[slot].fuelBurned();
+                }
+            } else if (type == TaskType.LOAD) {
+                aircraft[slot].tick();
+            }
+        }
+    }
+
+    /**
+     * Moves every aircraft whose current task type is {@code AWAY} or {@code WAIT} to its next
+     * task, as {@link towersim.control.ControlTower#tick()} does, and marks the slots of the
+     * aircraft moved in the given set.
+     * <p>
+     * As in the control tower, an aircraft sharing its task list with an aircraft moved earlier
+     * in the sweep is checked, and moved, at the position the earlier move left the list in.
+     *
+     * @param moved set in which to mark the slots of moved aircraft
+     */
+    public void moveAwayAndWaiting(BitSet moved) {
+        for (int slot = 0; slot < size; slot++) {
+            TaskType type = getCurrentTaskType(slot);
+            if (type == TaskType.AWAY || type == TaskType.WAIT) {
+                int next = taskIndices[taskSlots[slot]] + 1;
+                if (next == taskCycles.get(cycles[slot]).size()) {
+                    next = 0;
+                }
+                taskIndices[taskSlots[slot]] = next;
+                moved.set(slot);
+            }
+        }
+    }
+}
@@ -9,9 +9,6 @@ import towersim.tasks.TaskType;
  */
 public class FreightAircraft extends Aircraft {
 
-    /** Amount of freight currently onboard, in kilograms */
-    private int freightAmount;
-
     /**
      * Creates a new freight aircraft with the given callsign, task list, fuel capacity, amount of
      * fuel and kilograms of freight.
@@ -31,13 +28,40 @@ public class FreightAircraft extends Aircraft {
      */
     public FreightAircraft(String callsign, AircraftCharacteristics characteristics,
             TaskList tasks, double fuelAmount, int freightAmount) {
-        super(callsign, characteristics, tasks, fuelAmount);
+        this(FleetStore.of(tasks), callsign, characteristics, tasks, fuelAmount, freightAmount);
+    }
+
+    /**
+     * Creates a new freight aircraft in the next slot of the given fleet store, with the given
+     * callsign, task list, fuel capacity, amount of fuel and kilograms of freight.
+     * <p>
+     * The same checks are made as by
+     * {@link #FreightAircraft(String, AircraftCharacteristics, TaskList, double, int)}.
+     *
+     * @param store           fleet store to hold the state of the aircraft
+     * @param callsign        unique callsign
+     * @param characteristics characteristics that describe this aircraft
+     * @param tasks           task list to be used by aircraft
+     * @param fuelAmount      current amount of fuel onboard, in litres
+     * @param freightAmount   current amount of freight onboard, in kilograms
+     * @throws IllegalArgumentException if the fuel amount is invalid, if freightAmount &lt; 0 or
+     * if freightAmount &gt; freight capacity, or if the task list is bound to a different fleet
+     * store
+     */
+    public FreightAircraft(FleetStore store, String callsign,
+            AircraftCharacteristics characteristics, TaskList tasks, double fuelAmount,
+            int freightAmount) {
+        super(store, callsign, characteristics, tasks, fuelAmount,
+                checkFreight(characteristics, freightAmount));
+    }
 
+    /* Returns the given amount of freight, or throws IllegalArgumentException if it is
+    negative or exceeds the capacity of the given characteristics. */
+    private static int checkFreight(AircraftCharacteristics characteristics, int freightAmount) {
         if (freightAmount < 0 || freightAmount > characteristics.freightCapacity) {
             throw new IllegalArgumentException();
         }
-
-        this.freightAmount = freightAmount;
+        return freightAmount;
     }
 
     /**
@@ -55,7 +79,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.freightAmount;
+        return super.getTotalWeight() + getCargoAmount();
     }
 
     /**
@@ -106,7 +130,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.freightAmount * 100
+        return (int) Math.round((double) getCargoAmount() * 100
                 / this.getCharacteristics().freightCapacity);
     }
 
@@ -153,11 +177,11 @@ public class FreightAircraft extends Aircraft {
     public void tick() {
         super.tick();
 
-        if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
+        if (this.getTaskList().getCurrentTaskType() == TaskType.LOAD) {
             int freightToLoadThisTick = (int) Math.round(this.getFreightToLoad()
                     / (double) this.getLoadingTime());
-            this.freightAmount = Math.min(this.freightAmount + freightToLoadThisTick,
-                    this.getCharacteristics().freightCapacity);
+            setCargoAmount(Math.min(getCargoAmount() + freightToLoadThisTick,
+                    this.getCharacteristics().freightCapacity));
         }
     }
 
@@ -166,7 +190,8 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public void unload() {
-        this.freightAmount = 0;
+        setCargoAmount(0);
+        recordModification();
     }
 
     /**
@@ -176,6 +201,6 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public String encode() {
-        return super.encode() + ":" + freightAmount;
+        return super.encode() + ":" + getCargoAmount();
     }
 }
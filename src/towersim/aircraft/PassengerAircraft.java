@@ -15,9 +15,6 @@ public class PassengerAircraft extends Aircraft {
      */
     public static final double AVG_PASSENGER_WEIGHT = 90;
 
-    /** Number of passengers currently onboard the aircraft */
-    private int numPassengers;
-
     /**
      * Creates a new passenger aircraft with the given callsign, task list, fuel capacity, amount of
      * fuel and number of passengers.
@@ -37,13 +34,41 @@ public class PassengerAircraft extends Aircraft {
      */
     public PassengerAircraft(String callsign, AircraftCharacteristics characteristics,
             TaskList tasks, double fuelAmount, int numPassengers) {
-        super(callsign, characteristics, tasks, fuelAmount);
+        this(FleetStore.of(tasks), callsign, characteristics, tasks, fuelAmount, numPassengers);
+    }
+
+    /**
+     * Creates a new passenger aircraft in the next slot of the given fleet store, with the given
+     * callsign, task list, fuel capacity, amount of fuel and number of passengers.
+     * <p>
+     * The same checks are made as by
+     * {@link #PassengerAircraft(String, AircraftCharacteristics, TaskList, double, int)}.
+     *
+     * @param store           fleet store to hold the state of the aircraft
+     * @param callsign        unique callsign
+     * @param characteristics characteristics that describe this aircraft
+     * @param tasks           task list to be used by aircraft
+     * @param fuelAmount      current amount of fuel onboard, in litres
+     * @param numPassengers   current number of passengers onboard
+     * @throws IllegalArgumentException if the fuel amount is invalid, if numPassengers &lt; 0 or
+     * if numPassengers &gt; passenger capacity, or if the task list is bound to a different fleet
+     * store
+     */
+    public PassengerAircraft(FleetStore store, String callsign,
+            AircraftCharacteristics characteristics, TaskList tasks, double fuelAmount,
+            int numPassengers) {
+        super(store, callsign, characteristics, tasks, fuelAmount,
+                checkPassengers(characteristics, numPassengers));
+    }
 
+    /* Returns the given number of passengers, or throws IllegalArgumentException if it is
+    negative or exceeds the capacity of the given characteristics. */
+    private static int checkPassengers(AircraftCharacteristics characteristics,
+            int numPassengers) {
         if (numPassengers < 0 || numPassengers > characteristics.passengerCapacity) {
             throw new IllegalArgumentException();
         }
-
-        this.numPassengers = numPassengers;
+        return numPassengers;
     }
 
     /**
@@ -62,7 +87,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.numPassengers * AVG_PASSENGER_WEIGHT;
+        return super.getTotalWeight() + getCargoAmount() * AVG_PASSENGER_WEIGHT;
     }
 
     /**
@@ -105,7 +130,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.numPassengers * 100
+        return (int) Math.round((double) getCargoAmount() * 100
                 / this.getCharacteristics().passengerCapacity);
     }
 
@@ -152,11 +177,11 @@ public class PassengerAircraft extends Aircraft {
     public void tick() {
         super.tick();
 
-        if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
+        if (this.getTaskList().getCurrentTaskType() == TaskType.LOAD) {
             int paxToLoadThisTick = (int) Math.round(this.getPassengersToLoad()
                     / (double) this.getLoadingTime());
-            this.numPassengers = Math.min(this.numPassengers + paxToLoadThisTick,
-                    this.getCharacteristics().passengerCapacity);
+            setCargoAmount(Math.min(getCargoAmount() + paxToLoadThisTick,
+                    this.getCharacteristics().passengerCapacity));
         }
     }
 
@@ -165,7 +190,8 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public void unload() {
-        this.numPassengers = 0;
+        setCargoAmount(0);
+        recordModification();
     }
 
     /**
@@ -175,6 +201,6 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public String encode() {
-        return super.encode() + ":" + numPassengers;
+        return super.encode() + ":" + getCargoAmount();
     }
 }
@@ -0,0 +1,72 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.PassengerAircraft;
+
+/**
+ * Landing priority policy that follows the same rules as {@link RuleBasedLandingPolicy}, except
+ * that aircraft other than passenger aircraft gain priority as they wait, so they are not starved
+ * by a steady stream of passenger aircraft.
+ * <p>
+ * Aircraft in a state of emergency, then aircraft with less than 20% of their fuel remaining,
+ * always land first. Otherwise, an aircraft that is not a passenger aircraft lands before any
+ * passenger aircraft that arrived in the queue at least {@code agingInterval} ticks after it, so
+ * no aircraft waits more than {@code agingInterval} ticks behind passenger aircraft that arrived
+ * after it, however many there are. Priorities are fixed when aircraft arrive, as the arrival
+ * tick less the aging interval for passenger aircraft and the arrival tick for other aircraft,
+ * so they never need recalculating as time passes.
+ */
+public class AgingLandingPolicy implements LandingPriorityPolicy {
+
+    /**
+     * Aging interval used by {@link #AgingLandingPolicy()}, in ticks.
+     */
+    public static final int DEFAULT_AGING_INTERVAL = 20;
+
+    /** number of ticks after another aircraft arrives during which passenger arrivals go first */
+    private final int agingInterval;
+
+    /**
+     * Creates a new aging landing policy with an aging interval of
+     * {@link #DEFAULT_AGING_INTERVAL} ticks.
+     */
+    public AgingLandingPolicy() {
+        this(DEFAULT_AGING_INTERVAL);
+    }
+
+    /**
+     * Creates a new aging landing policy with the given aging interval.
+     *
+     * @param agingInterval number of ticks after an aircraft that is not a passenger aircraft
+     *                      arrives during which passenger aircraft arriving may land before it
+     * @throws IllegalArgumentException if agingInterval &lt; 0
+     */
+    public AgingLandingPolicy(int agingInterval) {
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval cannot be negative");
+        }
+        this.agingInterval = agingInterval;
+    }
+
+    /**
+     * Returns the number of ticks after an aircraft that is not a passenger aircraft arrives
+     * during which passenger aircraft arriving may land before it.
+     *
+     * @return aging interval, in ticks
+     */
+    public int getAgingInterval() {
+        return agingInterval;
+    }
+
+    @Override
+    public long priority(Aircraft aircraft, long arrivalTick) {
+        if (aircraft.hasEmergency()) {
+            return Long.MIN_VALUE;
+        }
+        if (aircraft.getFuelPercentRemaining() < 20) {
+            return Long.MIN_VALUE + 1;
+        }
+        // only passenger aircraft arriving fewer than agingInterval ticks later land first
+        return aircraft instanceof PassengerAircraft ? arrivalTick - agingInterval : arrivalTick;
+    }
+}
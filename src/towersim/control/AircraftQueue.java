@@ -3,14 +3,80 @@ package towersim.control;
 import towersim.aircraft.Aircraft;
 import towersim.util.Encodable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Abstract representation of a queue containing aircraft.
+ * <p>
+ * A queue is not thread-safe, and should be used on a single consuming thread, such as the
+ * thread that ticks the control tower. Other threads may instead submit aircraft with
+ * {@link #submitAircraft(Aircraft)}, which never blocks or takes a lock. Submitted aircraft are
+ * not added by the queue itself: the consuming thread takes them with
+ * {@link #pollSubmission()} and adds them, so that no other method of the queue changes its
+ * contents behind the consumer's back. A {@link ControlTower} does this at the start of every
+ * tick (see {@link ControlTower#applySubmissions()}).
  */
 public abstract class AircraftQueue implements Encodable {
 
+    /** aircraft submitted from any thread that have not been taken yet */
+    private final ConcurrentLinkedQueue<Aircraft> submissions = new ConcurrentLinkedQueue<>();
+
+    /** number of times the aircraft in the queue, or their order, may have changed */
+    private int modificationCount;
+
+    /**
+     * Submits the given aircraft to be added to the queue.
+     * <p>
+     * This method may be called from any thread, by any number of threads at once, including
+     * while the queue is being used by its consuming thread. It does not lock: the aircraft is
+     * appended to a lock-free queue of submissions, from which the consuming thread takes it
+     * with {@link #pollSubmission()}. Aircraft submitted by the same thread are taken in the
+     * order they were submitted.
+     *
+     * @param aircraft aircraft to add to queue
+     */
+    public void submitAircraft(Aircraft aircraft) {
+        submissions.add(Objects.requireNonNull(aircraft));
+    }
+
+    /**
+     * Removes and returns the aircraft submitted least recently with
+     * {@link #submitAircraft(Aircraft)}, or null if no submissions are waiting.
+     * <p>
+     * The aircraft is not added to the queue; the caller is responsible for adding it. This
+     * method must be called on the consuming thread.
+     *
+     * @return next submitted aircraft; or null if there are none
+     */
+    public Aircraft pollSubmission() {
+        return submissions.poll();
+    }
+
+    /**
+     * Returns the number of times the aircraft in the queue, or their order, may have changed.
+     * <p>
+     * If two calls to this method return the same value, {@link #getAircraftInOrder()} returned
+     * the same aircraft in the same order at both calls. The converse does not necessarily hold.
+     *
+     * @return modification count of this queue
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Records that the aircraft in the queue, or their order, may have changed.
+     * <p>
+     * Subclasses should call this method whenever they add or remove aircraft, or reorder them.
+     */
+    protected void recordModification() {
+        this.modificationCount++;
+    }
+
     /**
      * Adds the given aircraft to the queue.
      *
@@ -18,6 +84,20 @@ public abstract class AircraftQueue implements Encodable {
      */
     public abstract void addAircraft(Aircraft aircraft);
 
+    /**
+     * Adds all of the given aircraft to the queue, as if each were added in turn, in iteration
+     * order, with {@link #addAircraft(Aircraft)}.
+     * <p>
+     * Subclasses may override this method to add the aircraft more efficiently as a batch.
+     *
+     * @param aircraft aircraft to add to queue
+     */
+    public void addAll(Collection<? extends Aircraft> aircraft) {
+        for (Aircraft added : aircraft) {
+            addAircraft(added);
+        }
+    }
+
 
     /**
      * Removes and returns the aircraft at the front of the queue.
@@ -27,6 +107,29 @@ public abstract class AircraftQueue implements Encodable {
      */
     public abstract Aircraft removeAircraft();
 
+    /**
+     * Removes up to the given number of aircraft from the front of the queue, and adds them to
+     * the given collection in the order they were removed.
+     * <p>
+     * The aircraft drained are those that would have been returned by calling
+     * {@link #removeAircraft()} the same number of times. Subclasses may override this method
+     * to remove the aircraft more efficiently as a batch.
+     *
+     * @param destination collection to add the removed aircraft to
+     * @param maxAircraft maximum number of aircraft to remove; if zero or negative, no aircraft
+     *                    are removed
+     * @return number of aircraft removed
+     */
+    public int drainTo(Collection<? super Aircraft> destination, int maxAircraft) {
+        int drained = 0;
+        Aircraft removed;
+        while (drained < maxAircraft && (removed = removeAircraft()) != null) {
+            destination.add(removed);
+            drained++;
+        }
+        return drained;
+    }
+
     /**
      * Returns the aircraft at the front of the queue without
      * removing it from the queue, or null if the queue is empty.
@@ -37,6 +140,12 @@ public abstract class AircraftQueue implements Encodable {
 
     /**
      * Returns a list containing all aircraft in the queue, in order.
+     * <p>
+     * The list must not be modified. Subclasses may return a copy of the queue or, to avoid
+     * building one, a view of it (as {@link TakeoffQueue} does). A view aliases the queue: it
+     * is only valid until an aircraft is next added to or removed from the queue, after which it
+     * throws a {@link java.util.ConcurrentModificationException}. Callers that need the aircraft
+     * after changing the queue, or on another thread, must copy the list first.
      *
      * @return list of all aircraft in queue, in queue order
      */
@@ -51,6 +160,18 @@ public abstract class AircraftQueue implements Encodable {
      */
     public abstract boolean containsAircraft(Aircraft aircraft);
 
+    /**
+     * Returns the number of aircraft in the queue.
+     * <p>
+     * By default, this is the size of the list returned by {@link #getAircraftInOrder()};
+     * subclasses may override this method to avoid building the list.
+     *
+     * @return number of aircraft in queue
+     */
+    public int size() {
+        return getAircraftInOrder().size();
+    }
+
     /**
      * Returns the human-readable string representation of this aircraft queue.
      *
@@ -76,12 +197,13 @@ public abstract class AircraftQueue implements Encodable {
         // the first line of queue encode
         StringJoiner queue = new StringJoiner(":");
         queue.add(getClass().getSimpleName());
-        queue.add("" + getAircraftInOrder().size());
+        List<Aircraft> aircraftInOrder = getAircraftInOrder();
+        queue.add("" + aircraftInOrder.size());
 
-        if (getAircraftInOrder().size() > 0) {
+        if (aircraftInOrder.size() > 0) {
             // the second line of queue encode, if necessary
             StringJoiner aircraftInQueue = new StringJoiner(",");
-            for (Aircraft aircraft : getAircraftInOrder()) {
+            for (Aircraft aircraft : aircraftInOrder) {
                 // join the callsign of aircraft together with ","
                 aircraftInQueue.add(aircraft.getCallsign());
             }
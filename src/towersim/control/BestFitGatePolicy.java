@@ -0,0 +1,23 @@
+package towersim.control;
+
+/**
+ * Gate assignment policy that chooses the available terminal with the fewest unoccupied gates.
+ * <p>
+ * Filling the fullest terminals first keeps other terminals as empty as possible, so whole
+ * terminals can be left free for maintenance or emergencies. Terminals with the same number of
+ * unoccupied gates are chosen in the order they were added.
+ */
+public class BestFitGatePolicy extends RankedGatePolicy {
+
+    /**
+     * Creates a new best-fit policy with no available terminals.
+     */
+    public BestFitGatePolicy() {
+        super();
+    }
+
+    @Override
+    int compare(int numGates1, int numFreeGates1, int numGates2, int numFreeGates2) {
+        return Integer.compare(numFreeGates1, numFreeGates2);
+    }
+}
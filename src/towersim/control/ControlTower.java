@@ -1,17 +1,26 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftListener;
 import towersim.aircraft.AircraftType;
-import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
-import towersim.ground.HelicopterTerminal;
+import towersim.ground.Runway;
+import towersim.ground.RunwayMode;
 import towersim.ground.Terminal;
+import towersim.ground.TerminalListener;
+import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 import towersim.util.Tickable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
 
 /**
  * Represents a the control tower of an airport.
@@ -22,12 +31,21 @@ import java.util.*;
  * @ass1
  */
 public class ControlTower implements Tickable {
+    /**
+     * Default minimum number of aircraft for the aircraft tick phase to be run in parallel,
+     * once parallel ticking has been enabled.
+     */
+    public static final int DEFAULT_PARALLEL_TICK_THRESHOLD = 10000;
+
     /** List of all aircraft managed by the control tower. */
     private final List<Aircraft> aircraft;
 
     /** List of all terminals in the airport. */
     private final List<Terminal> terminals;
 
+    /** List of all runways in the airport, in the order they are scheduled each tick. */
+    private final List<Runway> runways;
+
     /** number of ticks that have elapsed since the tower was first created */
     private long ticksElapsed;
 
@@ -38,8 +56,96 @@ public class ControlTower implements Tickable {
     private TakeoffQueue takeoffQueue;
 
     /** mapping of aircraft that are loading cargo to the number
-     * of ticks remaining for loading */
-    private Map<Aircraft, Integer> loadingAircraft;
+     * of ticks remaining for loading, scheduled by when each aircraft finishes loading */
+    private final LoadingSchedule loadingSchedule;
+
+    /** aircraft that finished loading during the current call to loadAircraft() */
+    private final List<Aircraft> finishedLoading;
+
+    /** aircraft drained from the takeoff queue to take off during the current tick */
+    private final List<Aircraft> departing;
+
+    /** index of unoccupied gates and parked aircraft across all terminals */
+    private final GateIndex gateIndex;
+
+    /** position of each managed aircraft in the list of aircraft */
+    private final Map<Aircraft, Integer> aircraftPositions;
+
+    /** positions of aircraft whose current task may have changed since they were last placed */
+    private final BitSet changedAircraft;
+
+    /** task lists of all managed aircraft, used to detect task lists shared between aircraft */
+    private final Set<TaskList> taskLists;
+
+    /**
+     * true if two managed aircraft share a task list, in which case moving one aircraft's task
+     * also changes the other's, so all aircraft are placed in queues each tick
+     */
+    private boolean taskListsShared;
+
+    /** bus on which events are published as the state of the control tower changes */
+    private final TowerEventBus eventBus;
+
+    /**
+     * publishes and journals emergencies declared or cleared on a managed aircraft, and counts
+     * changes to its fuel
+     */
+    private final AircraftListener aircraftEmergencyListener;
+
+    /**
+     * publishes and journals emergencies on a terminal, journals gates added to it, and counts
+     * changes to its gates
+     */
+    private final TerminalListener terminalListener;
+
+    /**
+     * number of times the managed aircraft, their states or the loading aircraft may have
+     * changed; every change the control tower makes or is notified of is counted
+     */
+    private int aircraftModificationCount;
+
+    /** number of times the managed terminals or their gates may have changed */
+    private int terminalModificationCount;
+
+    /** aircraft, terminals and gates submitted from any thread that have not been applied yet */
+    private final ConcurrentLinkedQueue<Submission> submissions;
+
+    /** journal recording external inputs; or null if inputs are not recorded */
+    private InputJournal journal;
+
+    /** takes snapshots of the control tower; or null if snapshots are disabled */
+    private SnapshotPublisher snapshotPublisher;
+
+    /** snapshot published most recently; read by other threads without locking */
+    private volatile TowerSnapshot latestSnapshot;
+
+    /** pool used to tick aircraft in parallel; or null if aircraft are ticked sequentially */
+    private ForkJoinPool tickPool;
+
+    /** minimum number of aircraft for aircraft to be ticked in parallel */
+    private int parallelTickThreshold;
+
+    /** histograms of how long aircraft wait in queues and occupy gates */
+    private final LatencyRecorder latencies;
+
+    /** An aircraft, terminal or gate submitted from any thread, waiting to be applied. */
+    private static class Submission {
+        /** Aircraft to add; or null if a terminal or gate was submitted. */
+        private final Aircraft aircraft;
+        /** Terminal to add, or to add the gate to; or null if an aircraft was submitted. */
+        private final Terminal terminal;
+        /** Gate to add; or null if an aircraft or terminal was submitted. */
+        private final Gate gate;
+        /** Completed once the submission has been applied. */
+        private final CompletableFuture<Void> result;
+
+        private Submission(Aircraft aircraft, Terminal terminal, Gate gate) {
+            this.aircraft = aircraft;
+            this.terminal = terminal;
+            this.gate = gate;
+            this.result = new CompletableFuture<>();
+        }
+    }
 
     /**
      * Creates a new ControlTower.
@@ -61,8 +167,290 @@ public class ControlTower implements Tickable {
         this.aircraft = aircraft;
         this.landingQueue = landingQueue;
         this.takeoffQueue = takeoffQueue;
-        this.loadingAircraft = loadingAircraft;
+        this.loadingSchedule = new LoadingSchedule(loadingAircraft);
+        this.finishedLoading = new ArrayList<>();
+        this.departing = new ArrayList<>();
         this.terminals = new ArrayList<>();
+        this.runways = new ArrayList<>();
+        this.runways.add(new Runway(1, RunwayMode.MIXED));
+        this.gateIndex = new GateIndex();
+        this.aircraftPositions = new IdentityHashMap<>();
+        this.changedAircraft = new BitSet();
+        this.taskLists = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.taskListsShared = false;
+        this.eventBus = new TowerEventBus(TowerEventBus.DEFAULT_CAPACITY);
+        this.latencies = new LatencyRecorder();
+        landingQueue.setCurrentTick(ticksElapsed);
+        // aircraft already queued are measured from now
+        for (Aircraft queued : landingQueue.getAircraftInOrder()) {
+            latencies.start(LatencyMetric.LANDING_WAIT, queued, ticksElapsed);
+        }
+        for (Aircraft queued : takeoffQueue.getAircraftInOrder()) {
+            latencies.start(LatencyMetric.TAKEOFF_WAIT, queued, ticksElapsed);
+        }
+        this.aircraftEmergencyListener = new AircraftListener() {
+            @Override
+            public void emergencyChanged(Aircraft changed) {
+                aircraftModificationCount++;
+                if (journal != null) {
+                    journal.recordEmergency(getTicksElapsed(), changed);
+                }
+                if (changed.hasEmergency()) {
+                    publish(TowerEventType.EMERGENCY_DECLARED, changed, null, null);
+                }
+            }
+
+            @Override
+            public void fuelChanged(Aircraft changed) {
+                aircraftModificationCount++;
+            }
+        };
+        this.terminalListener = new TerminalListener() {
+            @Override
+            public void gateAdded(Terminal terminal, Gate gate) {
+                terminalModificationCount++;
+                if (journal != null) {
+                    journal.recordGateAdded(getTicksElapsed(), terminal, gate);
+                }
+            }
+
+            @Override
+            public void aircraftParked(Terminal terminal, Gate gate, Aircraft aircraft) {
+                terminalModificationCount++;
+                latencies.start(LatencyMetric.GATE_OCCUPANCY, aircraft, getTicksElapsed());
+            }
+
+            @Override
+            public void aircraftLeft(Terminal terminal, Gate gate, Aircraft aircraft) {
+                terminalModificationCount++;
+                latencies.finish(LatencyMetric.GATE_OCCUPANCY, aircraft, getTicksElapsed(),
+                        terminal);
+            }
+
+            @Override
+            public void emergencyChanged(Terminal terminal) {
+                terminalModificationCount++;
+                if (journal != null) {
+                    journal.recordEmergency(getTicksElapsed(), terminal);
+                }
+                if (terminal.hasEmergency()) {
+                    publish(TowerEventType.EMERGENCY_DECLARED, null, null, terminal);
+                }
+            }
+        };
+        for (Aircraft aircraft1 : aircraft) {
+            // aircraft given to the constructor have not been placed in queues yet
+            trackAircraft(aircraft1);
+        }
+        this.tickPool = null;
+        this.parallelTickThreshold = DEFAULT_PARALLEL_TICK_THRESHOLD;
+        this.snapshotPublisher = null;
+        this.latestSnapshot = null;
+        this.submissions = new ConcurrentLinkedQueue<>();
+        this.journal = null;
+    }
+
+    /**
+     * Enables or disables ticking aircraft in parallel.
+     * <p>
+     * When enabled, the {@link Aircraft#tick()} phase of {@link #tick()} is split across the
+     * given pool whenever the control tower manages at least {@code threshold} aircraft. Below
+     * the threshold, aircraft are ticked sequentially on the calling thread. Each aircraft's tick
+     * only modifies the state of that aircraft, so the results are identical in both modes.
+     * <p>
+     * Notifications of fuel changes to {@link towersim.aircraft.AircraftListener}s are deferred
+     * while aircraft are ticked on the pool, then sent on the calling thread in the order the
+     * aircraft were added, so listeners such as the landing queue are never called from the
+     * pool's threads.
+     * <p>
+     * Passing a null pool disables parallel ticking. Parallel ticking is disabled by default.
+     *
+     * @param pool pool to tick aircraft on; or null to tick aircraft sequentially
+     * @param threshold minimum number of aircraft for aircraft to be ticked in parallel
+     * @throws IllegalArgumentException if threshold &lt; 1
+     */
+    public void setParallelTicking(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel tick threshold must be positive");
+        }
+        this.tickPool = pool;
+        this.parallelTickThreshold = threshold;
+    }
+
+    /**
+     * Returns the minimum number of aircraft for aircraft to be ticked in parallel.
+     *
+     * @return parallel tick threshold
+     */
+    public int getParallelTickThreshold() {
+        return parallelTickThreshold;
+    }
+
+    /**
+     * Sets the policy used to choose the terminal in which each aircraft is parked.
+     * <p>
+     * The supplier is called once for each type of aircraft, and each new policy is told about
+     * every terminal already managed by this control tower. The default policy is
+     * {@link FirstFitGatePolicy}. For example, to spread aircraft across terminals in turn:
+     * <pre>tower.setGateAssignmentPolicy(RoundRobinGatePolicy::new);</pre>
+     *
+     * @param policy supplier of a new gate assignment policy for each aircraft type
+     */
+    public void setGateAssignmentPolicy(Supplier<? extends GateAssignmentPolicy> policy) {
+        gateIndex.setPolicy(policy);
+    }
+
+    /**
+     * Sets the policy used to choose the order in which aircraft in the landing queue land.
+     * <p>
+     * The priorities of aircraft already in the landing queue are recalculated with the new
+     * policy. The default policy is {@link RuleBasedLandingPolicy}. For example, to stop
+     * freight aircraft being starved by passenger aircraft:
+     * <pre>tower.setLandingPriorityPolicy(new AgingLandingPolicy());</pre>
+     *
+     * @param policy landing priority policy
+     * @see LandingQueue#setPriorityPolicy(LandingPriorityPolicy)
+     */
+    public void setLandingPriorityPolicy(LandingPriorityPolicy policy) {
+        landingQueue.setPriorityPolicy(policy);
+    }
+
+    /**
+     * Sets the journal to which this control tower records its external inputs.
+     * <p>
+     * Aircraft added and removed, aircraft submitted to the landing and takeoff queues, terminals
+     * and gates added, and states of emergency declared or cleared on managed aircraft and
+     * terminals are recorded, keyed by the number of ticks elapsed. The journal is flushed at the end of each tick, including each stretch of ticks
+     * skipped by {@link #advanceTo(long)}. Passing null stops recording.
+     *
+     * @param journal journal to record inputs to; or null to stop recording
+     */
+    public void setJournal(InputJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the journal to which this control tower records its external inputs.
+     *
+     * @return input journal; or null if inputs are not recorded
+     */
+    public InputJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Enables or disables publishing snapshots of this control tower.
+     * <p>
+     * When enabled, an immutable {@link TowerSnapshot} of the control tower is published at the
+     * end of every tick, and can be read from any thread with {@link #getSnapshot()} without
+     * locking. Enabling snapshots publishes a snapshot of the current state immediately.
+     * Snapshots are disabled by default.
+     *
+     * @param enabled true to publish snapshots; false to stop publishing them
+     */
+    public void setSnapshotsEnabled(boolean enabled) {
+        if (enabled && snapshotPublisher == null) {
+            snapshotPublisher = new SnapshotPublisher();
+            publishSnapshot();
+        } else if (!enabled) {
+            snapshotPublisher = null;
+            latestSnapshot = null;
+        }
+    }
+
+    /**
+     * Returns the snapshot of this control tower published most recently.
+     * <p>
+     * This method may be called from any thread.
+     *
+     * @return latest snapshot; or null if snapshots are disabled
+     */
+    public TowerSnapshot getSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Publishes a snapshot of the current state of this control tower, if snapshots are enabled.
+     * <p>
+     * Snapshots are published automatically at the end of every tick. This method only needs to
+     * be called to publish changes made between ticks, such as adding aircraft or terminals.
+     * <p>
+     * A snapshot published at the end of a tick reuses each part of the previous snapshot whose
+     * modification count has not changed, so a tick in which nothing changes publishes in
+     * constant time. The counts include every change the control tower makes or is notified of
+     * by its listeners. This method instead compares every aircraft and terminal with the
+     * previous snapshot, so it also publishes changes made without notifying the control tower,
+     * such as moving the task list of a managed aircraft directly.
+     */
+    public void publishSnapshot() {
+        if (snapshotPublisher != null) {
+            latestSnapshot = snapshotPublisher.take(this, true);
+        }
+    }
+
+    /* Publishes a snapshot at the end of a tick, if snapshots are enabled, reusing each part of
+    the previous snapshot whose modification count has not changed. */
+    private void publishTickSnapshot() {
+        if (snapshotPublisher != null) {
+            latestSnapshot = snapshotPublisher.take(this, false);
+        }
+    }
+
+    /* Returns the number of times the managed aircraft, their states or the loading aircraft
+    may have changed. */
+    int getAircraftModificationCount() {
+        return aircraftModificationCount;
+    }
+
+    /* Returns the number of times the managed terminals or their gates may have changed. */
+    int getTerminalModificationCount() {
+        return terminalModificationCount;
+    }
+
+    /**
+     * Returns the bus on which this control tower publishes events.
+     * <p>
+     * Events are published when an aircraft is queued to land or take off, is assigned a gate,
+     * lands, takes off, starts or finishes loading, and when a state of emergency is declared on
+     * a managed aircraft or on a terminal. See {@link TowerEventType}.
+     *
+     * @return event bus of this control tower
+     */
+    public TowerEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /* Publishes an event with the given details at the current tick. */
+    private void publish(TowerEventType type, Aircraft aircraft, Gate gate, Terminal terminal) {
+        eventBus.publish(type, ticksElapsed, aircraft, gate, terminal);
+    }
+
+    /**
+     * Replaces the runways of the airport with the given runways.
+     * <p>
+     * On each tick, every runway is used for at most one movement, in the order given. A newly
+     * created control tower has a single {@link RunwayMode#MIXED} runway.
+     *
+     * @param runways runways of the airport
+     * @throws IllegalArgumentException if the given list of runways is empty
+     */
+    public void setRunways(List<Runway> runways) {
+        if (runways.isEmpty()) {
+            throw new IllegalArgumentException("An airport must have at least one runway");
+        }
+        this.runways.clear();
+        this.runways.addAll(runways);
+    }
+
+    /**
+     * Returns a list of all runways of the airport, in the order they are used each tick.
+     * <p>
+     * Adding or removing elements from the returned list should not affect the original list.
+     *
+     * @return all runways
+     */
+    public List<Runway> getRunways() {
+        return new ArrayList<>(this.runways);
     }
 
     /**
@@ -72,7 +460,21 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public void addTerminal(Terminal terminal) {
+        if (journal != null) {
+            journal.recordTerminalAdded(ticksElapsed, terminal);
+        }
         this.terminals.add(terminal);
+        this.gateIndex.addTerminal(terminal);
+        latencies.addTerminal(terminal);
+        for (Gate gate : terminal.getGates()) {
+            // aircraft already parked are measured from now
+            if (gate.isOccupied()) {
+                latencies.start(LatencyMetric.GATE_OCCUPANCY, gate.getAircraftAtGate(),
+                        ticksElapsed);
+            }
+        }
+        terminal.addListener(terminalListener);
+        terminalModificationCount++;
     }
 
     /**
@@ -90,6 +492,62 @@ public class ControlTower implements Tickable {
         return new ArrayList<>(this.terminals);
     }
 
+    /**
+     * Returns the total number of gates in all terminals managed by this control tower.
+     * <p>
+     * Gate counts are kept up to date as gates are added and aircraft park and leave, so this
+     * method and the other gate count methods take constant time.
+     *
+     * @return number of gates
+     */
+    public int getNumGates() {
+        return gateIndex.getNumGates();
+    }
+
+    /**
+     * Returns the number of gates with an aircraft parked at them in all terminals managed by
+     * this control tower.
+     *
+     * @return number of occupied gates
+     */
+    public int getNumOccupiedGates() {
+        return gateIndex.getNumOccupiedGates();
+    }
+
+    /**
+     * Returns the number of gates in managed terminals that accommodate the given type of
+     * aircraft.
+     *
+     * @param type type of aircraft
+     * @return number of gates for the aircraft type
+     */
+    public int getNumGates(AircraftType type) {
+        return gateIndex.getNumGates(type);
+    }
+
+    /**
+     * Returns the number of gates with an aircraft parked at them in managed terminals that
+     * accommodate the given type of aircraft.
+     *
+     * @param type type of aircraft
+     * @return number of occupied gates for the aircraft type
+     */
+    public int getNumOccupiedGates(AircraftType type) {
+        return gateIndex.getNumOccupiedGates(type);
+    }
+
+    /**
+     * Returns the ratio of occupied gates to total gates across all managed terminals, as a
+     * percentage from 0 to 100, rounded to the nearest whole percentage.
+     * <p>
+     * If there are no gates, 0 is returned.
+     *
+     * @return percentage of occupied gates at the airport, 0 to 100
+     */
+    public int calculateOccupancyLevel() {
+        return (int) Math.round(100 * (double) getNumOccupiedGates() / getNumGates());
+    }
+
     /**
      * Adds the given aircraft to the jurisdiction of this control tower.
      * <p>
@@ -105,17 +563,211 @@ public class ControlTower implements Tickable {
      */
     public void addAircraft(Aircraft aircraft) throws NoSuitableGateException {
         // the current task type of given aircraft
-        TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
+        TaskType currentTaskType = aircraft.getTaskList().getCurrentTaskType();
+        // the gate the aircraft was parked at; or null if it was not parked
+        Gate gate = null;
         if (currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD) {
             try {
-                findUnoccupiedGate(aircraft).parkAircraft(aircraft);
+                gate = findUnoccupiedGate(aircraft);
+                gate.parkAircraft(aircraft);
             } catch (NoSpaceException ignored) {
                 // no suitable gate for the aircraft
                 throw new NoSuitableGateException();
             }
         }
         this.aircraft.add(aircraft);
+        if (journal != null) {
+            journal.recordAircraftAdded(ticksElapsed, aircraft);
+        }
+        publish(TowerEventType.AIRCRAFT_ADDED, aircraft, null, null);
+        if (gate != null) {
+            publish(TowerEventType.GATE_ASSIGNED, aircraft, gate, null);
+        }
+        trackAircraft(aircraft);
         placeAircraftInQueues(aircraft);
+        changedAircraft.clear(aircraftPositions.get(aircraft));
+    }
+
+    /**
+     * Submits the given aircraft to be added to the jurisdiction of this control tower at the
+     * next tick boundary.
+     * <p>
+     * This method may be called from any thread, including while the control tower is ticking.
+     * The aircraft is added by {@link #addAircraft(Aircraft)} when submissions are next applied
+     * (see {@link #applySubmissions()}). The returned future completes once the aircraft has
+     * been added, or completes exceptionally with a {@link NoSuitableGateException} if there was
+     * no suitable gate for it. Dependent actions of the future run on the thread that applies
+     * submissions.
+     *
+     * @param aircraft aircraft to add
+     * @return future completed once the aircraft has been added or rejected
+     */
+    public CompletableFuture<Void> submitAircraft(Aircraft aircraft) {
+        return submit(new Submission(Objects.requireNonNull(aircraft), null, null));
+    }
+
+    /**
+     * Submits the given terminal to be added to the jurisdiction of this control tower at the
+     * next tick boundary.
+     * <p>
+     * This method may be called from any thread. The terminal is added by
+     * {@link #addTerminal(Terminal)} when submissions are next applied, and the returned future
+     * then completes.
+     *
+     * @param terminal terminal to add
+     * @return future completed once the terminal has been added
+     */
+    public CompletableFuture<Void> submitTerminal(Terminal terminal) {
+        return submit(new Submission(null, Objects.requireNonNull(terminal), null));
+    }
+
+    /**
+     * Submits the given gate to be added to the given terminal at the next tick boundary.
+     * <p>
+     * This method may be called from any thread. The gate is added by
+     * {@link Terminal#addGate(Gate)} when submissions are next applied. The returned future then
+     * completes, or completes exceptionally with a {@link NoSpaceException} if the terminal was
+     * full. A gate may be submitted for a terminal that was submitted earlier by the same thread
+     * and has not been applied yet.
+     *
+     * @param terminal terminal to add the gate to
+     * @param gate gate to add
+     * @return future completed once the gate has been added or rejected
+     */
+    public CompletableFuture<Void> submitGate(Terminal terminal, Gate gate) {
+        return submit(new Submission(null, Objects.requireNonNull(terminal),
+                Objects.requireNonNull(gate)));
+    }
+
+    /* Stages the given submission to be applied at the next tick boundary. */
+    private CompletableFuture<Void> submit(Submission submission) {
+        submissions.add(submission);
+        return submission.result;
+    }
+
+    /**
+     * Applies all aircraft, terminals and gates submitted since submissions were last applied, in
+     * the order they were submitted.
+     * <p>
+     * Aircraft submitted directly to the landing or takeoff queue (see
+     * {@link AircraftQueue#submitAircraft(Aircraft)}) are then added to that queue, in the order
+     * they were submitted. Their time waiting in the queue is measured from the current tick, and
+     * each is published and journalled as having been queued.
+     * <p>
+     * Submissions are applied automatically at the start of every tick. This method only needs
+     * to be called to apply them between ticks. It must be called on the thread that ticks the
+     * control tower.
+     */
+    public void applySubmissions() {
+        Submission submission;
+        while ((submission = submissions.poll()) != null) {
+            try {
+                if (submission.aircraft != null) {
+                    addAircraft(submission.aircraft);
+                } else if (submission.gate != null) {
+                    submission.terminal.addGate(submission.gate);
+                } else {
+                    addTerminal(submission.terminal);
+                }
+                submission.result.complete(null);
+            } catch (NoSuitableGateException | NoSpaceException exception) {
+                submission.result.completeExceptionally(exception);
+            }
+        }
+        Aircraft queued;
+        while ((queued = landingQueue.pollSubmission()) != null) {
+            queueAircraft(queued, true);
+        }
+        while ((queued = takeoffQueue.pollSubmission()) != null) {
+            queueAircraft(queued, false);
+        }
+    }
+
+    /* Adds the given aircraft, submitted from another thread, to the landing queue if landing is
+    true or to the takeoff queue otherwise, recording it as placeAircraftInQueues() would. */
+    void queueAircraft(Aircraft aircraft, boolean landing) {
+        if (journal != null) {
+            journal.recordAircraftQueued(ticksElapsed, aircraft, landing);
+        }
+        if (landing) {
+            landingQueue.addAircraft(aircraft);
+            latencies.start(LatencyMetric.LANDING_WAIT, aircraft, ticksElapsed);
+            publish(TowerEventType.QUEUED_TO_LAND, aircraft, null, null);
+        } else {
+            takeoffQueue.addAircraft(aircraft);
+            latencies.start(LatencyMetric.TAKEOFF_WAIT, aircraft, ticksElapsed);
+            publish(TowerEventType.QUEUED_TO_TAKE_OFF, aircraft, null, null);
+        }
+    }
+
+    /**
+     * Removes the given aircraft from the jurisdiction of this control tower.
+     * <p>
+     * Only aircraft whose current task type is {@code AWAY} can be removed, since these aircraft
+     * are not parked at a gate, loading or waiting in a queue. If the aircraft is not managed by
+     * this control tower or its current task type is not {@code AWAY}, no action is taken.
+     *
+     * @param aircraft aircraft to remove
+     * @return true if the aircraft was removed; false otherwise
+     */
+    public boolean removeAircraft(Aircraft aircraft) {
+        Integer position = aircraftPositions.get(aircraft);
+        if (position == null
+                || aircraft.getTaskList().getCurrentTaskType() != TaskType.AWAY) {
+            return false;
+        }
+        this.aircraft.remove((int) position);
+        aircraftPositions.remove(aircraft);
+        aircraftModificationCount++;
+        aircraft.removeListener(aircraftEmergencyListener);
+        if (snapshotPublisher != null) {
+            snapshotPublisher.forget(aircraft);
+        }
+        if (journal != null) {
+            journal.recordAircraftRemoved(ticksElapsed, aircraft);
+        }
+        publish(TowerEventType.AIRCRAFT_REMOVED, aircraft, null, null);
+        if (!taskListsShared) {
+            taskLists.remove(aircraft.getTaskList());
+        }
+        // aircraft after the removed aircraft move back one position
+        for (int i = position; i < this.aircraft.size(); i++) {
+            aircraftPositions.put(this.aircraft.get(i), i);
+        }
+        BitSet changedAfter = changedAircraft.get(position + 1, this.aircraft.size() + 1);
+        changedAircraft.clear(position, this.aircraft.size() + 1);
+        for (int i = changedAfter.nextSetBit(0); i >= 0; i = changedAfter.nextSetBit(i + 1)) {
+            changedAircraft.set(position + i);
+        }
+        return true;
+    }
+
+    /* Records the position and task list of the given aircraft, which was just added to the
+    end of the list of aircraft, and marks it as changed. */
+    private void trackAircraft(Aircraft aircraft) {
+        if (aircraftPositions.containsKey(aircraft)) {
+            // the same aircraft was added twice; fall back to placing every aircraft
+            taskListsShared = true;
+            return;
+        }
+        int position = aircraftPositions.size();
+        aircraftPositions.put(aircraft, position);
+        changedAircraft.set(position);
+        aircraftModificationCount++;
+        aircraft.addListener(aircraftEmergencyListener);
+        if (!taskLists.add(aircraft.getTaskList())) {
+            taskListsShared = true;
+        }
+    }
+
+    /* Marks the given aircraft as having changed its current task, if it is managed by this
+    control tower. */
+    private void markChanged(Aircraft aircraft) {
+        Integer position = aircraftPositions.get(aircraft);
+        if (position != null) {
+            changedAircraft.set(position);
+            aircraftModificationCount++;
+        }
     }
 
     /**
@@ -133,6 +785,18 @@ public class ControlTower implements Tickable {
         return new ArrayList<>(this.aircraft);
     }
 
+    /**
+     * Returns the position of the given aircraft in the list of aircraft returned by
+     * {@link #getAircraft()}, or -1 if it is not managed by this control tower.
+     *
+     * @param aircraft aircraft to find
+     * @return position of the aircraft; or -1 if it is not managed by this control tower
+     */
+    public int getAircraftPosition(Aircraft aircraft) {
+        Integer position = aircraftPositions.get(aircraft);
+        return position == null ? -1 : position;
+    }
+
     /**
      * Finds the gate where the given aircraft is parked, and returns null if the aircraft is
      * not parked at any gate in any terminal.
@@ -142,14 +806,7 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findGateOfAircraft(Aircraft aircraft) {
-        for (Terminal terminal : this.terminals) {
-            for (Gate gate : terminal.getGates()) {
-                if (Objects.equals(gate.getAircraftAtGate(), aircraft)) {
-                    return gate;
-                }
-            }
-        }
-        return null;
+        return gateIndex.findGateOfAircraft(aircraft);
     }
 
     /**
@@ -181,11 +838,78 @@ public class ControlTower implements Tickable {
 
     /**
      * Returns the mapping of loading aircraft to their remaining load times.
+     * <p>
+     * The remaining load times are brought up to date each time this method is called, so the
+     * returned map reflects the state of the control tower at the time of the call.
      *
      * @return loading aircraft map
      */
     public Map<Aircraft, Integer> getLoadingAircraft() {
-        return loadingAircraft;
+        return loadingSchedule.getRemainingTicks();
+    }
+
+    /**
+     * Returns the number of ticks after which the given aircraft will finish loading and leave
+     * its gate.
+     * <p>
+     * This is the aircraft's remaining load time in {@link #getLoadingAircraft()}, but is looked
+     * up in constant time without bringing the remaining load times of other aircraft up to date.
+     * Together with {@link Aircraft#projectTicksUntilFuelBelow(int)}, this allows upcoming
+     * changes to aircraft to be scheduled ahead of time rather than checked on every tick.
+     *
+     * @param aircraft aircraft to look up
+     * @return number of ticks until the aircraft finishes loading, or -1 if it is not loading
+     */
+    public int getTicksUntilLoaded(Aircraft aircraft) {
+        return loadingSchedule.getRemainingTicks(aircraft);
+    }
+
+    /**
+     * Returns the histogram of all durations of the given metric measured by this control tower.
+     * <p>
+     * A wait is measured from the tick an aircraft is placed in a queue by this control tower to
+     * the tick it lands or takes off. Gate occupancy is measured from the tick an aircraft is
+     * parked at a gate of a managed terminal to the tick it leaves. Aircraft that were already
+     * queued when this control tower was created, or already parked when their terminal was
+     * added, are measured from that time.
+     * <p>
+     * The histogram returned is the one this control tower records into, so it reflects
+     * durations measured later. It should only be read on the thread that ticks the control
+     * tower.
+     *
+     * @param metric metric measured
+     * @return histogram of durations, in ticks
+     */
+    public LatencyHistogram getLatencyHistogram(LatencyMetric metric) {
+        return latencies.getHistogram(metric);
+    }
+
+    /**
+     * Returns the histogram of durations of the given metric measured by this control tower for
+     * aircraft with the given characteristics.
+     * <p>
+     * Durations are measured as described by {@link #getLatencyHistogram(LatencyMetric)}.
+     *
+     * @param metric metric measured
+     * @param characteristics characteristics of the aircraft
+     * @return histogram of durations, in ticks
+     */
+    public LatencyHistogram getLatencyHistogram(LatencyMetric metric,
+                                                AircraftCharacteristics characteristics) {
+        return latencies.getHistogram(metric, characteristics);
+    }
+
+    /**
+     * Returns the histogram of how long aircraft occupied the gates of the given terminal.
+     * <p>
+     * Durations are measured as described by {@link #getLatencyHistogram(LatencyMetric)}.
+     *
+     * @param terminal terminal managed by this control tower
+     * @return histogram of gate occupancy durations, in ticks; or null if the terminal is not
+     * managed by this control tower
+     */
+    public LatencyHistogram getGateOccupancyHistogram(Terminal terminal) {
+        return latencies.getGateOccupancyHistogram(terminal);
     }
 
     /**
@@ -196,13 +920,17 @@ public class ControlTower implements Tickable {
      * for an aircraft with an AircraftType of {@code AIRPLANE}, only AirplaneTerminals may be
      * considered.
      * <p>
-     * For each compatible terminal, the {@link Terminal#findUnoccupiedGate()} method should be
-     * called to attempt to find an unoccupied gate in that terminal. If
-     * {@code findUnoccupiedGate()} does not find a suitable gate, the next compatible terminal
-     * in the order they were added should be checked instead, and so on.
+     * The gate returned is the one {@link Terminal#findUnoccupiedGate()} would return for the
+     * compatible terminal chosen by the gate assignment policy (see
+     * {@link #setGateAssignmentPolicy(Supplier)}). By default, this is the first compatible
+     * terminal, in the order they were added, that has an unoccupied gate.
      * <p>
      * If no unoccupied gates could be found across all compatible terminals, a
      * {@code NoSuitableGateException} should be thrown.
+     * <p>
+     * Terminals in a state of emergency are not considered. The search is answered from an index
+     * of unoccupied gates that is kept up to date as aircraft park and leave, so it does not need
+     * to scan every terminal and gate.
      *
      * @param aircraft aircraft for which to find gate
      * @return gate for given aircraft if one exists
@@ -210,28 +938,12 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findUnoccupiedGate(Aircraft aircraft) throws NoSuitableGateException {
-        AircraftType aircraftType = aircraft.getCharacteristics().type;
-        for (Terminal terminal : terminals) {
-            /*
-             * Only check for available gates at terminals that are of the same aircraft type as
-             * the aircraft
-             */
-            if ((terminal instanceof AirplaneTerminal && aircraftType == AircraftType.AIRPLANE)
-                    || (terminal instanceof HelicopterTerminal
-                    && aircraftType == AircraftType.HELICOPTER)) {
-                try {
-                    // This terminal found a gate, return it
-                    if (!terminal.hasEmergency()) {
-                        // return the game in the terminal which is
-                        // not currently in a state of emergency
-                        return terminal.findUnoccupiedGate();
-                    }
-                } catch (NoSuitableGateException e) {
-                    // If this terminal has no unoccupied gates, try the next one
-                }
-            }
+        // the first unoccupied gate of the terminal chosen by the policy
+        Gate gate = gateIndex.findUnoccupiedGate(aircraft.getCharacteristics().type);
+        if (gate == null) {
+            throw new NoSuitableGateException("No gate available for aircraft");
         }
-        throw new NoSuitableGateException("No gate available for aircraft");
+        return gate;
     }
 
     /**
@@ -244,16 +956,24 @@ public class ControlTower implements Tickable {
         // the aircraft in the front of the landing queue
         Aircraft firstAircraft = landingQueue.peekAircraft();
         if (firstAircraft != null) {
+            // try to find a suitable gate parking the aircraft, without throwing if there is none
+            Gate gate = gateIndex.findUnoccupiedGate(firstAircraft.getCharacteristics().type);
+            if (gate == null) {
+                return false;
+            }
             try {
-                // try to find a suitable gate parking the aircraft
-                findUnoccupiedGate(firstAircraft).parkAircraft(firstAircraft);
+                gate.parkAircraft(firstAircraft);
                 // remove the aircraft after successfully park the aircraft into the gate.
                 landingQueue.removeAircraft();
+                latencies.finish(LatencyMetric.LANDING_WAIT, firstAircraft, ticksElapsed, null);
                 firstAircraft.unload();
                 firstAircraft.getTaskList().moveToNextTask();
+                markChanged(firstAircraft);
+                publish(TowerEventType.GATE_ASSIGNED, firstAircraft, gate, null);
+                publish(TowerEventType.LANDED, firstAircraft, gate, null);
                 return true;
-            } catch (NoSuitableGateException | NoSpaceException exception) {
-                // there is no suitable gate to part the aircraft in landing queue
+            } catch (NoSpaceException impossible) {
+                // gates in the index are unoccupied
                 return false;
             }
         }
@@ -263,54 +983,92 @@ public class ControlTower implements Tickable {
 
     /**
      * Attempts to allow one aircraft waiting in the takeoff queue to take off.
+     *
+     * @return true if an aircraft took off; false if the takeoff queue is empty
      */
-    public void tryTakeOffAircraft() {
+    public boolean tryTakeOffAircraft() {
         if (takeoffQueue.peekAircraft() != null) {
             // remove the aircraft from the takeoff queue and move task of that aircraft
-            takeoffQueue.removeAircraft().getTaskList().moveToNextTask();
+            takeOff(takeoffQueue.removeAircraft());
+            return true;
+        }
+        return false;
+    }
+
+    /* Lets up to the given number of aircraft at the front of the takeoff queue take off, in
+    queue order, draining them from the queue at once. */
+    private void takeOffAircraft(int maxAircraft) {
+        if (maxAircraft == 0) {
+            return;
         }
+        takeoffQueue.drainTo(departing, maxAircraft);
+        for (int i = 0; i < departing.size(); i++) {
+            takeOff(departing.get(i));
+        }
+        departing.clear();
+    }
+
+    /* Moves the task of the given aircraft, just removed from the takeoff queue, on from
+    TAKEOFF. */
+    private void takeOff(Aircraft aircraftTakingOff) {
+        latencies.finish(LatencyMetric.TAKEOFF_WAIT, aircraftTakingOff, ticksElapsed, null);
+        aircraftTakingOff.getTaskList().moveToNextTask();
+        markChanged(aircraftTakingOff);
+        publish(TowerEventType.TOOK_OFF, aircraftTakingOff, null, null);
     }
 
     /**
      * Updates the time remaining to load on all currently loading aircraft
      * and removes aircraft from their gate once finished loading.
+     * <p>
+     * Loading aircraft are kept in a schedule ordered by the call to this method on which they
+     * finish loading, so only the aircraft that finish loading are visited.
      */
     public void loadAircraft() {
-        for (Aircraft aircraft : loadingAircraft.keySet()) {
-            loadingAircraft.put(aircraft, loadingAircraft.get(aircraft) - 1);
+        if (!loadingSchedule.isEmpty()) {
+            // loading aircraft took on cargo this tick, and their time remaining changes
+            aircraftModificationCount++;
         }
-        // remove the aircraft with zero loading tick from the map
-        removeZeroTicks(loadingAircraft, this);
-    }
-
-    /* remove all of the key-values entry set in given map which value is equal to 0,
-    and leave the aircraft from correspond gate and finally move task. */
-    private static void removeZeroTicks(Map<Aircraft, Integer> loadingAircraft,
-                                        ControlTower controlTower) {
-        // a iterator of loadingAircraft
-        Iterator<Map.Entry<Aircraft, Integer>> iterator = loadingAircraft.entrySet().iterator();
-        while (iterator.hasNext()) {
-            // the entry of loadingAircraft (ie. aircraft:tickNumber)
-            Map.Entry<Aircraft, Integer> loadingAircraftWithTick = iterator.next();
-            if (loadingAircraftWithTick.getValue() == 0) {
-
-                Aircraft aircraftWithZeroTick = loadingAircraftWithTick.getKey();
-
-                controlTower.findGateOfAircraft(aircraftWithZeroTick).aircraftLeaves();
-                aircraftWithZeroTick.getTaskList().moveToNextTask();
-                iterator.remove();
-            }
+        loadingSchedule.advance(finishedLoading);
+        // leave the gate of each aircraft that finished loading and move its task
+        for (int i = 0; i < finishedLoading.size(); i++) {
+            Aircraft aircraftFinished = finishedLoading.get(i);
+            Gate gate = findGateOfAircraft(aircraftFinished);
+            gate.aircraftLeaves();
+            aircraftFinished.getTaskList().moveToNextTask();
+            markChanged(aircraftFinished);
+            publish(TowerEventType.LOAD_COMPLETED, aircraftFinished, gate, null);
         }
+        finishedLoading.clear();
     }
 
     /**
      * Calls placeAircraftInQueues(Aircraft) on all aircraft
      * managed by the control tower.
+     * <p>
+     * {@link #tick()} only places the aircraft whose current task was changed by the control
+     * tower during the tick. This method should be called after changing the current task of a
+     * managed aircraft from outside the control tower.
      */
     public void placeAllAircraftInQueues() {
         for (Aircraft aircraft : this.aircraft) {
             placeAircraftInQueues(aircraft);
         }
+        changedAircraft.clear();
+    }
+
+    /* Calls placeAircraftInQueues(Aircraft) on each aircraft whose current task may have
+    changed since it was last placed, in the order the aircraft were added. */
+    private void placeChangedAircraftInQueues() {
+        if (taskListsShared) {
+            placeAllAircraftInQueues();
+            return;
+        }
+        for (int position = changedAircraft.nextSetBit(0); position >= 0;
+                position = changedAircraft.nextSetBit(position + 1)) {
+            placeAircraftInQueues(aircraft.get(position));
+        }
+        changedAircraft.clear();
     }
 
     /**
@@ -319,20 +1077,27 @@ public class ControlTower implements Tickable {
      * @param aircraft aircraft to move to appropriate queue
      */
     public void placeAircraftInQueues(Aircraft aircraft) {
-        switch (aircraft.getTaskList().getCurrentTask().getType()) {
+        switch (aircraft.getTaskList().getCurrentTaskType()) {
             case LAND:
                 if (!landingQueue.containsAircraft(aircraft)) {
                     this.getLandingQueue().addAircraft(aircraft);
+                    latencies.start(LatencyMetric.LANDING_WAIT, aircraft, ticksElapsed);
+                    publish(TowerEventType.QUEUED_TO_LAND, aircraft, null, null);
                 }
                 break;
             case TAKEOFF:
                 if (!takeoffQueue.containsAircraft(aircraft)) {
                     this.getTakeoffQueue().addAircraft(aircraft);
+                    latencies.start(LatencyMetric.TAKEOFF_WAIT, aircraft, ticksElapsed);
+                    publish(TowerEventType.QUEUED_TO_TAKE_OFF, aircraft, null, null);
                 }
                 break;
             case LOAD:
-                if (!loadingAircraft.containsKey(aircraft)) {
-                    this.getLoadingAircraft().put(aircraft, aircraft.getLoadingTime());
+                if (!loadingSchedule.contains(aircraft)) {
+                    loadingSchedule.add(aircraft, aircraft.getLoadingTime());
+                    aircraftModificationCount++;
+                    publish(TowerEventType.LOAD_STARTED, aircraft,
+                            findGateOfAircraft(aircraft), null);
                 }
                 break;
         }
@@ -341,51 +1106,228 @@ public class ControlTower implements Tickable {
     /**
      * Advances the simulation by one tick.
      * <p>
+     * Aircraft, terminals and gates submitted from other threads since the last tick, and
+     * aircraft submitted to the landing and takeoff queues, are applied first (see
+     * {@link #applySubmissions()}).
+     * <p>
      * On each tick, the control tower should call {@link Aircraft#tick()} on all aircraft managed
      * by the control tower.
      * <p>
      * Note that the actions performed by {@code tick()} are very simple at the moment and will be
      * expanded on in assignment 2.
+     * <p>
+     * After aircraft have been ticked and loading aircraft processed, each runway (see
+     * {@link #setRunways(List)}) is used for at most one landing or takeoff, according to its
+     * {@link RunwayMode}.
+     * <p>
+     * Finally, each aircraft whose current task was changed during the tick is placed in its
+     * appropriate queue (see {@link #placeAircraftInQueues(Aircraft)}). Aircraft whose task did
+     * not change are already in the right queue, so they are not visited.
+     * <p>
+     * If snapshots are enabled, a snapshot is published once the tick is complete (see
+     * {@link #setSnapshotsEnabled(boolean)}).
      * @ass1
      */
     @Override
     public void tick() {
+        // Apply aircraft, terminals and gates submitted from other threads
+        applySubmissions();
         // Call tick() on all other sub-entities
-        tickAircraft(aircraft);
+        if (tickPool != null && aircraft.size() >= parallelTickThreshold) {
+            tickPool.invoke(new AircraftTickTask(aircraft, 0, aircraft.size(),
+                    Math.max(1, aircraft.size() / (4 * tickPool.getParallelism()))));
+            // listeners are not thread-safe, so fuel changes are sent from this thread
+            for (int i = 0; i < aircraft.size(); i++) {
+                aircraft.get(i).sendDeferredNotifications();
+            }
+        } else {
+            tickAircraft(aircraft);
+        }
         // Move all aircraft with a current task type
         // of AWAY or WAIT to their next task.
-        moveTask(aircraft);
+        moveTask(aircraft, changedAircraft);
+        if (!changedAircraft.isEmpty()) {
+            aircraftModificationCount++;
+        }
         // Process loading aircraft
         loadAircraft();
-        if (this.getTicksElapsed() % 2 == 0) {
-            // do something in every even tick:
-            if (!tryLandAircraft()) {
-                // if an aircraft cannot be landed try to takeoff one aircraft
-                tryTakeOffAircraft();
+        // Land and take off aircraft on each runway
+        useRunways();
+        // Place all aircraft whose task changed in their appropriate queues
+        placeChangedAircraftInQueues();
+        ticksElapsed++;
+        landingQueue.setCurrentTick(ticksElapsed);
+        if (journal != null) {
+            journal.flush();
+        }
+        publishTickSnapshot();
+    }
+
+    /**
+     * Advances the simulation until the given number of ticks have elapsed.
+     * <p>
+     * The result is the same as calling {@link #tick()} until {@link #getTicksElapsed()} is equal
+     * to {@code tick}. However, stretches of ticks in which nothing observable happens are
+     * skipped in a single step: while every aircraft is {@code AWAY}, both queues are empty and
+     * no aircraft are loading, the only effects of a tick are that each aircraft burns fuel and
+     * moves through its {@code AWAY} tasks. The control tower jumps straight to the next tick at
+     * which an aircraft's {@code LAND} task becomes current (or to {@code tick}, if sooner),
+     * applying the fuel burned over the skipped interval in closed form.
+     * <p>
+     * If {@code tick} is not greater than the number of ticks elapsed, no action is taken.
+     *
+     * @param tick number of ticks elapsed to advance the simulation to
+     */
+    public void advanceTo(long tick) {
+        while (ticksElapsed < tick) {
+            applySubmissions();
+            long idleTicks = Math.min(countIdleTicks(), tick - ticksElapsed);
+            if (idleTicks > 0) {
+                skipIdleTicks(idleTicks);
+            } else {
+                tick();
             }
-        } else {
-            // try to takeoff an aircraft on every odd tick
-            tryTakeOffAircraft();
         }
-        // Place all aircraft in their appropriate queues
+    }
+
+    /*
+     * Returns the number of upcoming ticks that can be skipped without running every phase of
+     * tick(), or zero if the next tick must be run normally. Ticks can be skipped while every
+     * aircraft is AWAY and there is nothing queued or loading; the stretch ends on the tick on
+     * which the first aircraft reaches the end of its run of consecutive AWAY tasks.
+     */
+    private long countIdleTicks() {
+        if (landingQueue.peekAircraft() != null || takeoffQueue.peekAircraft() != null
+                || !loadingSchedule.isEmpty()) {
+            return 0;
+        }
+        // aircraft sharing a task list advance it more than once per tick, so are not skipped
+        if (taskListsShared) {
+            return 0;
+        }
+        long idleTicks = Long.MAX_VALUE;
+        for (int i = 0; i < aircraft.size(); i++) {
+            TaskList taskList = aircraft.get(i).getTaskList();
+            int awayTasks = taskList.countConsecutiveTasks(TaskType.AWAY);
+            if (awayTasks == 0) {
+                return 0;
+            }
+            if (awayTasks < taskList.size()) {
+                // an aircraft with only AWAY tasks never needs a tick to be run
+                idleTicks = Math.min(idleTicks, awayTasks);
+            }
+        }
+        return idleTicks;
+    }
+
+    /* Applies the given number of idle ticks, as counted by countIdleTicks(), in one step. */
+    private void skipIdleTicks(long idleTicks) {
+        for (Aircraft aircraft1 : aircraft) {
+            aircraft1.burnFuelAway(idleTicks);
+            aircraft1.getTaskList().moveForward(idleTicks);
+        }
+        aircraftModificationCount++;
+        // aircraft whose LAND task became current on the last skipped tick join the queue
         placeAllAircraftInQueues();
-        ticksElapsed++;
+        ticksElapsed += idleTicks;
+        landingQueue.setCurrentTick(ticksElapsed);
+        if (journal != null) {
+            journal.flush();
+        }
+        publishTickSnapshot();
+    }
+
+    /*
+     * Uses each runway for at most one landing or takeoff. Once an aircraft fails to land, no
+     * other runway tries to land an aircraft this tick, since the same aircraft is still at the
+     * front of the landing queue. The aircraft taking off on every runway are drained from the
+     * takeoff queue together, after the landings.
+     */
+    private void useRunways() {
+        // whether the front of the landing queue could still be landed this tick
+        boolean canLand = true;
+        // takeoffs do not depend on landings, so they are drained from the queue together
+        int takeoffs = 0;
+        for (int i = 0; i < runways.size(); i++) {
+            switch (runways.get(i).getMode()) {
+                case ARRIVALS:
+                    canLand = canLand && tryLandAircraft();
+                    break;
+                case DEPARTURES:
+                    takeoffs++;
+                    break;
+                case MIXED:
+                default:
+                    if (this.getTicksElapsed() % 2 == 0) {
+                        // do something in every even tick:
+                        canLand = canLand && tryLandAircraft();
+                        if (!canLand) {
+                            // if an aircraft cannot be landed try to takeoff one aircraft
+                            takeoffs++;
+                        }
+                    } else {
+                        // try to takeoff an aircraft on every odd tick
+                        takeoffs++;
+                    }
+                    break;
+            }
+        }
+        takeOffAircraft(takeoffs);
     }
 
     /* call Aircraft.tick() on all Aircraft */
     private static void tickAircraft(List<Aircraft> aircraftTicking) {
-        for (Aircraft aircraft : aircraftTicking) {
-            aircraft.tick();
+        for (int i = 0; i < aircraftTicking.size(); i++) {
+            aircraftTicking.get(i).tick();
+        }
+    }
+
+    /* Calls Aircraft.tick() on a range of aircraft, splitting the range across a fork-join pool.
+    Notifications of fuel changes are deferred, to be sent once every aircraft has ticked. */
+    private static class AircraftTickTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /** all aircraft being ticked */
+        private final List<Aircraft> aircraft;
+        /** index of the first aircraft to tick, inclusive */
+        private final int from;
+        /** index of the last aircraft to tick, exclusive */
+        private final int to;
+        /** maximum number of aircraft ticked without splitting the range further */
+        private final int batchSize;
+
+        private AircraftTickTask(List<Aircraft> aircraft, int from, int to, int batchSize) {
+            this.aircraft = aircraft;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int i = from; i < to; i++) {
+                    aircraft.get(i).deferNotifications();
+                    aircraft.get(i).tick();
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AircraftTickTask(aircraft, from, middle, batchSize),
+                        new AircraftTickTask(aircraft, middle, to, batchSize));
+            }
         }
     }
 
-    /* Move all aircraft with a current task type of AWAY or WAIT to their next task. */
-    private static void moveTask(List<Aircraft> aircraftUnderCheck) {
+    /* Move all aircraft with a current task type of AWAY or WAIT to their next task,
+    marking the positions of moved aircraft in the given set. */
+    private static void moveTask(List<Aircraft> aircraftUnderCheck, BitSet moved) {
         TaskType currentTaskType;
-        for (Aircraft aircraft : aircraftUnderCheck) {
-            currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
+        for (int i = 0; i < aircraftUnderCheck.size(); i++) {
+            Aircraft aircraft = aircraftUnderCheck.get(i);
+            currentTaskType = aircraft.getTaskList().getCurrentTaskType();
             if (currentTaskType == TaskType.AWAY || currentTaskType == TaskType.WAIT) {
                 aircraft.getTaskList().moveToNextTask();
+                moved.set(i);
             }
         }
     }
@@ -399,8 +1341,8 @@ public class ControlTower implements Tickable {
         // human-readable string of the information about the
         // queues and loading aircraft map controlled by control tower
         StringJoiner queueInformation = new StringJoiner(", ", "(", ")");
-        queueInformation.add(this.getLandingQueue().getAircraftInOrder().size() + " LAND");
-        queueInformation.add(this.getTakeoffQueue().getAircraftInOrder().size() + " TAKEOFF");
+        queueInformation.add(this.getLandingQueue().size() + " LAND");
+        queueInformation.add(this.getTakeoffQueue().size() + " TAKEOFF");
         queueInformation.add(this.getLoadingAircraft().keySet().size() + " LOAD");
 
         // human-readable string of control tower
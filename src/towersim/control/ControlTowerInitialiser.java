@@ -2,6 +2,7 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FleetStore;
 import towersim.aircraft.FreightAircraft;
 import towersim.aircraft.PassengerAircraft;
 import towersim.ground.AirplaneTerminal;
@@ -113,6 +114,8 @@ public class ControlTowerInitialiser {
     /**
      * Loads the list of all aircraft managed by the control tower
      * from the given reader instance.
+     * <p>
+     * All of the aircraft are created in a single {@link FleetStore}.
      *
      * @param reader reader from which to load the list of aircraft
      * @return list of aircraft read from the reader
@@ -125,10 +128,11 @@ public class ControlTowerInitialiser {
         BufferedReader readAircraft = new BufferedReader(reader);
         List<Aircraft> aircraft = new ArrayList<>();
         int numberOfAircraft = readIntegers(readCleanLine(readAircraft));
+        FleetStore store = new FleetStore(numberOfAircraft);
         for (int indexOfAircraft = 0; indexOfAircraft < numberOfAircraft; indexOfAircraft++) {
             // read aircraft with line read from reader
             // if the aircraft is invalid readAircraft method would throw exception
-            aircraft.add(readAircraft(readCleanLine(readAircraft)));
+            aircraft.add(readAircraft(readCleanLine(readAircraft), store));
         }
         if (checkRedundantInformation(readAircraft)) {
             // The number of aircraft specified on the first line is less than
@@ -192,11 +196,14 @@ public class ControlTowerInitialiser {
             throws MalformedSaveException, IOException {
         BufferedReader readTerminal = new BufferedReader(reader);
         List<Terminal> terminals = new ArrayList<>();
+        // look callsigns up in a map, so large terminals are not read in quadratic time
+        Map<String, Aircraft> aircraftByCallsign = mapCallsigns(aircraft);
         int numberOfTerminals = readIntegers(readCleanLine(readTerminal));
         for (int indexOfTerminal = 0; indexOfTerminal < numberOfTerminals; indexOfTerminal++) {
             // read terminal with line read from reader
             // if the terminal is invalid readTerminal method would throw exception
-            terminals.add(readTerminal(readCleanLine(readTerminal), readTerminal, aircraft));
+            terminals.add(readTerminal(readCleanLine(readTerminal), readTerminal,
+                    aircraftByCallsign));
         }
         if (checkRedundantInformation(readTerminal)) {
             // The number of terminal specified on the first line
@@ -225,12 +232,15 @@ public class ControlTowerInitialiser {
                                                   Reader queues,
                                                   Reader terminalsWithGates)
             throws MalformedSaveException, IOException {
+        // number of ticks elapsed, which queued aircraft are taken to have arrived at
+        long ticksElapsed = loadTick(new BufferedReader(tick));
         // list of aircraft controlled by control tower
         List<Aircraft> aircraftInControlTower = loadAircraft(new BufferedReader(aircraft));
         // takeoff queue in control tower
         TakeoffQueue takeoffQueue = new TakeoffQueue();
         // landing queue in control tower
         LandingQueue landingQueue = new LandingQueue();
+        landingQueue.setCurrentTick(ticksElapsed);
         // map of loading aircraft in control tower
         Map<Aircraft, Integer> loadingAircraft = new
                 TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
@@ -238,8 +248,8 @@ public class ControlTowerInitialiser {
                 landingQueue, loadingAircraft);
 
         // initializer control tower
-        ControlTower controlTower = new ControlTower(loadTick(new BufferedReader(tick)),
-                aircraftInControlTower, landingQueue, takeoffQueue, loadingAircraft);
+        ControlTower controlTower = new ControlTower(ticksElapsed, aircraftInControlTower,
+                landingQueue, takeoffQueue, loadingAircraft);
 
         // list of terminals controlled by control tower
         List<Terminal> terminals = loadTerminalsWithGates(new
@@ -260,17 +270,50 @@ public class ControlTowerInitialiser {
      *                                invalid according to the rules above
      */
     public static Aircraft readAircraft(String line) throws MalformedSaveException {
-        Aircraft aircraft;
+        return readAircraft(line, new FleetStore(1));
+    }
+
+    /**
+     * Reads an aircraft from its encoded representation in the given string, creating it in the
+     * given fleet store.
+     *
+     * @param line encoded representation of the aircraft
+     * @param store fleet store in which to create the aircraft
+     * @return decoded aircraft instance
+     * @throws MalformedSaveException if the format of the given string is
+     *                                invalid according to the rules above
+     */
+    public static Aircraft readAircraft(String line, FleetStore store)
+            throws MalformedSaveException {
         // aircraft consist of a callsign, followed by a characteristic,
         // task list, fuel amount, emergency state and cargo amount
         String[] aircraftInformation = line.split(":", 6);
         checkLengthOfArray(aircraftInformation, 6);
+        return readAircraft(aircraftInformation, store, readDouble(aircraftInformation[3]));
+    }
+
+    /* Reads an aircraft from its encoded representation in the given string, as
+    readAircraft(String) does, but with the given amount of fuel onboard. The encoded fuel amount
+    is rounded to two decimal places, so the exact amount is kept separately where it matters,
+    such as in an input journal. The encoded fuel amount must still be valid. */
+    static Aircraft readAircraft(String line, double fuelAmount) throws MalformedSaveException {
+        String[] aircraftInformation = line.split(":", 6);
+        checkLengthOfArray(aircraftInformation, 6);
+        readDouble(aircraftInformation[3]);
+        return readAircraft(aircraftInformation, new FleetStore(1), fuelAmount);
+    }
+
+    /* Creates an aircraft in the given fleet store from the fields of its encoded
+    representation, with the given amount of fuel onboard. */
+    private static Aircraft readAircraft(String[] aircraftInformation, FleetStore store,
+                                         double fuelAmount) throws MalformedSaveException {
+        Aircraft aircraft;
         try {
             // create an aircraft with aircraft information read from reader
-            aircraft = createAircraft(aircraftInformation[0],
+            aircraft = createAircraft(store, aircraftInformation[0],
                     getCharacteristic(aircraftInformation[1]),
                     readTaskList(aircraftInformation[2]),
-                    readDouble(aircraftInformation[3]),
+                    fuelAmount,
                     readIntegers(aircraftInformation[5]));
         } catch (IllegalArgumentException exception) {
             // the characteristic of aircraft or the order of task list is invalid.
@@ -283,19 +326,20 @@ public class ControlTowerInitialiser {
         return aircraft;
     }
 
-    /* Return an FreightAircraft or PassengerAircraft with given information of aircraft */
-    private static Aircraft createAircraft(String callsign,
+    /* Return an FreightAircraft or PassengerAircraft with given information of aircraft, created
+    in the given fleet store */
+    private static Aircraft createAircraft(FleetStore store, String callsign,
                                                  AircraftCharacteristics characteristic,
                                                  TaskList tasks,
                                                  double fuelAmount,
                                                  int cargoAmount) {
         if (characteristic.passengerCapacity == 0) {
             // create a freight aircraft
-            return new FreightAircraft(callsign, characteristic,
+            return new FreightAircraft(store, callsign, characteristic,
                     tasks, fuelAmount, cargoAmount);
         } else {
             // create a passenger aircraft
-            return new PassengerAircraft(callsign, characteristic,
+            return new PassengerAircraft(store, callsign, characteristic,
                     tasks, fuelAmount, cargoAmount);
         }
     }
@@ -390,11 +434,28 @@ public class ControlTowerInitialiser {
             // The number of callsigns listed on the second line is not equal
             // to the number of aircraft specified on the first line.
             checkLengthOfArray(aircraftCallsigns, numOfAircraft);
-            for (int indexOfAircraft = 0; indexOfAircraft < numOfAircraft; indexOfAircraft++) {
-                queue.addAircraft(findAircraftInList(aircraft,
-                        aircraftCallsigns[indexOfAircraft]));
+            Map<String, Aircraft> aircraftByCallsign = mapCallsigns(aircraft);
+            List<Aircraft> aircraftInQueue = new ArrayList<>(numOfAircraft);
+            for (String callsign : aircraftCallsigns) {
+                Aircraft queued = aircraftByCallsign.get(callsign);
+                if (queued == null) {
+                    throw new MalformedSaveException();
+                }
+                aircraftInQueue.add(queued);
             }
+            // the whole queue is added at once, so it is built in linear time
+            queue.addAll(aircraftInQueue);
+        }
+    }
+
+    /* Returns a map from the callsign of each of the given aircraft to the first aircraft in
+    the list with that callsign. */
+    private static Map<String, Aircraft> mapCallsigns(List<Aircraft> allAircraft) {
+        Map<String, Aircraft> aircraftByCallsign = new HashMap<>();
+        for (Aircraft aircraft : allAircraft) {
+            aircraftByCallsign.putIfAbsent(aircraft.getCallsign(), aircraft);
         }
+        return aircraftByCallsign;
     }
 
     /* Try to find aircraft in a list with given acllsign. */
@@ -456,6 +517,10 @@ public class ControlTowerInitialiser {
     /**
      * Reads a terminal from the given string and reads
      * its gates from the given reader instance.
+     * <p>
+     * The first line may end with an optional fifth field giving the gate capacity of the
+     * terminal, as written by {@link Terminal#encode()}; otherwise the terminal has the default
+     * capacity of {@link Terminal#MAX_NUM_GATES}.
      *
      * @param line string containing the first line of the encoded terminal
      * @param reader reader from which to load the gates of the terminal (subsequent lines)
@@ -468,32 +533,44 @@ public class ControlTowerInitialiser {
     public static Terminal readTerminal(String line, BufferedReader reader,
                                         List<Aircraft> aircraft)
             throws IOException, MalformedSaveException {
+        return readTerminal(line, reader, mapCallsigns(aircraft));
+    }
+
+    /* Reads a terminal as readTerminal(String, BufferedReader, List) does, looking up the
+    callsigns of aircraft at its gates in the given map. */
+    private static Terminal readTerminal(String line, BufferedReader reader,
+                                         Map<String, Aircraft> aircraftByCallsign)
+            throws IOException, MalformedSaveException {
         Terminal terminal;
-        String[] terminalInformation = line.split(":", 4);
+        String[] terminalInformation = line.split(":", 5);
         // terminal consists of terminal type, terminal number, emergency state
-        // and number of gate controlled by terminal
-        checkLengthOfArray(terminalInformation, 4);
+        // and number of gate controlled by terminal, optionally followed by its gate capacity
+        if (terminalInformation.length != 5) {
+            checkLengthOfArray(terminalInformation, 4);
+        }
+        int gateCapacity = terminalInformation.length == 5
+                ? readIntegers(terminalInformation[4]) : Terminal.MAX_NUM_GATES;
         terminal = separateTerminalType(readIntegers(terminalInformation[1]),
-                terminalInformation[0], terminalInformation[2]);
+                terminalInformation[0], terminalInformation[2], gateCapacity);
         int numberOfGate = readIntegers(terminalInformation[3]);
-        if (numberOfGate > Terminal.MAX_NUM_GATES) {
-            // The number of gates is less than zero or is greater than Terminal.MAX_NUM_GATES
+        if (numberOfGate > terminal.getGateCapacity()) {
+            // The number of gates is less than zero or is greater than the gate capacity
             throw new MalformedSaveException();
         }
-        addGateIntoTerminal(reader, aircraft, numberOfGate, terminal);
+        addGateIntoTerminal(reader, aircraftByCallsign, numberOfGate, terminal);
         return terminal;
     }
 
     /* Reads a gate from its encoded representation
     in the given reader and add it into given terminal */
     private static void addGateIntoTerminal(BufferedReader reader,
-                                            List<Aircraft> aircraft,
+                                            Map<String, Aircraft> aircraftByCallsign,
                                             int numberOfGate,
                                             Terminal terminal)
             throws IOException, MalformedSaveException {
         try {
             for (int indexOfGate = 0; indexOfGate < numberOfGate; indexOfGate++) {
-                terminal.addGate(readGate(readCleanLine(reader), aircraft));
+                terminal.addGate(readGate(readCleanLine(reader), aircraftByCallsign));
             }
         } catch (NoSpaceException exception) {
             // do nothing
@@ -503,7 +580,8 @@ public class ControlTowerInitialiser {
     /* try to create a terminal with correct type */
     private static Terminal separateTerminalType(int terminalNumber,
                                                  String terminalType,
-                                                 String emergency)
+                                                 String emergency,
+                                                 int gateCapacity)
             throws MalformedSaveException {
         Terminal terminal;
         if (terminalNumber < 1) {
@@ -511,9 +589,9 @@ public class ControlTowerInitialiser {
             throw new MalformedSaveException();
         }
         if (terminalType.equals("AirplaneTerminal")) {
-            terminal = new AirplaneTerminal(terminalNumber);
+            terminal = new AirplaneTerminal(terminalNumber, gateCapacity);
         } else if (terminalType.equals("HelicopterTerminal")) {
-            terminal = new HelicopterTerminal(terminalNumber);
+            terminal = new HelicopterTerminal(terminalNumber, gateCapacity);
         } else {
             // The terminal type specified on the first line is neither
             // AirplaneTerminal nor HelicopterTerminal.
@@ -537,6 +615,13 @@ public class ControlTowerInitialiser {
      */
     public static Gate readGate(String line, List<Aircraft> aircraft)
             throws MalformedSaveException {
+        return readGate(line, mapCallsigns(aircraft));
+    }
+
+    /* Reads a gate as readGate(String, List) does, looking up the callsign of the aircraft at
+    the gate in the given map. */
+    private static Gate readGate(String line, Map<String, Aircraft> aircraftByCallsign)
+            throws MalformedSaveException {
         Gate gate;
         String[] gateInformation = line.split(":", 2);
         // Gate is consist of gate number and callsign of aircraft
@@ -551,7 +636,12 @@ public class ControlTowerInitialiser {
         if (!gateInformation[1].equals("empty")) {
             // callsign of the aircraft parked at the gate is not "empty"
             try {
-                gate.parkAircraft(findAircraftInList(aircraft, gateInformation[1]));
+                Aircraft parked = aircraftByCallsign.get(gateInformation[1]);
+                if (parked == null) {
+                    // no aircraft has the callsign
+                    throw new MalformedSaveException();
+                }
+                gate.parkAircraft(parked);
             } catch (NoSpaceException exception) {
                 // do nothing
             }
@@ -0,0 +1,244 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.ground.Terminal;
+import towersim.util.Encodable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Utility class that contains static methods for
+ * saving a control tower and associated entities to writers.
+ * <p>
+ * The output written by this class can be read back by {@link ControlTowerInitialiser}.
+ */
+public class ControlTowerSaver {
+
+    /**
+     * Saves the current state of the given control tower to the given writers.
+     * <p>
+     * Each writer is closed once it has been written to. See
+     * {@code towersim.display.ViewModel#saveAs} for the format written to each writer.
+     *
+     * @param tower control tower to save
+     * @param tickWriter writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter writer to which the list of aircraft will be written
+     * @param queuesWriter writer to which the takeoff/landing queues and loading map will be
+     *                     written
+     * @param terminalsWithGatesWriter writer to which the list of terminals and their gates will
+     *                                 be written
+     * @throws IOException if an IOException occurs when writing to the writers
+     */
+    public static void saveControlTower(ControlTower tower, Writer tickWriter,
+                                        Writer aircraftWriter, Writer queuesWriter,
+                                        Writer terminalsWithGatesWriter) throws IOException {
+        saveTick(tickWriter, tower.getTicksElapsed());
+        saveAircraft(aircraftWriter, tower.getAircraft());
+        saveQueues(queuesWriter, tower.getTakeoffQueue(), tower.getLandingQueue(),
+                tower.getLoadingAircraft());
+        saveTerminalsWithGates(terminalsWithGatesWriter, tower.getTerminals());
+    }
+
+    /**
+     * Saves the state of a control tower recorded in the given snapshot to the given writers.
+     * <p>
+     * The output is identical to that of
+     * {@link #saveControlTower(ControlTower, Writer, Writer, Writer, Writer)} called on the
+     * control tower at the time the snapshot was taken. Since snapshots are immutable, this
+     * method may be called from any thread while the control tower keeps ticking.
+     *
+     * @param snapshot snapshot of the control tower to save
+     * @param tickWriter writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter writer to which the list of aircraft will be written
+     * @param queuesWriter writer to which the takeoff/landing queues and loading map will be
+     *                     written
+     * @param terminalsWithGatesWriter writer to which the list of terminals and their gates will
+     *                                 be written
+     * @throws IOException if an IOException occurs when writing to the writers
+     */
+    public static void saveSnapshot(TowerSnapshot snapshot, Writer tickWriter,
+                                    Writer aircraftWriter, Writer queuesWriter,
+                                    Writer terminalsWithGatesWriter) throws IOException {
+        saveTick(tickWriter, snapshot.getTicksElapsed());
+        saveEncoded(aircraftWriter, snapshot.getAircraft());
+
+        StringJoiner queues = new StringJoiner(System.lineSeparator());
+        queues.add(encodeQueue(snapshot.getTakeoffQueueType(), snapshot.getTakeoffQueue()));
+        queues.add(encodeQueue(snapshot.getLandingQueueType(), snapshot.getLandingQueue()));
+        Map<String, Integer> loadingAircraft = snapshot.getLoadingAircraft();
+        queues.add("LoadingAircraft:" + loadingAircraft.size());
+        if (loadingAircraft.size() >= 1) {
+            StringJoiner loading = new StringJoiner(",");
+            for (Map.Entry<String, Integer> entry : loadingAircraft.entrySet()) {
+                loading.add(entry.getKey() + ":" + entry.getValue());
+            }
+            queues.add(loading.toString());
+        }
+        queuesWriter.write(queues.toString());
+        queuesWriter.close();
+
+        saveEncoded(terminalsWithGatesWriter, snapshot.getTerminals());
+    }
+
+    /* Writes the number of entities followed by the encoding of each, one per line. */
+    private static void saveEncoded(Writer writer, List<? extends Encodable> entities)
+            throws IOException {
+        StringJoiner result = new StringJoiner(System.lineSeparator());
+        result.add("" + entities.size());
+        for (Encodable entity : entities) {
+            result.add(entity.encode());
+        }
+        writer.write(result.toString());
+        writer.close();
+    }
+
+    /* get the encode of a queue with the given type and callsigns, as AircraftQueue#encode */
+    private static String encodeQueue(String queueType, List<String> callsigns) {
+        String queue = queueType + ":" + callsigns.size();
+        if (callsigns.isEmpty()) {
+            return queue;
+        }
+        return queue + System.lineSeparator() + String.join(",", callsigns);
+    }
+
+    /**
+     * Saves the given number of ticks elapsed to the given writer.
+     *
+     * @param writer writer to which the number of ticks elapsed will be written
+     * @param tick number of ticks elapsed
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void saveTick(Writer writer, long tick) throws IOException {
+        writer.write(String.valueOf(tick));
+        writer.close();
+    }
+
+    /**
+     * Saves the given list of aircraft to the given writer.
+     *
+     * @param writer writer to which the list of aircraft will be written
+     * @param aircraft list of aircraft to save
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void saveAircraft(Writer writer, List<Aircraft> aircraft) throws IOException {
+        StringJoiner result = new StringJoiner(System.lineSeparator());
+        result.add("" + aircraft.size());
+        for (Aircraft aircraft1 : aircraft) {
+            result.add(aircraft1.encode());
+        }
+        writer.write(result.toString());
+        writer.close();
+    }
+
+    /**
+     * Saves the takeoff queue, landing queue and loading aircraft map to the given writer.
+     *
+     * @param writer writer to which the queues and loading map will be written
+     * @param takeoffQueue takeoff queue to save
+     * @param landingQueue landing queue to save
+     * @param loadingAircraft mapping of loading aircraft to their remaining load times
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void saveQueues(Writer writer, AircraftQueue takeoffQueue,
+                                  AircraftQueue landingQueue,
+                                  Map<Aircraft, Integer> loadingAircraft) throws IOException {
+        StringJoiner result = new StringJoiner(System.lineSeparator());
+        result.add(takeoffQueue.encode());
+        result.add(landingQueue.encode());
+        int entryNumber = loadingAircraft.size();
+        result.add("LoadingAircraft:" + entryNumber);
+        if (entryNumber >= 1) {
+            result.add(encodeLoadingAircraft(loadingAircraft));
+        }
+        writer.write(result.toString());
+        writer.close();
+    }
+
+    /**
+     * Saves the latency histograms of the given control tower to the given writer.
+     * <p>
+     * The first line is the number of histograms, followed by one line for each histogram, in
+     * the format
+     * <pre>metric:scope:count:p50:p90:p99:max</pre>
+     * where {@code metric} is the name of the {@link LatencyMetric}, {@code p50}, {@code p90} and
+     * {@code p99} are the durations at those percentiles and {@code max} is the largest duration,
+     * in ticks. For each metric, there is a histogram with a {@code scope} of {@code ALL}, then
+     * one for each {@link AircraftCharacteristics}, named by its constant. For
+     * {@code GATE_OCCUPANCY}, there is then one for each terminal, in the order returned by
+     * {@link ControlTower#getTerminals()}, with a scope of the terminal's class name and number,
+     * for example {@code AirplaneTerminal 1}.
+     * <p>
+     * Unlike the other save files, this output is a report, and is not read back by
+     * {@link ControlTowerInitialiser}. The writer is closed once it has been written to.
+     *
+     * @param tower control tower whose histograms will be saved
+     * @param writer writer to which the histograms will be written
+     * @throws IOException if an IOException occurs when writing to the writer
+     * @see ControlTower#getLatencyHistogram(LatencyMetric)
+     */
+    public static void saveLatencies(ControlTower tower, Writer writer) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (LatencyMetric metric : LatencyMetric.values()) {
+            lines.add(encodeLatencies(metric, "ALL", tower.getLatencyHistogram(metric)));
+            for (AircraftCharacteristics characteristics : AircraftCharacteristics.values()) {
+                lines.add(encodeLatencies(metric, characteristics.name(),
+                        tower.getLatencyHistogram(metric, characteristics)));
+            }
+            if (metric == LatencyMetric.GATE_OCCUPANCY) {
+                for (Terminal terminal : tower.getTerminals()) {
+                    lines.add(encodeLatencies(metric, terminal.getClass().getSimpleName() + " "
+                            + terminal.getTerminalNumber(),
+                            tower.getGateOccupancyHistogram(terminal)));
+                }
+            }
+        }
+        StringJoiner result = new StringJoiner(System.lineSeparator());
+        result.add("" + lines.size());
+        for (String line : lines) {
+            result.add(line);
+        }
+        writer.write(result.toString());
+        writer.close();
+    }
+
+    /* get one line of the latency report for the given histogram */
+    private static String encodeLatencies(LatencyMetric metric, String scope,
+                                          LatencyHistogram histogram) {
+        return String.join(":", metric.name(), scope, "" + histogram.getCount(),
+                "" + histogram.getValueAtPercentile(50), "" + histogram.getValueAtPercentile(90),
+                "" + histogram.getValueAtPercentile(99), "" + histogram.getMax());
+    }
+
+    /* get the encode of given map (Map<Aircraft, Integer>) */
+    private static String encodeLoadingAircraft(Map<Aircraft, Integer> loadingAircraft) {
+        StringJoiner result = new StringJoiner(",");
+        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+            result.add(entry.getKey().getCallsign() + ":" + entry.getValue());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Saves the given list of terminals and their gates to the given writer.
+     *
+     * @param writer writer to which the terminals and their gates will be written
+     * @param terminals list of terminals to save
+     * @throws IOException if an IOException occurs when writing to the writer
+     */
+    public static void saveTerminalsWithGates(Writer writer, List<Terminal> terminals)
+            throws IOException {
+        StringJoiner result = new StringJoiner(System.lineSeparator());
+        result.add("" + terminals.size());
+        for (Terminal terminal : terminals) {
+            result.add(terminal.encode());
+        }
+        writer.write(result.toString());
+        writer.close();
+    }
+}
@@ -0,0 +1,34 @@
+package towersim.control;
+
+import java.util.BitSet;
+
+/**
+ * Gate assignment policy that always chooses the first available terminal, in the order
+ * terminals were added.
+ * <p>
+ * This is the default policy of a control tower. A terminal is chosen in time proportional to
+ * the number of terminals divided by 64 in the worst case, by scanning a bit set of available
+ * terminals.
+ */
+public class FirstFitGatePolicy implements GateAssignmentPolicy {
+    /** positions of available terminals */
+    private final BitSet available;
+
+    /**
+     * Creates a new first-fit policy with no available terminals.
+     */
+    public FirstFitGatePolicy() {
+        this.available = new BitSet();
+    }
+
+    @Override
+    public void terminalUpdated(int terminal, int numGates, int numFreeGates,
+                                boolean available) {
+        this.available.set(terminal, available);
+    }
+
+    @Override
+    public int selectTerminal() {
+        return available.nextSetBit(0);
+    }
+}
@@ -0,0 +1,41 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.PassengerAircraft;
+
+/**
+ * Landing priority policy that lands aircraft in a state of emergency first, then all other
+ * aircraft in order of the fuel they have remaining, least first.
+ * <p>
+ * Rather than treating every aircraft with 20% of its fuel or more alike, the percentage of
+ * fuel remaining is used as a score. Passenger aircraft are given an allowance of
+ * {@link #PASSENGER_FUEL_ALLOWANCE} percentage points, so a passenger aircraft lands before a
+ * freight aircraft with slightly less fuel, but not before one that is much closer to empty.
+ */
+public class FuelUrgencyLandingPolicy implements LandingPriorityPolicy {
+
+    /**
+     * Number of percentage points subtracted from the fuel remaining of passenger aircraft when
+     * scoring them.
+     */
+    public static final int PASSENGER_FUEL_ALLOWANCE = 15;
+
+    /**
+     * Creates a new fuel urgency landing policy.
+     */
+    public FuelUrgencyLandingPolicy() {
+        super();
+    }
+
+    @Override
+    public long priority(Aircraft aircraft, long arrivalTick) {
+        if (aircraft.hasEmergency()) {
+            return Long.MIN_VALUE;
+        }
+        int score = aircraft.getFuelPercentRemaining();
+        if (aircraft instanceof PassengerAircraft) {
+            score -= PASSENGER_FUEL_ALLOWANCE;
+        }
+        return score;
+    }
+}
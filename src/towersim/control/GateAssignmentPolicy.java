@@ -0,0 +1,53 @@
+package towersim.control;
+
+/**
+ * Strategy for choosing which terminal an aircraft should be parked in when it needs a gate.
+ * <p>
+ * A control tower keeps one policy instance for each type of aircraft. Terminals are identified
+ * by their position in the order they were added to the control tower, starting from zero. The
+ * policy is told about every change to a compatible terminal through
+ * {@link #terminalUpdated(int, int, int, boolean)}, so it can keep whatever ordered structure it
+ * needs up to date incrementally, and answer {@link #selectTerminal()} without scanning or
+ * recalculating the occupancy of every terminal.
+ * <p>
+ * Once a terminal is chosen, the aircraft is parked at the first unoccupied gate of that
+ * terminal, as given by {@link towersim.ground.Terminal#findUnoccupiedGate()}.
+ *
+ * @see ControlTower#setGateAssignmentPolicy(java.util.function.Supplier)
+ */
+public interface GateAssignmentPolicy {
+
+    /**
+     * Called when a compatible terminal is first indexed, and whenever the number of its gates,
+     * the number of its unoccupied gates or its emergency state changes.
+     * <p>
+     * A terminal is available if it is not in a state of emergency and has at least one
+     * unoccupied gate. Only available terminals may be returned by {@link #selectTerminal()}.
+     *
+     * @param terminal position of the terminal
+     * @param numGates number of gates of the terminal
+     * @param numFreeGates number of unoccupied gates of the terminal
+     * @param available whether an aircraft may be parked in the terminal
+     */
+    void terminalUpdated(int terminal, int numGates, int numFreeGates, boolean available);
+
+    /**
+     * Called after an aircraft has been parked at a gate of the given terminal, once
+     * {@link #terminalUpdated(int, int, int, boolean)} has been called for the new number of
+     * unoccupied gates.
+     *
+     * @param terminal position of the terminal
+     */
+    default void gateTaken(int terminal) {
+    }
+
+    /**
+     * Returns the position of the terminal in which the next aircraft should be parked.
+     * <p>
+     * Selecting a terminal does not change the state of the policy; the same terminal is
+     * returned until the terminal is updated or a gate is taken.
+     *
+     * @return position of an available terminal; or -1 if no terminal is available
+     */
+    int selectTerminal();
+}
@@ -0,0 +1,268 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.ground.TerminalListener;
+import towersim.util.NoSuitableGateException;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Index over the gates of all terminals managed by a control tower.
+ * <p>
+ * The index keeps, for each aircraft type, a {@link GateAssignmentPolicy} that tracks the
+ * compatible terminals that are not in a state of emergency and have at least one unoccupied
+ * gate, as well as a mapping from parked aircraft to their gates. Which gates of a terminal are
+ * unoccupied is kept by the terminal itself, and read from it when needed. The index is kept up
+ * to date by listening to the terminals it indexes, so parking an aircraft, an aircraft leaving a
+ * gate, and declaring or clearing a terminal emergency each update the index without scanning
+ * other terminals.
+ * <p>
+ * The terminal to use is chosen by the policy; by default, a {@link FirstFitGatePolicy}, which
+ * gives the same gates as scanning the terminals and their gates in the order they were added.
+ * Within a terminal, the first unoccupied gate is always used.
+ */
+class GateIndex implements TerminalListener {
+
+    /** Indexed terminals, in the order they were added. */
+    private final List<TerminalEntry> terminals;
+
+    /** Mapping of each indexed terminal to its entry. */
+    private final Map<Terminal, TerminalEntry> entries;
+
+    /** For each aircraft type, the policy choosing a terminal for aircraft of that type. */
+    private final Map<AircraftType, GateAssignmentPolicy> policies;
+
+    /** Mapping of aircraft currently parked at an indexed gate to the gate they occupy. */
+    private final Map<Aircraft, Gate> aircraftGates;
+
+    /** Number of indexed gates in terminals for each aircraft type, by ordinal. */
+    private final int[] numGatesByType;
+
+    /** Number of occupied indexed gates in terminals for each aircraft type, by ordinal. */
+    private final int[] numOccupiedGatesByType;
+
+    /** Number of indexed gates in all terminals. */
+    private int numGates;
+
+    /** Number of occupied indexed gates in all terminals. */
+    private int numOccupiedGates;
+
+    /** Book-keeping for a single indexed terminal. */
+    private static class TerminalEntry {
+        /** Terminal this entry describes. */
+        private final Terminal terminal;
+        /** Position of the terminal in the order terminals were added. */
+        private final int position;
+        /** Type of aircraft the terminal accommodates; or null if none. */
+        private final AircraftType type;
+
+        private TerminalEntry(Terminal terminal, int position) {
+            this.terminal = terminal;
+            this.position = position;
+            this.type = typeOf(terminal);
+        }
+    }
+
+    /** Creates a new, empty gate index that assigns gates on a first-fit basis. */
+    GateIndex() {
+        this.terminals = new ArrayList<>();
+        this.entries = new IdentityHashMap<>();
+        this.policies = new EnumMap<>(AircraftType.class);
+        this.aircraftGates = new HashMap<>();
+        this.numGatesByType = new int[AircraftType.values().length];
+        this.numOccupiedGatesByType = new int[AircraftType.values().length];
+        this.numGates = 0;
+        this.numOccupiedGates = 0;
+        setPolicy(FirstFitGatePolicy::new);
+    }
+
+    /**
+     * Replaces the gate assignment policy of every aircraft type with a new policy from the
+     * given supplier, and tells the new policies about every indexed terminal.
+     *
+     * @param policy supplier of a new policy for each aircraft type
+     */
+    void setPolicy(Supplier<? extends GateAssignmentPolicy> policy) {
+        for (AircraftType type : AircraftType.values()) {
+            this.policies.put(type, policy.get());
+        }
+        for (TerminalEntry entry : terminals) {
+            updateAvailability(entry);
+        }
+    }
+
+    /* Returns the type of aircraft accommodated by the given terminal, or null if unknown. */
+    private static AircraftType typeOf(Terminal terminal) {
+        if (terminal instanceof AirplaneTerminal) {
+            return AircraftType.AIRPLANE;
+        } else if (terminal instanceof HelicopterTerminal) {
+            return AircraftType.HELICOPTER;
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given terminal and all of its gates to the index, and starts listening to the
+     * terminal for changes.
+     * <p>
+     * If the terminal is already indexed, no action is taken.
+     *
+     * @param terminal terminal to index
+     */
+    void addTerminal(Terminal terminal) {
+        if (entries.containsKey(terminal)) {
+            return;
+        }
+        TerminalEntry entry = new TerminalEntry(terminal, terminals.size());
+        terminals.add(entry);
+        entries.put(terminal, entry);
+        for (Gate gate : terminal.getGates()) {
+            addGate(entry, gate);
+        }
+        updateAvailability(entry);
+        terminal.addListener(this);
+    }
+
+    /* Counts the given gate of the given terminal entry, and its aircraft if it is occupied. */
+    private void addGate(TerminalEntry entry, Gate gate) {
+        countGates(entry, 1, 0);
+        if (gate.isOccupied()) {
+            aircraftGates.put(gate.getAircraftAtGate(), gate);
+            countGates(entry, 0, 1);
+        }
+    }
+
+    /* Adds the given numbers of gates and occupied gates to the totals for the given terminal's
+    type of aircraft and the totals for all terminals. */
+    private void countGates(TerminalEntry entry, int gates, int occupiedGates) {
+        numGates += gates;
+        numOccupiedGates += occupiedGates;
+        if (entry.type != null) {
+            numGatesByType[entry.type.ordinal()] += gates;
+            numOccupiedGatesByType[entry.type.ordinal()] += occupiedGates;
+        }
+    }
+
+    /**
+     * Returns the number of indexed gates in terminals compatible with the given aircraft type.
+     *
+     * @param type type of aircraft
+     * @return number of gates
+     */
+    int getNumGates(AircraftType type) {
+        return numGatesByType[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of occupied indexed gates in terminals compatible with the given aircraft
+     * type.
+     *
+     * @param type type of aircraft
+     * @return number of occupied gates
+     */
+    int getNumOccupiedGates(AircraftType type) {
+        return numOccupiedGatesByType[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of indexed gates in all terminals.
+     *
+     * @return number of gates
+     */
+    int getNumGates() {
+        return numGates;
+    }
+
+    /**
+     * Returns the number of occupied indexed gates in all terminals.
+     *
+     * @return number of occupied gates
+     */
+    int getNumOccupiedGates() {
+        return numOccupiedGates;
+    }
+
+    /* Marks the given terminal as available or unavailable to its type of aircraft. */
+    private void updateAvailability(TerminalEntry entry) {
+        if (entry.type == null) {
+            return;
+        }
+        int numGates = entry.terminal.getNumGates();
+        int numFreeGates = numGates - entry.terminal.getNumOccupiedGates();
+        policies.get(entry.type).terminalUpdated(entry.position, numGates, numFreeGates,
+                numFreeGates > 0 && !entry.terminal.hasEmergency());
+    }
+
+    /**
+     * Returns the first unoccupied gate in the compatible terminal chosen by the policy for the
+     * given aircraft type, or null if every compatible terminal is full or in a state of
+     * emergency.
+     *
+     * @param type type of aircraft to find a gate for
+     * @return unoccupied gate suitable for the aircraft type; or null if none exists
+     */
+    Gate findUnoccupiedGate(AircraftType type) {
+        int position = policies.get(type).selectTerminal();
+        if (position < 0) {
+            return null;
+        }
+        try {
+            return terminals.get(position).terminal.findUnoccupiedGate();
+        } catch (NoSuitableGateException impossible) {
+            // the policy only selects terminals with at least one unoccupied gate
+            throw new IllegalStateException(impossible);
+        }
+    }
+
+    /**
+     * Returns the indexed gate at which the given aircraft is parked, or null if the aircraft is
+     * not parked at any indexed gate.
+     *
+     * @param aircraft aircraft whose gate to find
+     * @return gate occupied by the aircraft; or null if none exists
+     */
+    Gate findGateOfAircraft(Aircraft aircraft) {
+        return aircraftGates.get(aircraft);
+    }
+
+    @Override
+    public void gateAdded(Terminal terminal, Gate gate) {
+        TerminalEntry entry = entries.get(terminal);
+        addGate(entry, gate);
+        updateAvailability(entry);
+    }
+
+    @Override
+    public void aircraftParked(Terminal terminal, Gate gate, Aircraft aircraft) {
+        // the terminal has already counted the gate as occupied
+        TerminalEntry entry = entries.get(terminal);
+        countGates(entry, 0, 1);
+        updateAvailability(entry);
+        if (entry.type != null) {
+            policies.get(entry.type).gateTaken(entry.position);
+        }
+        aircraftGates.put(aircraft, gate);
+    }
+
+    @Override
+    public void aircraftLeft(Terminal terminal, Gate gate, Aircraft aircraft) {
+        // the terminal has already counted the gate as unoccupied
+        TerminalEntry entry = entries.get(terminal);
+        countGates(entry, 0, -1);
+        updateAvailability(entry);
+        if (aircraftGates.get(aircraft) == gate) {
+            aircraftGates.remove(aircraft);
+        }
+    }
+
+    @Override
+    public void emergencyChanged(Terminal terminal) {
+        updateAvailability(entries.get(terminal));
+    }
+}
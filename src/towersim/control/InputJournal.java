@@ -0,0 +1,439 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary journal of the external inputs to a control tower, keyed by tick.
+ * <p>
+ * Once attached to a control tower with {@link ControlTower#setJournal(InputJournal)}, the
+ * journal records every aircraft added or removed, every aircraft submitted directly to the
+ * landing or takeoff queue, every terminal and gate added, and every state of emergency declared
+ * or cleared on an aircraft or terminal, along with the number of ticks elapsed when the input
+ * was received. Pausing and unpausing the simulation can be
+ * recorded with {@link #recordPaused(long, boolean)}.
+ * <p>
+ * Since the simulation is otherwise deterministic, {@link #replay(ControlTower, InputStream,
+ * long)} can rebuild the exact state of the control tower at any tick from the save files it was
+ * started from plus the journal. Replay runs the simulation with
+ * {@link ControlTower#advanceTo(long)}, so it is as fast as the headless simulation.
+ * <p>
+ * Records are buffered and written to the underlying stream whenever the journal is flushed; a
+ * control tower flushes its journal at the end of each tick. Write errors do not interrupt the
+ * simulation: the first error stops recording and is reported by {@link #checkError()}.
+ */
+public class InputJournal implements Closeable {
+    /** Magic number written at the start of every journal. */
+    private static final int MAGIC = 0x54534a31;
+
+    /** Record of an aircraft being added; followed by the encoded aircraft and exact fuel. */
+    private static final byte AIRCRAFT_ADDED = 1;
+    /** Record of an aircraft being removed; followed by its callsign. */
+    private static final byte AIRCRAFT_REMOVED = 2;
+    /** Record of a terminal being added; followed by the encoded terminal and its gates. */
+    private static final byte TERMINAL_ADDED = 3;
+    /** Record of a gate being added; followed by the terminal type, number and gate number. */
+    private static final byte GATE_ADDED = 4;
+    /** Record of an aircraft emergency change; followed by its callsign and the new state. */
+    private static final byte AIRCRAFT_EMERGENCY = 5;
+    /** Record of a terminal emergency change; followed by its type, number and the new state. */
+    private static final byte TERMINAL_EMERGENCY = 6;
+    /** Record of the simulation being paused or unpaused; followed by the new state. */
+    private static final byte PAUSED = 7;
+    /** Record of an aircraft submitted to a queue; followed by its callsign and the queue. */
+    private static final byte AIRCRAFT_QUEUED = 8;
+
+    /** Stream that records are written to. */
+    private final DataOutputStream out;
+
+    /** Whether records have been written since the journal was last flushed. */
+    private boolean unflushed;
+
+    /** First error encountered when writing to the stream; or null if none has occurred. */
+    private IOException error;
+
+    /** Writes the fields that follow the tick and type of a record. */
+    private interface Payload {
+        void write(DataOutputStream data) throws IOException;
+    }
+
+    /**
+     * Creates a new journal that writes to the given stream, recording inputs to a control tower
+     * from the given tick onwards.
+     * <p>
+     * The start tick should be the number of ticks elapsed in the save files the control tower
+     * was loaded from; it is checked when the journal is replayed.
+     *
+     * @param out stream to write the journal to
+     * @param startTick number of ticks elapsed when recording starts
+     * @throws IOException if an IOException occurs when writing the journal header
+     */
+    public InputJournal(OutputStream out, long startTick) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeLong(startTick);
+        this.unflushed = true;
+        this.error = null;
+    }
+
+    /**
+     * Records that the given aircraft was added to the control tower.
+     *
+     * @param tick number of ticks elapsed
+     * @param aircraft aircraft that was added
+     */
+    void recordAircraftAdded(long tick, Aircraft aircraft) {
+        record(tick, AIRCRAFT_ADDED, data -> {
+            writeEncoded(data, aircraft.encode());
+            data.writeDouble(aircraft.getFuelAmount());
+        });
+    }
+
+    /**
+     * Records that the given aircraft was removed from the control tower.
+     *
+     * @param tick number of ticks elapsed
+     * @param aircraft aircraft that was removed
+     */
+    void recordAircraftRemoved(long tick, Aircraft aircraft) {
+        record(tick, AIRCRAFT_REMOVED, data -> data.writeUTF(aircraft.getCallsign()));
+    }
+
+    /**
+     * Records that the given aircraft, submitted from another thread, was added to the landing
+     * or takeoff queue.
+     *
+     * @param tick number of ticks elapsed
+     * @param aircraft aircraft that was queued
+     * @param landing true if the aircraft was added to the landing queue; false if it was added
+     *                to the takeoff queue
+     */
+    void recordAircraftQueued(long tick, Aircraft aircraft, boolean landing) {
+        record(tick, AIRCRAFT_QUEUED, data -> {
+            data.writeUTF(aircraft.getCallsign());
+            data.writeBoolean(landing);
+        });
+    }
+
+    /**
+     * Records that the given terminal, with its gates, was added to the control tower.
+     *
+     * @param tick number of ticks elapsed
+     * @param terminal terminal that was added
+     */
+    void recordTerminalAdded(long tick, Terminal terminal) {
+        record(tick, TERMINAL_ADDED, data -> writeEncoded(data, terminal.encode()));
+    }
+
+    /**
+     * Records that the given gate was added to the given terminal.
+     *
+     * @param tick number of ticks elapsed
+     * @param terminal terminal that the gate was added to
+     * @param gate gate that was added
+     */
+    void recordGateAdded(long tick, Terminal terminal, Gate gate) {
+        record(tick, GATE_ADDED, data -> {
+            writeTerminal(data, terminal);
+            data.writeInt(gate.getGateNumber());
+        });
+    }
+
+    /**
+     * Records that a state of emergency was declared or cleared on the given aircraft.
+     *
+     * @param tick number of ticks elapsed
+     * @param aircraft aircraft whose emergency state changed
+     */
+    void recordEmergency(long tick, Aircraft aircraft) {
+        record(tick, AIRCRAFT_EMERGENCY, data -> {
+            data.writeUTF(aircraft.getCallsign());
+            data.writeBoolean(aircraft.hasEmergency());
+        });
+    }
+
+    /**
+     * Records that a state of emergency was declared or cleared on the given terminal.
+     *
+     * @param tick number of ticks elapsed
+     * @param terminal terminal whose emergency state changed
+     */
+    void recordEmergency(long tick, Terminal terminal) {
+        record(tick, TERMINAL_EMERGENCY, data -> {
+            writeTerminal(data, terminal);
+            data.writeBoolean(terminal.hasEmergency());
+        });
+    }
+
+    /**
+     * Records that the simulation was paused or unpaused.
+     * <p>
+     * Pausing does not affect the state of the control tower, so these records are skipped when
+     * the journal is replayed; they mark where the simulation stood still.
+     *
+     * @param tick number of ticks elapsed
+     * @param paused true if the simulation was paused; false if it was unpaused
+     */
+    public void recordPaused(long tick, boolean paused) {
+        record(tick, PAUSED, data -> data.writeBoolean(paused));
+    }
+
+    /* Writes the given encoded representation as a length followed by its UTF-8 bytes. Unlike
+    writeUTF(), this has no 64 KB limit, which a terminal with many gates can exceed. */
+    private static void writeEncoded(DataOutputStream data, String encoded) throws IOException {
+        byte[] bytes = encoded.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /* Writes the type and number that identify the given terminal, since terminals of different
+    types may share a number. The type is written as in the encoded terminal. */
+    private static void writeTerminal(DataOutputStream data, Terminal terminal)
+            throws IOException {
+        data.writeUTF(terminal.getClass().getSimpleName());
+        data.writeInt(terminal.getTerminalNumber());
+    }
+
+    /* Writes a record with the given tick and type, followed by the given payload. */
+    private void record(long tick, byte type, Payload payload) {
+        if (error != null) {
+            return;
+        }
+        try {
+            out.writeLong(tick);
+            out.writeByte(type);
+            payload.write(out);
+            unflushed = true;
+        } catch (IOException exception) {
+            error = exception;
+        }
+    }
+
+    /**
+     * Writes any buffered records to the underlying stream.
+     * <p>
+     * If no records have been written since the journal was last flushed, no action is taken.
+     */
+    public void flush() {
+        if (!unflushed || error != null) {
+            return;
+        }
+        try {
+            out.flush();
+            unflushed = false;
+        } catch (IOException exception) {
+            error = exception;
+        }
+    }
+
+    /**
+     * Returns the first error encountered when writing to the journal, after which no further
+     * records were written.
+     *
+     * @return first write error; or null if no error has occurred
+     */
+    public IOException checkError() {
+        return error;
+    }
+
+    /**
+     * Flushes and closes the journal and its underlying stream.
+     *
+     * @throws IOException if an IOException occurs when closing the stream
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    /**
+     * Replays the inputs recorded in the given journal on the given control tower, advancing the
+     * simulation until the given number of ticks have elapsed.
+     * <p>
+     * The control tower should be freshly loaded from the save files that were loaded when the
+     * journal was started. Each input is applied once the simulation reaches the tick at which
+     * it was recorded, before that tick is run. Replay stops as soon as {@code toTick} ticks
+     * have elapsed, so the control tower is left in the state it was in when it reached that
+     * tick; inputs recorded from {@code toTick} onwards are not applied. A journal that ends
+     * part-way through a record, such as one whose recording was cut short by a crash, is
+     * replayed up to the last complete record.
+     *
+     * @param tower control tower to replay inputs on
+     * @param journal stream to read the journal from
+     * @param toTick number of ticks elapsed to replay up to
+     * @return number of inputs replayed, including pause records
+     * @throws MalformedSaveException if the journal is invalid, was started at a different tick
+     * to the control tower, or contains an input that cannot be applied to the control tower
+     * @throws IOException if an IOException occurs when reading from the journal
+     * @throws IllegalArgumentException if toTick is less than the number of ticks elapsed
+     */
+    public static long replay(ControlTower tower, InputStream journal, long toTick)
+            throws MalformedSaveException, IOException {
+        if (toTick < tower.getTicksElapsed()) {
+            throw new IllegalArgumentException("Cannot replay to a tick that has already elapsed");
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(journal));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new MalformedSaveException("Not an input journal");
+            }
+            if (in.readLong() != tower.getTicksElapsed()) {
+                throw new MalformedSaveException("Journal was started at a different tick");
+            }
+        } catch (EOFException exception) {
+            throw new MalformedSaveException(exception);
+        }
+
+        // as when the tower was loaded, a callsign refers to the first aircraft that has it
+        Map<String, Aircraft> aircraftByCallsign = new HashMap<>();
+        for (Aircraft aircraft : tower.getAircraft()) {
+            aircraftByCallsign.putIfAbsent(aircraft.getCallsign(), aircraft);
+        }
+        long replayed = 0;
+        try {
+            while (true) {
+                long tick = in.readLong();
+                if (tick >= toTick) {
+                    break;
+                }
+                if (tick < tower.getTicksElapsed()) {
+                    throw new MalformedSaveException("Journal records are out of order");
+                }
+                tower.advanceTo(tick);
+                replayRecord(tower, in, aircraftByCallsign);
+                replayed++;
+            }
+        } catch (EOFException endOfJournal) {
+            // the rest of the journal was never written
+        }
+        tower.advanceTo(toTick);
+        return replayed;
+    }
+
+    /* Reads the rest of a single record from the journal and applies it to the tower. */
+    private static void replayRecord(ControlTower tower, DataInputStream in,
+                                     Map<String, Aircraft> aircraftByCallsign)
+            throws MalformedSaveException, IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case AIRCRAFT_ADDED:
+                Aircraft added = ControlTowerInitialiser.readAircraft(readEncoded(in),
+                        in.readDouble());
+                try {
+                    tower.addAircraft(added);
+                } catch (NoSuitableGateException exception) {
+                    throw new MalformedSaveException(exception);
+                }
+                aircraftByCallsign.putIfAbsent(added.getCallsign(), added);
+                break;
+            case AIRCRAFT_REMOVED:
+                String removedCallsign = in.readUTF();
+                Aircraft removed = aircraftByCallsign.remove(removedCallsign);
+                if (removed == null || !tower.removeAircraft(removed)) {
+                    throw new MalformedSaveException("Cannot remove aircraft");
+                }
+                // the callsign now refers to the next aircraft with it, if any
+                for (Aircraft aircraft : tower.getAircraft()) {
+                    if (aircraft.getCallsign().equals(removedCallsign)) {
+                        aircraftByCallsign.put(removedCallsign, aircraft);
+                        break;
+                    }
+                }
+                break;
+            case AIRCRAFT_QUEUED:
+                Aircraft queued = aircraftByCallsign.get(in.readUTF());
+                if (queued == null) {
+                    throw new MalformedSaveException("No such aircraft");
+                }
+                tower.queueAircraft(queued, in.readBoolean());
+                break;
+            case TERMINAL_ADDED:
+                BufferedReader reader = new BufferedReader(new StringReader(readEncoded(in)));
+                tower.addTerminal(ControlTowerInitialiser.readTerminal(reader.readLine(), reader,
+                        tower.getAircraft()));
+                break;
+            case GATE_ADDED:
+                Terminal terminal = findTerminal(tower, in);
+                try {
+                    terminal.addGate(new Gate(in.readInt()));
+                } catch (NoSpaceException exception) {
+                    throw new MalformedSaveException(exception);
+                }
+                break;
+            case AIRCRAFT_EMERGENCY:
+                Aircraft aircraft = aircraftByCallsign.get(in.readUTF());
+                if (aircraft == null) {
+                    throw new MalformedSaveException("No such aircraft");
+                }
+                if (in.readBoolean()) {
+                    aircraft.declareEmergency();
+                } else {
+                    aircraft.clearEmergency();
+                }
+                break;
+            case TERMINAL_EMERGENCY:
+                Terminal emergencyTerminal = findTerminal(tower, in);
+                if (in.readBoolean()) {
+                    emergencyTerminal.declareEmergency();
+                } else {
+                    emergencyTerminal.clearEmergency();
+                }
+                break;
+            case PAUSED:
+                in.readBoolean();
+                break;
+            default:
+                throw new MalformedSaveException("Unknown journal record type: " + type);
+        }
+    }
+
+    /* Reads an encoded representation written by writeEncoded(). */
+    private static String readEncoded(DataInputStream in) throws MalformedSaveException,
+            IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new MalformedSaveException("Invalid journal record length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /* Reads the type and number of a terminal, as written by writeTerminal(), and returns the
+    terminal of the tower with that type and number. */
+    private static Terminal findTerminal(ControlTower tower, DataInputStream in)
+            throws MalformedSaveException, IOException {
+        String terminalType = in.readUTF();
+        int terminalNumber = in.readInt();
+        List<Terminal> terminals = tower.getTerminals();
+        for (Terminal terminal : terminals) {
+            if (terminal.getTerminalNumber() == terminalNumber
+                    && terminal.getClass().getSimpleName().equals(terminalType)) {
+                return terminal;
+            }
+        }
+        throw new MalformedSaveException("No such terminal: " + terminalType + " "
+                + terminalNumber);
+    }
+}
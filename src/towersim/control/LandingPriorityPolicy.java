@@ -0,0 +1,35 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Strategy for choosing the order in which aircraft waiting in a {@link LandingQueue} land.
+ * <p>
+ * A policy gives each aircraft in the queue a priority, and the aircraft with the lowest priority
+ * lands first. Aircraft with equal priorities land in the order they were added to the queue.
+ * The queue keeps its aircraft sorted by priority in a balanced tree, so peeking and removing
+ * take time logarithmic in the length of the queue, whatever the policy.
+ * <p>
+ * A priority must depend only on the state of the aircraft and on the tick at which it was added
+ * to the queue (see {@link LandingQueue#setCurrentTick(long)}), and must be quick to calculate.
+ * It is calculated when the aircraft is added to the queue, and again whenever the emergency
+ * state or the fuel onboard of the aircraft changes. Since the arrival tick of an aircraft never
+ * changes, and later arrivals have later ticks, a policy can age aircraft by ticks waited by
+ * offsetting their arrival tick, without recalculating priorities as time passes (see
+ * {@link AgingLandingPolicy}).
+ *
+ * @see LandingQueue#setPriorityPolicy(LandingPriorityPolicy)
+ */
+@FunctionalInterface
+public interface LandingPriorityPolicy {
+
+    /**
+     * Returns the priority of the given aircraft in the landing queue. Aircraft with lower
+     * priorities land first.
+     *
+     * @param aircraft aircraft waiting to land
+     * @param arrivalTick number of ticks elapsed when the aircraft was added to the queue
+     * @return priority of the aircraft
+     */
+    long priority(Aircraft aircraft, long arrivalTick);
+}
@@ -1,22 +1,142 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
-import towersim.aircraft.PassengerAircraft;
+import towersim.aircraft.AircraftListener;
 
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 /**
  * Represents a rule-based queue of aircraft waiting in the air to land.
+ * <p>
+ * The order in which aircraft land is decided by a {@link LandingPriorityPolicy}. By default,
+ * this is a {@link RuleBasedLandingPolicy}: aircraft in a state of emergency land first, then
+ * aircraft with less than 20% of their fuel remaining, then passenger aircraft, then all other
+ * aircraft. Aircraft with the same priority land in the order they were added to the queue.
+ * <p>
+ * Aircraft are kept in a balanced tree ordered by priority, then by the order they were added,
+ * so peeking and removing take time logarithmic in the length of the queue. The queue listens to
+ * each aircraft it contains, and recalculates the priority of the aircraft when its emergency
+ * state or fuel onboard changes.
  */
 public class LandingQueue extends AircraftQueue {
 
-    /** a list of aircraft in queue */
-    private List<Aircraft> aircraft;
+    /** order of occurrences in the queue: lowest priority first, then in the order added */
+    private static final Comparator<Occurrence> ORDER = (first, second) -> {
+        int result = Long.compare(first.priority, second.priority);
+        return result != 0 ? result : Long.compare(first.arrival, second.arrival);
+    };
+
+    /** occurrences of aircraft in the queue, in queue order */
+    private TreeSet<Occurrence> queue;
+
+    /** occurrences of each queued aircraft object, earliest first */
+    private final Map<Aircraft, ArrayDeque<Occurrence>> queued;
+
+    /** number of times each aircraft appears in the queue, for constant-time membership checks */
+    private final Map<Aircraft, Integer> occurrences;
+
+    /** recalculates the priority of aircraft when their emergency state or fuel changes */
+    private final AircraftListener priorityListener;
+
+    /** policy giving the priority of each aircraft */
+    private LandingPriorityPolicy policy;
+
+    /** arrival number given to the next aircraft added to the queue */
+    private long nextArrival;
+
+    /** number of ticks elapsed, recorded as the arrival tick of aircraft added to the queue */
+    private long currentTick;
 
     /** Constructs a new LandingQueue with an initially empty queue of aircraft */
     public LandingQueue() {
-        this.aircraft = new ArrayList<>();
+        this(new RuleBasedLandingPolicy());
+    }
+
+    /**
+     * Constructs a new LandingQueue with an initially empty queue of aircraft, which orders
+     * aircraft using the given policy.
+     *
+     * @param policy landing priority policy
+     */
+    public LandingQueue(LandingPriorityPolicy policy) {
+        this.queue = new TreeSet<>(ORDER);
+        this.queued = new IdentityHashMap<>();
+        this.occurrences = new HashMap<>();
+        this.policy = policy;
+        this.priorityListener = new AircraftListener() {
+            @Override
+            public void emergencyChanged(Aircraft aircraft) {
+                updatePriority(aircraft);
+            }
+
+            @Override
+            public void fuelChanged(Aircraft aircraft) {
+                updatePriority(aircraft);
+            }
+        };
+    }
+
+    /**
+     * Returns the policy used to order the aircraft in this queue.
+     *
+     * @return landing priority policy
+     */
+    public LandingPriorityPolicy getPriorityPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the number of ticks elapsed, as last set with {@link #setCurrentTick(long)}.
+     *
+     * @return current tick of the queue
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Sets the number of ticks elapsed. Aircraft added to the queue from now on arrive at this
+     * tick, which is passed to the {@link LandingPriorityPolicy} along with each aircraft.
+     * <p>
+     * A control tower keeps the tick of its landing queue up to date. Aircraft already in the
+     * queue keep the tick they arrived at. The tick of a new queue is zero.
+     *
+     * @param tick number of ticks elapsed
+     */
+    public void setCurrentTick(long tick) {
+        this.currentTick = tick;
+    }
+
+    /**
+     * Sets the policy used to order the aircraft in this queue.
+     * <p>
+     * The priorities of aircraft already in the queue are recalculated with the new policy,
+     * keeping their original arrival ticks.
+     *
+     * @param policy landing priority policy
+     */
+    public void setPriorityPolicy(LandingPriorityPolicy policy) {
+        this.policy = policy;
+        List<Occurrence> all = new ArrayList<>(queue);
+        queue.clear();
+        for (Occurrence occurrence : all) {
+            occurrence.priority = policy.priority(occurrence.aircraft, occurrence.arrivalTick);
+            queue.add(occurrence);
+        }
+        recordModification();
     }
 
     /**
@@ -26,7 +146,52 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public void addAircraft(Aircraft aircraft) {
-        this.aircraft.add(aircraft);
+        queue.add(createOccurrence(aircraft));
+        recordModification();
+    }
+
+    /**
+     * Adds all of the given aircraft to the queue, as if each were added in turn, in iteration
+     * order.
+     * <p>
+     * The priority of each aircraft is calculated once, and the aircraft are listened to and
+     * counted in a single pass. If the queue is empty, as when a saved queue is loaded, the batch
+     * is then sorted once and the tree is built from the sorted batch in linear time. Sorting
+     * takes linear time if the aircraft are given in queue order, as a saved queue is, and
+     * {@code O(n log n)} time otherwise. If the queue is not empty, each aircraft is inserted
+     * into the tree in turn, taking {@code O(n log n)} time.
+     *
+     * @param aircraft aircraft to add to queue
+     */
+    @Override
+    public void addAll(Collection<? extends Aircraft> aircraft) {
+        List<Occurrence> batch = new ArrayList<>(aircraft.size());
+        for (Aircraft added : aircraft) {
+            batch.add(createOccurrence(added));
+        }
+        if (queue.isEmpty()) {
+            batch.sort(ORDER);
+            queue = new TreeSet<>(new SortedBatch(batch, 0, batch.size()));
+        } else {
+            queue.addAll(batch);
+        }
+        recordModification();
+    }
+
+    /* Records a new occurrence of the given aircraft, listening to the aircraft if it was not
+    already queued, and returns the occurrence without adding it to the tree. */
+    private Occurrence createOccurrence(Aircraft aircraft) {
+        ArrayDeque<Occurrence> added = queued.get(aircraft);
+        if (added == null) {
+            added = new ArrayDeque<>(1);
+            queued.put(aircraft, added);
+            aircraft.addListener(priorityListener);
+        }
+        Occurrence occurrence = new Occurrence(aircraft, nextArrival++, currentTick,
+                policy.priority(aircraft, currentTick));
+        added.addLast(occurrence);
+        occurrences.merge(aircraft, 1, Integer::sum);
+        return occurrence;
     }
 
     /**
@@ -37,72 +202,84 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public Aircraft removeAircraft() {
-        if (aircraft.size() != 0) {
-            return aircraft.remove(aircraft.indexOf(peekAircraft()));
+        Occurrence front = queue.pollFirst();
+        if (front == null) {
+            return null;
         }
-        return null;
+        forget(front);
+        recordModification();
+        return front.aircraft;
     }
 
     /**
-     * Returns the aircraft at the front of the queue without
-     * removing it from the queue, or null if the queue is empty.
+     * Removes up to the given number of aircraft from the front of the queue, and adds them to
+     * the given collection in the order they were removed.
+     * <p>
+     * Priorities are not recalculated, and the aircraft are removed in a single pass over the
+     * front of the tree.
      *
-     * @return aircraft at front of queue
+     * @param destination collection to add the removed aircraft to
+     * @param maxAircraft maximum number of aircraft to remove; if zero or negative, no aircraft
+     *                    are removed
+     * @return number of aircraft removed
      */
     @Override
-    public Aircraft peekAircraft() {
-        if (aircraft.size() == 0) {
-            return null;
-        } else {
-            if (findEmergencyAircraft(aircraft) != null) {
-                // try to return the first emergency aircraft in the aircraft
-                return findEmergencyAircraft(aircraft);
-            } else if (findLessFuelAircraft(aircraft) != null) {
-                // if no emergency aircraft, try to return the first aircraft
-                // remains less than 20% of fuel in the landing queue
-                return findLessFuelAircraft(aircraft);
-            } else if (findPassengerAircraft(aircraft) != null) {
-                // if neither emergency nor less fuel remains aircraft,
-                // try to find the first passenger aircraft in the landing queue
-                return findPassengerAircraft(aircraft);
-            } else {
-                // return the first "normal" aircraft in the landing queue
-                return aircraft.get(0);
-            }
+    public int drainTo(Collection<? super Aircraft> destination, int maxAircraft) {
+        int drained = 0;
+        Iterator<Occurrence> front = queue.iterator();
+        while (drained < maxAircraft && front.hasNext()) {
+            Occurrence removed = front.next();
+            front.remove();
+            forget(removed);
+            destination.add(removed.aircraft);
+            drained++;
+        }
+        if (drained > 0) {
+            recordModification();
         }
+        return drained;
     }
 
-    /* try to find a passenger aircraft in a list of aircraft
-    and return the first one, return null if no aircraft satisfied. */
-    private static Aircraft findPassengerAircraft(List<Aircraft> aircraftToCheck) {
-        for (Aircraft aircraft : aircraftToCheck) {
-            if (aircraft instanceof PassengerAircraft) {
-                return aircraft;
-            }
+    /* Forgets the given occurrence, which has been removed from the tree, and stops listening to
+    its aircraft if it has no other occurrences. */
+    private void forget(Occurrence removed) {
+        ArrayDeque<Occurrence> added = queued.get(removed.aircraft);
+        added.remove(removed);
+        if (added.isEmpty()) {
+            queued.remove(removed.aircraft);
+            removed.aircraft.removeListener(priorityListener);
         }
-        return null;
+        occurrences.computeIfPresent(removed.aircraft,
+                (key, count) -> count == 1 ? null : count - 1);
     }
 
-    /* try to find an aircraft has less than or equal to 20 percent fuel remaining
-    and return the first one in the list of aircraft, return null if no aircraft satisfied. */
-    private static Aircraft findLessFuelAircraft(List<Aircraft> aircraftToCheck) {
-        for (Aircraft aircraft : aircraftToCheck) {
-            if (aircraft.getFuelPercentRemaining() < 20) {
-                return aircraft;
-            }
-        }
-        return null;
+    /**
+     * Returns the aircraft at the front of the queue without
+     * removing it from the queue, or null if the queue is empty.
+     *
+     * @return aircraft at front of queue
+     */
+    @Override
+    public Aircraft peekAircraft() {
+        return queue.isEmpty() ? null : queue.first().aircraft;
     }
 
-    /* try to find the first aircraft under emergency in the given aircraft list
-    return null if no aircraft satisfied. */
-    private static Aircraft findEmergencyAircraft(List<Aircraft> aircraftToCheck) {
-        for (Aircraft aircraft : aircraftToCheck) {
-            if (aircraft.hasEmergency()) {
-                return aircraft;
+    /* Recalculates the priority of every occurrence of the given aircraft in the queue. */
+    private void updatePriority(Aircraft aircraft) {
+        ArrayDeque<Occurrence> added = queued.get(aircraft);
+        if (added == null) {
+            return;
+        }
+        for (Occurrence occurrence : added) {
+            long priority = policy.priority(aircraft, occurrence.arrivalTick);
+            if (priority != occurrence.priority) {
+                // the occurrence must leave the tree before its priority changes
+                queue.remove(occurrence);
+                occurrence.priority = priority;
+                queue.add(occurrence);
+                recordModification();
             }
         }
-        return null;
     }
 
     /**
@@ -112,21 +289,23 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public List<Aircraft> getAircraftInOrder() {
-        // a copy of aircraft list to recover aircraft list at the end of this method
-        List<Aircraft> copyOfAircraft = new ArrayList<>(aircraft);
-        // the list will be returned
-        List<Aircraft> result = new ArrayList<>();
-
-        // check whether all of aircraft are added into result list
-        while (result.size() != copyOfAircraft.size()) {
-            result.add(this.removeAircraft());
+        List<Aircraft> result = new ArrayList<>(queue.size());
+        for (Occurrence occurrence : queue) {
+            result.add(occurrence.aircraft);
         }
-
-        // recover the aircraft list
-        this.aircraft = new ArrayList<>(copyOfAircraft);
         return result;
     }
 
+    /**
+     * Returns the number of aircraft in the queue.
+     *
+     * @return number of aircraft in queue
+     */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
     /**
      * Returns true if the given aircraft is in the queue.
      *
@@ -135,6 +314,123 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public boolean containsAircraft(Aircraft aircraft) {
-        return this.aircraft.contains(aircraft);
+        return occurrences.containsKey(aircraft);
+    }
+
+    /* Read-only sorted set of a range of a list of distinct occurrences, sorted in queue order,
+    from which a tree can be built in linear time. */
+    private static class SortedBatch extends AbstractSet<Occurrence>
+            implements SortedSet<Occurrence> {
+        /** occurrences in queue order */
+        private final List<Occurrence> sorted;
+
+        /** index of the first occurrence in the set */
+        private final int from;
+
+        /** index after the last occurrence in the set */
+        private final int to;
+
+        SortedBatch(List<Occurrence> sorted, int from, int to) {
+            this.sorted = sorted;
+            this.from = from;
+            this.to = to;
+        }
+
+        /* Returns the index of the first occurrence in the set not ordered before the given
+        occurrence, or the end of the set if there is none. */
+        private int indexOf(Occurrence occurrence) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ORDER.compare(sorted.get(middle), occurrence) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        public Iterator<Occurrence> iterator() {
+            return Collections.unmodifiableList(sorted.subList(from, to)).iterator();
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Occurrence)) {
+                return false;
+            }
+            int index = indexOf((Occurrence) object);
+            return index < to && sorted.get(index) == object;
+        }
+
+        @Override
+        public Comparator<? super Occurrence> comparator() {
+            return ORDER;
+        }
+
+        @Override
+        public SortedSet<Occurrence> subSet(Occurrence fromElement, Occurrence toElement) {
+            if (ORDER.compare(fromElement, toElement) > 0) {
+                throw new IllegalArgumentException("fromElement is after toElement");
+            }
+            return new SortedBatch(sorted, indexOf(fromElement), indexOf(toElement));
+        }
+
+        @Override
+        public SortedSet<Occurrence> headSet(Occurrence toElement) {
+            return new SortedBatch(sorted, from, indexOf(toElement));
+        }
+
+        @Override
+        public SortedSet<Occurrence> tailSet(Occurrence fromElement) {
+            return new SortedBatch(sorted, indexOf(fromElement), to);
+        }
+
+        @Override
+        public Occurrence first() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return sorted.get(from);
+        }
+
+        @Override
+        public Occurrence last() {
+            if (from == to) {
+                throw new NoSuchElementException();
+            }
+            return sorted.get(to - 1);
+        }
+    }
+
+    /* One occurrence of an aircraft in the queue, with its arrival number, the tick it arrived at
+    and its priority under the current policy. */
+    private static class Occurrence {
+        /** aircraft waiting to land */
+        private final Aircraft aircraft;
+
+        /** number of aircraft added to the queue before this occurrence */
+        private final long arrival;
+
+        /** number of ticks elapsed when this occurrence was added to the queue */
+        private final long arrivalTick;
+
+        /** priority of the aircraft when it was last calculated */
+        private long priority;
+
+        Occurrence(Aircraft aircraft, long arrival, long arrivalTick, long priority) {
+            this.aircraft = aircraft;
+            this.arrival = arrival;
+            this.arrivalTick = arrivalTick;
+            this.priority = priority;
+        }
     }
 }
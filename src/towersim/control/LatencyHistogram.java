@@ -0,0 +1,170 @@
+package towersim.control;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative durations, such as the number of ticks an aircraft waited in a queue,
+ * from which percentiles can be read.
+ * <p>
+ * Durations below 16 are counted exactly. Larger durations are counted in logarithmic buckets:
+ * each range between consecutive powers of two is split into 8 equal buckets, so a percentile is
+ * never overstated by more than 12.5%. The histogram has a fixed number of buckets covering every
+ * non-negative {@code long}, allocated once when it is created, so recording a duration takes
+ * constant time and never allocates.
+ * <p>
+ * Histograms are not thread-safe. Those kept by a control tower should be read on the thread
+ * that ticks it.
+ */
+public class LatencyHistogram {
+    /** number of buckets each range between consecutive powers of two is split into */
+    private static final int SUB_BUCKETS = 8;
+
+    /** log2 of SUB_BUCKETS */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** durations below this are counted exactly, one bucket each */
+    private static final int EXACT_LIMIT = 2 * SUB_BUCKETS;
+
+    /** exact buckets, then SUB_BUCKETS for each power of two from EXACT_LIMIT to 2^62 */
+    private static final int NUM_BUCKETS = EXACT_LIMIT + (63 - 4) * SUB_BUCKETS;
+
+    /** number of durations recorded in each bucket */
+    private final long[] counts;
+
+    /** number of durations recorded */
+    private long count;
+
+    /** sum of all durations recorded */
+    private long total;
+
+    /** largest duration recorded */
+    private long max;
+
+    /**
+     * Creates a new, empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[NUM_BUCKETS];
+    }
+
+    /**
+     * Records the given duration.
+     *
+     * @param duration duration to record
+     * @throws IllegalArgumentException if duration &lt; 0
+     */
+    public void record(long duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+        counts[bucketOf(duration)]++;
+        count++;
+        total += duration;
+        max = Math.max(max, duration);
+    }
+
+    /**
+     * Returns the number of durations recorded.
+     *
+     * @return number of durations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the largest duration recorded, or zero if no durations have been recorded.
+     *
+     * @return largest duration
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the durations recorded, or zero if no durations have been recorded.
+     *
+     * @return mean duration
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Returns the smallest duration such that at least the given percentage of recorded durations
+     * are less than or equal to it, to within the precision of the histogram.
+     * <p>
+     * For example, {@code getValueAtPercentile(99)} returns the 99th percentile. The value
+     * returned is the upper bound of the bucket containing the percentile, but never more than
+     * the largest duration recorded. If no durations have been recorded, zero is returned.
+     *
+     * @param percentile percentage of durations, from 0 to 100
+     * @return duration at the given percentile
+     * @throws IllegalArgumentException if percentile &lt; 0 or percentile &gt; 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        // number of durations that must be at or below the value, at least one
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Removes all recorded durations from the histogram.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Returns the human-readable string representation of this histogram.
+     * <p>
+     * The format of the string to return is
+     * <pre>count=count p50=p50 p90=p90 p99=p99 max=max</pre>
+     * where {@code p50}, {@code p90} and {@code p99} are the durations at those percentiles.
+     *
+     * @return string representation of this histogram
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%d p90=%d p99=%d max=%d", count,
+                getValueAtPercentile(50), getValueAtPercentile(90), getValueAtPercentile(99),
+                max);
+    }
+
+    /* Returns the index of the bucket counting the given non-negative duration. */
+    private static int bucketOf(long duration) {
+        if (duration < EXACT_LIMIT) {
+            return (int) duration;
+        }
+        int power = 63 - Long.numberOfLeadingZeros(duration);
+        int subBucket = (int) (duration >>> (power - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_LIMIT + (power - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    /* Returns the largest duration counted by the bucket with the given index. */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int power = 4 + (bucket - EXACT_LIMIT) / SUB_BUCKETS;
+        int subBucket = (bucket - EXACT_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (power - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + subBucket) << (power - SUB_BUCKET_BITS)) + (width - 1);
+    }
+}
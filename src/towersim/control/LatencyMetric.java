@@ -0,0 +1,23 @@
+package towersim.control;
+
+/**
+ * Durations measured by a control tower for each aircraft, in ticks.
+ *
+ * @see ControlTower#getLatencyHistogram(LatencyMetric)
+ */
+public enum LatencyMetric {
+    /**
+     * Number of ticks from an aircraft being placed in the landing queue to it landing.
+     */
+    LANDING_WAIT,
+
+    /**
+     * Number of ticks from an aircraft being placed in the takeoff queue to it taking off.
+     */
+    TAKEOFF_WAIT,
+
+    /**
+     * Number of ticks from an aircraft being parked at a gate to it leaving the gate.
+     */
+    GATE_OCCUPANCY
+}
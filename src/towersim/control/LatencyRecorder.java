@@ -0,0 +1,130 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.ground.Terminal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how long aircraft wait in queues and occupy gates, in ticks, and records the durations
+ * into latency histograms: overall, for each type of aircraft characteristics, and for gate
+ * occupancy, for each terminal.
+ * <p>
+ * The tick at which each duration started is kept for each aircraft until the duration ends.
+ * Durations that were not seen to start, such as for an aircraft added directly to a queue
+ * rather than placed in it by the control tower, are not recorded.
+ */
+class LatencyRecorder {
+    /** histogram of all durations of each metric, by metric ordinal */
+    private final LatencyHistogram[] totals;
+
+    /** histograms of durations, by metric ordinal then characteristics ordinal */
+    private final LatencyHistogram[][] byCharacteristics;
+
+    /** histogram of gate occupancy durations of each terminal */
+    private final Map<Terminal, LatencyHistogram> gateOccupancyByTerminal;
+
+    /** tick at which the current duration of each aircraft started, by metric ordinal */
+    private final List<Map<Aircraft, Long>> startedAt;
+
+    /** Creates a new recorder with empty histograms. */
+    LatencyRecorder() {
+        int numMetrics = LatencyMetric.values().length;
+        int numCharacteristics = AircraftCharacteristics.values().length;
+        this.totals = new LatencyHistogram[numMetrics];
+        this.byCharacteristics = new LatencyHistogram[numMetrics][numCharacteristics];
+        this.startedAt = new ArrayList<>(numMetrics);
+        for (int metric = 0; metric < numMetrics; metric++) {
+            totals[metric] = new LatencyHistogram();
+            for (int characteristics = 0; characteristics < numCharacteristics;
+                    characteristics++) {
+                byCharacteristics[metric][characteristics] = new LatencyHistogram();
+            }
+            startedAt.add(new IdentityHashMap<>());
+        }
+        // terminals are compared by number and type, so distinct terminals could be equal
+        this.gateOccupancyByTerminal = new IdentityHashMap<>();
+    }
+
+    /**
+     * Starts measuring the given metric for the given aircraft.
+     *
+     * @param metric metric to measure
+     * @param aircraft aircraft that was queued or parked
+     * @param tick number of ticks elapsed
+     */
+    void start(LatencyMetric metric, Aircraft aircraft, long tick) {
+        startedAt.get(metric.ordinal()).put(aircraft, tick);
+    }
+
+    /**
+     * Finishes measuring the given metric for the given aircraft, and records the duration.
+     *
+     * @param metric metric being measured
+     * @param aircraft aircraft that left a queue or gate
+     * @param tick number of ticks elapsed
+     * @param terminal terminal whose gate the aircraft left; or null if the aircraft left a
+     *                 queue
+     */
+    void finish(LatencyMetric metric, Aircraft aircraft, long tick, Terminal terminal) {
+        Long start = startedAt.get(metric.ordinal()).remove(aircraft);
+        if (start == null) {
+            return;
+        }
+        long duration = tick - start;
+        totals[metric.ordinal()].record(duration);
+        byCharacteristics[metric.ordinal()][aircraft.getCharacteristics().ordinal()]
+                .record(duration);
+        if (terminal != null) {
+            LatencyHistogram histogram = gateOccupancyByTerminal.get(terminal);
+            if (histogram != null) {
+                histogram.record(duration);
+            }
+        }
+    }
+
+    /**
+     * Creates a gate occupancy histogram for the given terminal.
+     *
+     * @param terminal terminal added to the control tower
+     */
+    void addTerminal(Terminal terminal) {
+        gateOccupancyByTerminal.putIfAbsent(terminal, new LatencyHistogram());
+    }
+
+    /**
+     * Returns the histogram of all durations of the given metric.
+     *
+     * @param metric metric measured
+     * @return histogram of durations
+     */
+    LatencyHistogram getHistogram(LatencyMetric metric) {
+        return totals[metric.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of durations of the given metric for aircraft with the given
+     * characteristics.
+     *
+     * @param metric metric measured
+     * @param characteristics characteristics of the aircraft
+     * @return histogram of durations
+     */
+    LatencyHistogram getHistogram(LatencyMetric metric, AircraftCharacteristics characteristics) {
+        return byCharacteristics[metric.ordinal()][characteristics.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of gate occupancy durations of the given terminal.
+     *
+     * @param terminal terminal added to the control tower
+     * @return histogram of durations; or null if the terminal was not added
+     */
+    LatencyHistogram getGateOccupancyHistogram(Terminal terminal) {
+        return gateOccupancyByTerminal.get(terminal);
+    }
+}
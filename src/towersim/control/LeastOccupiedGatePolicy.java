@@ -0,0 +1,27 @@
+package towersim.control;
+
+/**
+ * Gate assignment policy that chooses the available terminal with the lowest proportion of its
+ * gates occupied, spreading aircraft evenly across terminals of different sizes.
+ * <p>
+ * Occupancy is compared exactly, rather than as the rounded percentage given by
+ * {@link towersim.ground.Terminal#calculateOccupancyLevel()}. Terminals with equal occupancy are
+ * chosen in the order they were added.
+ */
+public class LeastOccupiedGatePolicy extends RankedGatePolicy {
+
+    /**
+     * Creates a new least-occupied policy with no available terminals.
+     */
+    public LeastOccupiedGatePolicy() {
+        super();
+    }
+
+    @Override
+    int compare(int numGates1, int numFreeGates1, int numGates2, int numFreeGates2) {
+        // occupied1 / numGates1 compared with occupied2 / numGates2, without dividing
+        long occupied1 = numGates1 - numFreeGates1;
+        long occupied2 = numGates2 - numFreeGates2;
+        return Long.compare(occupied1 * numGates2, occupied2 * numGates1);
+    }
+}
@@ -0,0 +1,229 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedule of the aircraft that are loading at gates, keyed by the loading step at which each
+ * aircraft finishes loading.
+ * <p>
+ * Rather than counting down the remaining load time of every loading aircraft on each step, the
+ * schedule counts the number of loading steps performed (see {@link #advance(List)}) and stores
+ * the step on which each aircraft will finish in a binary min-heap. Each step therefore only
+ * visits the aircraft that finish loading on that step.
+ * <p>
+ * The schedule is backed by a mapping of loading aircraft to their remaining load times. Aircraft
+ * are added to and removed from the mapping as they start and finish loading, but the remaining
+ * load times in the mapping are only brought up to date when {@link #getRemainingTicks()} is
+ * called.
+ */
+class LoadingSchedule {
+
+    /** Mapping of loading aircraft to their remaining load times, as of the last refresh. */
+    private final Map<Aircraft, Integer> loadingAircraft;
+
+    /** Mapping of each aircraft in the schedule to its entry. */
+    private final Map<Aircraft, Entry> entries;
+
+    /** Binary min-heap of entries that will finish loading, ordered by deadline. */
+    private Entry[] heap;
+
+    /** Number of entries in the heap. */
+    private int heapSize;
+
+    /** Number of loading steps performed since the schedule was created. */
+    private long steps;
+
+    /** Number of entries created, used to break ties between equal deadlines. */
+    private long entriesCreated;
+
+    /** A loading aircraft and the step on which it finishes loading. */
+    private static class Entry {
+        /** Aircraft that is loading. */
+        private final Aircraft aircraft;
+        /** Loading step on which the aircraft finishes loading. */
+        private final long deadline;
+        /** Order in which the entry was created. */
+        private final long sequence;
+
+        private Entry(Aircraft aircraft, long deadline, long sequence) {
+            this.aircraft = aircraft;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        /* Returns true if this entry should finish before the other entry. */
+        private boolean isBefore(Entry other) {
+            return deadline < other.deadline
+                    || (deadline == other.deadline && sequence < other.sequence);
+        }
+    }
+
+    /**
+     * Creates a new loading schedule backed by the given mapping of loading aircraft to their
+     * remaining load times.
+     * <p>
+     * Every aircraft already in the mapping is scheduled to finish loading once its remaining
+     * load time has elapsed.
+     *
+     * @param loadingAircraft mapping of loading aircraft to their remaining load times
+     */
+    LoadingSchedule(Map<Aircraft, Integer> loadingAircraft) {
+        this.loadingAircraft = loadingAircraft;
+        this.entries = new IdentityHashMap<>();
+        this.heap = new Entry[16];
+        this.heapSize = 0;
+        this.steps = 0;
+        this.entriesCreated = 0;
+        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+            schedule(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns true if the given aircraft is loading.
+     *
+     * @param aircraft aircraft to check
+     * @return true if the aircraft is in the mapping of loading aircraft; false otherwise
+     */
+    boolean contains(Aircraft aircraft) {
+        return loadingAircraft.containsKey(aircraft);
+    }
+
+    /**
+     * Returns true if no aircraft are loading.
+     *
+     * @return true if the mapping of loading aircraft is empty; false otherwise
+     */
+    boolean isEmpty() {
+        return loadingAircraft.isEmpty();
+    }
+
+    /**
+     * Adds the given aircraft to the mapping of loading aircraft and schedules it to finish
+     * loading after the given number of loading steps.
+     *
+     * @param aircraft aircraft that started loading
+     * @param loadingTime number of loading steps until the aircraft finishes loading
+     */
+    void add(Aircraft aircraft, int loadingTime) {
+        loadingAircraft.put(aircraft, loadingTime);
+        schedule(aircraft, loadingTime);
+    }
+
+    /* Creates an entry for the given aircraft. Aircraft with no time remaining are never
+    counted down to exactly zero, so they are not added to the heap. */
+    private void schedule(Aircraft aircraft, int loadingTime) {
+        Entry entry = new Entry(aircraft, steps + loadingTime, entriesCreated++);
+        entries.put(aircraft, entry);
+        if (loadingTime > 0) {
+            push(entry);
+        }
+    }
+
+    /**
+     * Performs a single loading step, removing the aircraft that finish loading on this step
+     * from the mapping of loading aircraft and adding them to the given list.
+     * <p>
+     * Aircraft are added to the list in the order they started loading.
+     *
+     * @param finished list to which aircraft that finished loading are added
+     */
+    void advance(List<Aircraft> finished) {
+        steps++;
+        while (heapSize > 0 && heap[0].deadline <= steps) {
+            Entry entry = pop();
+            // skip aircraft removed from the mapping by other means
+            if (entries.get(entry.aircraft) == entry
+                    && loadingAircraft.containsKey(entry.aircraft)) {
+                entries.remove(entry.aircraft);
+                loadingAircraft.remove(entry.aircraft);
+                finished.add(entry.aircraft);
+            }
+        }
+    }
+
+    /**
+     * Brings the remaining load time of every aircraft in the mapping of loading aircraft up to
+     * date, and returns the mapping.
+     *
+     * @return mapping of loading aircraft to their remaining load times
+     */
+    Map<Aircraft, Integer> getRemainingTicks() {
+        for (Map.Entry<Aircraft, Integer> mapping : loadingAircraft.entrySet()) {
+            Entry entry = entries.get(mapping.getKey());
+            if (entry != null) {
+                int remaining = (int) (entry.deadline - steps);
+                if (mapping.getValue() != remaining) {
+                    mapping.setValue(remaining);
+                }
+            }
+        }
+        return loadingAircraft;
+    }
+
+    /**
+     * Returns the remaining load time of the given aircraft, without bringing the rest of the
+     * mapping of loading aircraft up to date.
+     *
+     * @param aircraft aircraft to look up
+     * @return number of loading steps until the aircraft finishes loading, as
+     * {@link #getRemainingTicks()} would give, or -1 if the aircraft is not loading
+     */
+    int getRemainingTicks(Aircraft aircraft) {
+        Entry entry = entries.get(aircraft);
+        if (entry == null || !loadingAircraft.containsKey(aircraft)) {
+            return -1;
+        }
+        return (int) (entry.deadline - steps);
+    }
+
+    /* Adds the given entry to the heap. */
+    private void push(Entry entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int index = heapSize++;
+        // sift the new entry up towards the root
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!entry.isBefore(heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    /* Removes and returns the entry at the root of the non-empty heap. */
+    private Entry pop() {
+        Entry root = heap[0];
+        Entry last = heap[--heapSize];
+        heap[heapSize] = null;
+        if (heapSize > 0) {
+            int index = 0;
+            // sift the last entry down from the root
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heap[child + 1].isBefore(heap[child])) {
+                    child++;
+                }
+                if (!heap[child].isBefore(last)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = last;
+        }
+        return root;
+    }
+}
@@ -0,0 +1,135 @@
+package towersim.control;
+
+import java.util.Arrays;
+
+/**
+ * Gate assignment policy that keeps the available terminals ordered by a ranking of their gate
+ * counts, and chooses the best-ranked terminal.
+ * <p>
+ * Available terminals are held in a binary heap of terminal positions, indexed by position so
+ * that a terminal can be moved in place when its gate counts change. Updating a terminal takes
+ * time logarithmic in the number of terminals, choosing a terminal takes constant time, and
+ * neither allocates. Terminals that rank equally are chosen in the order they were added.
+ */
+abstract class RankedGatePolicy implements GateAssignmentPolicy {
+    /** number of gates of each terminal, by position */
+    private int[] numGates;
+
+    /** number of unoccupied gates of each terminal, by position */
+    private int[] numFreeGates;
+
+    /** binary min-heap of the positions of available terminals, best-ranked at the root */
+    private int[] heap;
+
+    /** number of terminals in the heap */
+    private int heapSize;
+
+    /** index in the heap of each terminal, by position; or -1 if it is not available */
+    private int[] heapIndices;
+
+    /** Creates a new ranked policy with no available terminals. */
+    RankedGatePolicy() {
+        this.numGates = new int[16];
+        this.numFreeGates = new int[16];
+        this.heap = new int[16];
+        this.heapSize = 0;
+        this.heapIndices = new int[16];
+        Arrays.fill(heapIndices, -1);
+    }
+
+    /**
+     * Compares two terminals by their gate counts.
+     *
+     * @param numGates1 number of gates of the first terminal
+     * @param numFreeGates1 number of unoccupied gates of the first terminal
+     * @param numGates2 number of gates of the second terminal
+     * @param numFreeGates2 number of unoccupied gates of the second terminal
+     * @return negative if the first terminal should be chosen before the second, positive if
+     * the second should be chosen before the first, and zero if they rank equally
+     */
+    abstract int compare(int numGates1, int numFreeGates1, int numGates2, int numFreeGates2);
+
+    @Override
+    public void terminalUpdated(int terminal, int numGates, int numFreeGates,
+                                boolean available) {
+        if (terminal >= heapIndices.length) {
+            int length = Math.max(terminal + 1, heapIndices.length * 2);
+            this.numGates = Arrays.copyOf(this.numGates, length);
+            this.numFreeGates = Arrays.copyOf(this.numFreeGates, length);
+            this.heap = Arrays.copyOf(this.heap, length);
+            int oldLength = heapIndices.length;
+            this.heapIndices = Arrays.copyOf(this.heapIndices, length);
+            Arrays.fill(heapIndices, oldLength, length, -1);
+        }
+        this.numGates[terminal] = numGates;
+        this.numFreeGates[terminal] = numFreeGates;
+        int index = heapIndices[terminal];
+        if (index < 0) {
+            if (available) {
+                siftUp(heapSize++, terminal);
+            }
+        } else if (available) {
+            // the terminal's rank may have moved either way
+            siftUp(index, terminal);
+            siftDown(heapIndices[terminal], terminal);
+        } else {
+            heapIndices[terminal] = -1;
+            int last = heap[--heapSize];
+            if (index < heapSize) {
+                siftUp(index, last);
+                siftDown(heapIndices[last], last);
+            }
+        }
+    }
+
+    @Override
+    public int selectTerminal() {
+        return heapSize == 0 ? -1 : heap[0];
+    }
+
+    /* Returns whether the first terminal, by position, ranks before the second, breaking ties
+    by position. */
+    private boolean isBefore(int first, int second) {
+        int result = compare(numGates[first], numFreeGates[first],
+                numGates[second], numFreeGates[second]);
+        return result != 0 ? result < 0 : first < second;
+    }
+
+    /* Places the given terminal at the given index of the heap, sifting it up towards the root
+    until its parent ranks before it. */
+    private void siftUp(int index, int terminal) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isBefore(terminal, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heapIndices[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = terminal;
+        heapIndices[terminal] = index;
+    }
+
+    /* Places the given terminal at the given index of the heap, sifting it down away from the
+    root until neither of its children ranks before it. */
+    private void siftDown(int index, int terminal) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isBefore(heap[child], terminal)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndices[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = terminal;
+        heapIndices[terminal] = index;
+    }
+}
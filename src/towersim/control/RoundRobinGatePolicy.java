@@ -0,0 +1,46 @@
+package towersim.control;
+
+import java.util.BitSet;
+
+/**
+ * Gate assignment policy that spreads aircraft across terminals in turn.
+ * <p>
+ * After an aircraft is parked in a terminal, the next aircraft is parked in the first available
+ * terminal after it, in the order terminals were added, wrapping around to the first terminal.
+ */
+public class RoundRobinGatePolicy implements GateAssignmentPolicy {
+    /** positions of available terminals */
+    private final BitSet available;
+
+    /** position from which to search for the next available terminal */
+    private int next;
+
+    /**
+     * Creates a new round-robin policy with no available terminals.
+     */
+    public RoundRobinGatePolicy() {
+        this.available = new BitSet();
+        this.next = 0;
+    }
+
+    @Override
+    public void terminalUpdated(int terminal, int numGates, int numFreeGates,
+                                boolean available) {
+        this.available.set(terminal, available);
+    }
+
+    @Override
+    public void gateTaken(int terminal) {
+        next = terminal + 1;
+    }
+
+    @Override
+    public int selectTerminal() {
+        int terminal = available.nextSetBit(next);
+        if (terminal < 0) {
+            // wrap around to the first terminal
+            terminal = available.nextSetBit(0);
+        }
+        return terminal;
+    }
+}
@@ -0,0 +1,34 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.PassengerAircraft;
+
+/**
+ * Landing priority policy that lands aircraft in a state of emergency first, then aircraft with
+ * less than 20% of their fuel remaining, then passenger aircraft, then all other aircraft.
+ * <p>
+ * This is the default policy of a landing queue.
+ */
+public class RuleBasedLandingPolicy implements LandingPriorityPolicy {
+
+    /**
+     * Creates a new rule-based landing policy.
+     */
+    public RuleBasedLandingPolicy() {
+        super();
+    }
+
+    @Override
+    public long priority(Aircraft aircraft, long arrivalTick) {
+        if (aircraft.hasEmergency()) {
+            return 0;
+        }
+        if (aircraft.getFuelPercentRemaining() < 20) {
+            return 1;
+        }
+        if (aircraft instanceof PassengerAircraft) {
+            return 2;
+        }
+        return 3;
+    }
+}
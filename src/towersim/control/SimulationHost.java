@@ -0,0 +1,226 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the simulations of several airports, each with its own control tower, concurrently.
+ * <p>
+ * On each tick of the host, every airport's control tower is ticked once on a bounded pool of
+ * threads, and the host waits for all of them to finish before the tick is complete. Control
+ * towers share no state, so ticking them concurrently gives the same results as ticking them one
+ * after another, and throughput scales with the number of airports up to the number of threads.
+ * <p>
+ * Aircraft can be handed off from one airport to another with
+ * {@link #handOff(Aircraft, String, String)}. Hand-offs may be requested from any thread at any
+ * time, including while a tick is in progress; they are collected in a lock-free inbox for the
+ * receiving airport and applied between ticks, once every control tower has finished ticking.
+ */
+public class SimulationHost {
+
+    /** Airports managed by the host, by name, in the order they were added. */
+    private final Map<String, Airport> airports;
+
+    /** Pool of threads on which control towers are ticked. */
+    private final ExecutorService pool;
+
+    /** Number of threads in the pool. */
+    private final int numThreads;
+
+    /** An airport managed by the host. */
+    private static class Airport implements Callable<Void> {
+        /** Control tower of the airport. */
+        private final ControlTower tower;
+        /** Hand-offs of aircraft to this airport that have not been applied yet. */
+        private final ConcurrentLinkedQueue<HandOff> inbox;
+
+        private Airport(ControlTower tower) {
+            this.tower = tower;
+            this.inbox = new ConcurrentLinkedQueue<>();
+        }
+
+        @Override
+        public Void call() {
+            tower.tick();
+            return null;
+        }
+    }
+
+    /** A request to move an aircraft from one airport to another. */
+    private static class HandOff {
+        /** Aircraft being handed off. */
+        private final Aircraft aircraft;
+        /** Airport the aircraft is leaving. */
+        private final Airport from;
+
+        private HandOff(Aircraft aircraft, Airport from) {
+            this.aircraft = aircraft;
+            this.from = from;
+        }
+    }
+
+    /**
+     * Creates a new simulation host that ticks control towers on the given number of threads.
+     *
+     * @param numThreads number of threads to tick control towers on
+     * @throws IllegalArgumentException if numThreads &lt; 1
+     */
+    public SimulationHost(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive");
+        }
+        this.airports = new LinkedHashMap<>();
+        this.numThreads = numThreads;
+        this.pool = Executors.newFixedThreadPool(numThreads, runnable -> {
+            Thread thread = new Thread(runnable, "airport-tick");
+            // do not keep the JVM alive if the host is never shut down
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds an airport with the given name and control tower to the host.
+     * <p>
+     * Airports should not be added while a tick is in progress.
+     *
+     * @param name unique name of the airport
+     * @param tower control tower of the airport
+     * @throws IllegalArgumentException if an airport with the given name already exists
+     */
+    public void addAirport(String name, ControlTower tower) {
+        if (airports.containsKey(name)) {
+            throw new IllegalArgumentException("Airport already exists: " + name);
+        }
+        airports.put(name, new Airport(tower));
+    }
+
+    /**
+     * Returns the control tower of the airport with the given name.
+     *
+     * @param name name of the airport
+     * @return control tower of the airport
+     * @throws IllegalArgumentException if there is no airport with the given name
+     */
+    public ControlTower getControlTower(String name) {
+        return getAirport(name).tower;
+    }
+
+    /**
+     * Returns the names of all airports managed by the host, in the order they were added.
+     *
+     * @return names of airports
+     */
+    public List<String> getAirportNames() {
+        return new ArrayList<>(airports.keySet());
+    }
+
+    /**
+     * Returns the number of threads on which control towers are ticked.
+     *
+     * @return number of threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /* Returns the airport with the given name, or throws if none exists. */
+    private Airport getAirport(String name) {
+        Airport airport = airports.get(name);
+        if (airport == null) {
+            throw new IllegalArgumentException("No such airport: " + name);
+        }
+        return airport;
+    }
+
+    /**
+     * Requests that the given aircraft be handed off from one airport's control tower to
+     * another's.
+     * <p>
+     * This method may be called from any thread. The hand-off is applied at the end of the next
+     * tick of the host (or immediately after the current tick, if a tick is in progress), by
+     * calling {@link ControlTower#removeAircraft(Aircraft)} on the first airport's control tower
+     * and {@link ControlTower#addAircraft(Aircraft)} on the second's. Only aircraft whose current
+     * task type is {@code AWAY} at that time are handed off; other hand-offs are discarded.
+     *
+     * @param aircraft aircraft to hand off
+     * @param from name of the airport the aircraft is leaving
+     * @param to name of the airport the aircraft is joining
+     * @throws IllegalArgumentException if either airport does not exist
+     */
+    public void handOff(Aircraft aircraft, String from, String to) {
+        getAirport(to).inbox.add(new HandOff(aircraft, getAirport(from)));
+    }
+
+    /**
+     * Advances the simulation of every airport by one tick.
+     * <p>
+     * Every control tower is ticked concurrently, then all pending hand-offs are applied, in the
+     * order the airports were added and, for each airport, in the order they were requested.
+     *
+     * @throws IllegalStateException if ticking a control tower throws an exception, or if the
+     * calling thread is interrupted while waiting for the control towers to finish ticking
+     */
+    public void tick() {
+        List<Future<Void>> results;
+        try {
+            results = pool.invokeAll(airports.values());
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ticking airports", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Error ticking airport", exception.getCause());
+        }
+        applyHandOffs();
+    }
+
+    /**
+     * Advances the simulation of every airport by the given number of ticks.
+     *
+     * @param numTicks number of ticks to advance by
+     * @throws IllegalStateException if ticking a control tower fails; see {@link #tick()}
+     */
+    public void tick(long numTicks) {
+        for (long tick = 0; tick < numTicks; tick++) {
+            tick();
+        }
+    }
+
+    /* Applies all pending hand-offs; only called once no control tower is ticking. */
+    private void applyHandOffs() {
+        for (Airport airport : airports.values()) {
+            HandOff handOff;
+            while ((handOff = airport.inbox.poll()) != null) {
+                if (handOff.from.tower.removeAircraft(handOff.aircraft)) {
+                    try {
+                        airport.tower.addAircraft(handOff.aircraft);
+                    } catch (NoSuitableGateException impossible) {
+                        // AWAY aircraft are never parked at a gate when added
+                        throw new IllegalStateException(impossible);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the threads used to tick control towers. The host should not be ticked afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
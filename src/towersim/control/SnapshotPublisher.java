@@ -0,0 +1,201 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftSnapshot;
+import towersim.ground.Terminal;
+import towersim.ground.TerminalSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes successive snapshots of a control tower, reusing whatever did not change since the
+ * previous snapshot.
+ * <p>
+ * Each list in a snapshot is matched with a modification count: the aircraft and loading
+ * aircraft with the control tower's aircraft modification count, the terminals with its terminal
+ * modification count, and each queue with the queue's own count. A list whose count is unchanged
+ * is reused from the previous snapshot without being visited, so a snapshot of a tick in which
+ * nothing changed is taken in constant time.
+ * <p>
+ * Snapshots must be taken on the thread that ticks the control tower.
+ */
+class SnapshotPublisher {
+
+    /** Latest snapshot of each aircraft, by aircraft identity. */
+    private final Map<Aircraft, AircraftSnapshot> aircraftSnapshots;
+
+    /** Snapshot taken previously; or null if none has been taken. */
+    private TowerSnapshot previous;
+
+    /** Aircraft modification count of the control tower when the previous snapshot was taken. */
+    private int aircraftModificationCount;
+
+    /** Terminal modification count of the control tower when the previous snapshot was taken. */
+    private int terminalModificationCount;
+
+    /** Modification count of the takeoff queue when the previous snapshot was taken. */
+    private int takeoffQueueModificationCount;
+
+    /** Modification count of the landing queue when the previous snapshot was taken. */
+    private int landingQueueModificationCount;
+
+    /**
+     * Creates a new publisher that has not taken any snapshots.
+     */
+    SnapshotPublisher() {
+        this.aircraftSnapshots = new IdentityHashMap<>();
+        this.previous = null;
+    }
+
+    /**
+     * Forgets the latest snapshot of the given aircraft, which is no longer managed by the
+     * control tower.
+     *
+     * @param aircraft aircraft to forget
+     */
+    void forget(Aircraft aircraft) {
+        aircraftSnapshots.remove(aircraft);
+    }
+
+    /**
+     * Takes a snapshot of the current state of the given control tower.
+     * <p>
+     * Unless {@code compareAll} is true, each list of the previous snapshot whose modification
+     * count is unchanged is reused as it is. If {@code compareAll} is true, every aircraft,
+     * terminal and queue is compared with the previous snapshot, which also picks up changes the
+     * control tower was not notified of.
+     *
+     * @param tower control tower to take a snapshot of
+     * @param compareAll true to compare every part of the control tower with the previous
+     *                   snapshot, whatever the modification counts
+     * @return new snapshot
+     */
+    TowerSnapshot take(ControlTower tower, boolean compareAll) {
+        AircraftQueue takeoffQueue = tower.getTakeoffQueue();
+        AircraftQueue landingQueue = tower.getLandingQueue();
+        boolean reuseAircraft = !compareAll && previous != null
+                && tower.getAircraftModificationCount() == aircraftModificationCount;
+        boolean reuseTerminals = !compareAll && previous != null
+                && tower.getTerminalModificationCount() == terminalModificationCount;
+        boolean reuseTakeoffQueue = !compareAll && previous != null
+                && takeoffQueue.getModificationCount() == takeoffQueueModificationCount;
+        boolean reuseLandingQueue = !compareAll && previous != null
+                && landingQueue.getModificationCount() == landingQueueModificationCount;
+        aircraftModificationCount = tower.getAircraftModificationCount();
+        terminalModificationCount = tower.getTerminalModificationCount();
+        takeoffQueueModificationCount = takeoffQueue.getModificationCount();
+        landingQueueModificationCount = landingQueue.getModificationCount();
+
+        TowerSnapshot snapshot = new TowerSnapshot(tower.getTicksElapsed(),
+                reuseAircraft ? previous.getAircraft() : takeAircraft(tower),
+                takeoffQueue.getClass().getSimpleName(),
+                reuseTakeoffQueue ? previous.getTakeoffQueue()
+                        : reuse(previous == null ? null : previous.getTakeoffQueue(),
+                                callsignsOf(takeoffQueue)),
+                landingQueue.getClass().getSimpleName(),
+                reuseLandingQueue ? previous.getLandingQueue()
+                        : reuse(previous == null ? null : previous.getLandingQueue(),
+                                callsignsOf(landingQueue)),
+                reuseAircraft ? previous.getLoadingAircraft() : takeLoading(tower),
+                reuseTerminals ? previous.getTerminals() : takeTerminals(tower));
+        previous = snapshot;
+        return snapshot;
+    }
+
+    /* Returns snapshots of the aircraft of the given tower, reusing the previous list, and the
+    previous snapshot of each aircraft, if they are unchanged. */
+    private List<AircraftSnapshot> takeAircraft(ControlTower tower) {
+        List<Aircraft> aircraft = tower.getAircraft();
+        if (aircraftSnapshots.size() > aircraft.size()) {
+            // aircraft were removed without being forgotten
+            pruneAircraftSnapshots(aircraft);
+        }
+        List<AircraftSnapshot> previousAircraft = previous == null ? null : previous.getAircraft();
+        boolean aircraftChanged = previousAircraft == null
+                || previousAircraft.size() != aircraft.size();
+        List<AircraftSnapshot> aircraftList = new ArrayList<>(aircraft.size());
+        for (int i = 0; i < aircraft.size(); i++) {
+            Aircraft aircraft1 = aircraft.get(i);
+            AircraftSnapshot snapshot = aircraftSnapshots.get(aircraft1);
+            if (snapshot == null || !snapshot.isCurrent(aircraft1)) {
+                snapshot = new AircraftSnapshot(aircraft1);
+                aircraftSnapshots.put(aircraft1, snapshot);
+            }
+            if (!aircraftChanged && previousAircraft.get(i) != snapshot) {
+                aircraftChanged = true;
+            }
+            aircraftList.add(snapshot);
+        }
+        return aircraftChanged ? Collections.unmodifiableList(aircraftList) : previousAircraft;
+    }
+
+    /* Returns snapshots of the terminals of the given tower, reusing the previous list, and the
+    previous snapshot of each terminal, if they are unchanged. */
+    private List<TerminalSnapshot> takeTerminals(ControlTower tower) {
+        List<TerminalSnapshot> previousTerminals =
+                previous == null ? null : previous.getTerminals();
+        List<Terminal> terminals = tower.getTerminals();
+        boolean terminalsChanged = previousTerminals == null
+                || previousTerminals.size() != terminals.size();
+        List<TerminalSnapshot> terminalList = new ArrayList<>(terminals.size());
+        for (int i = 0; i < terminals.size(); i++) {
+            Terminal terminal = terminals.get(i);
+            TerminalSnapshot snapshot = previousTerminals != null && i < previousTerminals.size()
+                    ? previousTerminals.get(i) : null;
+            if (snapshot == null || !snapshot.isCurrent(terminal)) {
+                snapshot = new TerminalSnapshot(terminal);
+                terminalsChanged = true;
+            }
+            terminalList.add(snapshot);
+        }
+        return terminalsChanged ? Collections.unmodifiableList(terminalList) : previousTerminals;
+    }
+
+    /* Returns the time remaining for each loading aircraft of the given tower, by callsign,
+    reusing the previous map if it is unchanged. */
+    private Map<String, Integer> takeLoading(ControlTower tower) {
+        Map<String, Integer> loading = new LinkedHashMap<>();
+        for (Map.Entry<Aircraft, Integer> entry : tower.getLoadingAircraft().entrySet()) {
+            loading.put(entry.getKey().getCallsign(), entry.getValue());
+        }
+        return previous != null && previous.getLoadingAircraft().equals(loading)
+                ? previous.getLoadingAircraft() : Collections.unmodifiableMap(loading);
+    }
+
+    /* Removes the snapshots of aircraft no longer in the given list of aircraft. */
+    private void pruneAircraftSnapshots(List<Aircraft> aircraft) {
+        Map<Aircraft, AircraftSnapshot> current = new IdentityHashMap<>();
+        for (Aircraft aircraft1 : aircraft) {
+            AircraftSnapshot snapshot = aircraftSnapshots.get(aircraft1);
+            if (snapshot != null) {
+                current.put(aircraft1, snapshot);
+            }
+        }
+        aircraftSnapshots.clear();
+        aircraftSnapshots.putAll(current);
+    }
+
+    /* Returns the callsigns of the aircraft in the given queue, in order. */
+    private static List<String> callsignsOf(AircraftQueue queue) {
+        List<Aircraft> aircraftInOrder = queue.getAircraftInOrder();
+        List<String> callsigns = new ArrayList<>(aircraftInOrder.size());
+        for (Aircraft aircraft : aircraftInOrder) {
+            callsigns.add(aircraft.getCallsign());
+        }
+        return callsigns;
+    }
+
+    /* Returns the previous list if it has the same contents as the current list, or an
+    unmodifiable view of the current list otherwise. */
+    private static List<String> reuse(List<String> previous, List<String> current) {
+        if (previous != null && previous.equals(current)) {
+            return previous;
+        }
+        return Collections.unmodifiableList(current);
+    }
+}
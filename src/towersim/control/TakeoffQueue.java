@@ -2,22 +2,43 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 
 /**
  * Represents a first-in-first-out (FIFO) queue of aircraft waiting to take off.
+ * <p>
+ * Aircraft are held in a circular array, so adding, removing, peeking and checking whether the
+ * queue contains an aircraft all take constant time.
  */
 public class TakeoffQueue extends AircraftQueue {
 
-    /** A list of Aircraft waiting for take off */
-    private List<Aircraft> aircraft;
+    /** Aircraft waiting for take off, in a circular array starting at {@code head} */
+    private Aircraft[] aircraft;
+
+    /** Index in {@code aircraft} of the aircraft at the front of the queue */
+    private int head;
+
+    /** Number of aircraft in the queue */
+    private int size;
+
+    /** Number of times each aircraft appears in the queue, for constant-time membership checks */
+    private final Map<Aircraft, Integer> occurrences;
+
+    /** Read-only view of the aircraft in the queue, in order, as of its modification count */
+    private InOrderView inOrder;
 
     /**
      * Constructs a new TakeoffQueue with an initially empty queue of aircraft.
      */
     public TakeoffQueue() {
-        aircraft = new ArrayList<>();
+        aircraft = new Aircraft[8];
+        occurrences = new HashMap<>();
     }
 
     /**
@@ -26,7 +47,47 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public void addAircraft(Aircraft aircraft) {
-        this.aircraft.add(aircraft);
+        if (size == this.aircraft.length) {
+            grow();
+        }
+        this.aircraft[(head + size) % this.aircraft.length] = aircraft;
+        size++;
+        occurrences.merge(aircraft, 1, Integer::sum);
+        recordModification();
+    }
+
+    /**
+     * Adds all of the given aircraft to the back of the queue, in iteration order.
+     * <p>
+     * The circular array is grown at most once, so the time taken is linear in the number of
+     * aircraft added.
+     *
+     * @param added aircraft to add to queue
+     */
+    @Override
+    public void addAll(Collection<? extends Aircraft> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        while (size + added.size() > aircraft.length) {
+            grow();
+        }
+        for (Aircraft queued : added) {
+            aircraft[(head + size) % aircraft.length] = queued;
+            size++;
+            occurrences.merge(queued, 1, Integer::sum);
+        }
+        recordModification();
+    }
+
+    /* Doubles the length of the circular array, moving the front of the queue to index 0. */
+    private void grow() {
+        Aircraft[] larger = new Aircraft[aircraft.length * 2];
+        for (int i = 0; i < size; i++) {
+            larger[i] = aircraft[(head + i) % aircraft.length];
+        }
+        aircraft = larger;
+        head = 0;
     }
 
     /**
@@ -37,11 +98,45 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public Aircraft removeAircraft() {
-        if (aircraft.size() == 0) {
+        if (size == 0) {
             return null;
         } else {
-            return aircraft.remove(0);
+            Aircraft removed = aircraft[head];
+            // clear the slot so the aircraft can be garbage collected once it leaves the airport
+            aircraft[head] = null;
+            head = (head + 1) % aircraft.length;
+            size--;
+            occurrences.computeIfPresent(removed, (key, count) -> count == 1 ? null : count - 1);
+            recordModification();
+            return removed;
+        }
+    }
+
+    /**
+     * Removes up to the given number of aircraft from the front of the queue, and adds them to
+     * the given collection in the order they were removed.
+     *
+     * @param destination collection to add the removed aircraft to
+     * @param maxAircraft maximum number of aircraft to remove; if zero or negative, no aircraft
+     *                    are removed
+     * @return number of aircraft removed
+     */
+    @Override
+    public int drainTo(Collection<? super Aircraft> destination, int maxAircraft) {
+        int drained = Math.max(0, Math.min(maxAircraft, size));
+        if (drained == 0) {
+            return 0;
+        }
+        for (int i = 0; i < drained; i++) {
+            Aircraft removed = aircraft[head];
+            aircraft[head] = null;
+            head = (head + 1) % aircraft.length;
+            occurrences.computeIfPresent(removed, (key, count) -> count == 1 ? null : count - 1);
+            destination.add(removed);
         }
+        size -= drained;
+        recordModification();
+        return drained;
     }
 
     /**
@@ -52,21 +147,40 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public Aircraft peekAircraft() {
-        if (aircraft.size() == 0) {
+        if (size == 0) {
             return null;
         } else {
-            return aircraft.get(0);
+            return aircraft[head];
         }
     }
 
     /**
      * Returns a list containing all aircraft in the queue, in order.
+     * <p>
+     * The list is a read-only view of the queue rather than a copy, so it takes constant time
+     * to return. It cannot be modified, and it is only valid until an aircraft is next added to
+     * or removed from the queue: after that, any use of the list or of an iterator over it
+     * throws a {@link ConcurrentModificationException}. Views returned while the queue is
+     * unchanged are the same object.
      *
      * @return list of all aircraft in queue, in queue order
      */
     @Override
     public List<Aircraft> getAircraftInOrder() {
-        return aircraft;
+        if (inOrder == null || inOrder.expectedModificationCount != getModificationCount()) {
+            inOrder = new InOrderView();
+        }
+        return inOrder;
+    }
+
+    /**
+     * Returns the number of aircraft in the queue.
+     *
+     * @return number of aircraft in queue
+     */
+    @Override
+    public int size() {
+        return size;
     }
 
     /**
@@ -77,6 +191,36 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public boolean containsAircraft(Aircraft aircraft) {
-        return this.aircraft.contains(aircraft);
+        return occurrences.containsKey(aircraft);
+    }
+
+    /* Read-only list of the aircraft in the circular array, from the front of the queue. Like a
+    sublist of an ArrayList, it fails fast once the queue has been modified. */
+    private class InOrderView extends AbstractList<Aircraft> implements RandomAccess {
+        /** modification count of the queue when this view was created */
+        private final int expectedModificationCount = getModificationCount();
+
+        @Override
+        public Aircraft get(int index) {
+            checkForModification();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return aircraft[(head + index) % aircraft.length];
+        }
+
+        @Override
+        public int size() {
+            checkForModification();
+            return size;
+        }
+
+        /* Throws a ConcurrentModificationException if the queue has been modified since this
+        view was created. */
+        private void checkForModification() {
+            if (getModificationCount() != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 }
@@ -0,0 +1,105 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+
+/**
+ * An event emitted by a control tower, as passed to a {@link TowerEventHandler}.
+ * <p>
+ * Event objects are slots in the ring buffer of a {@link TowerEventBus} and are reused once the
+ * buffer wraps around, so handlers should copy out any details they need rather than keeping a
+ * reference to the event itself.
+ */
+public class TowerEvent {
+    /** type of the event */
+    private TowerEventType type;
+
+    /** number of ticks elapsed when the event occurred */
+    private long tick;
+
+    /** aircraft the event concerns; or null if none */
+    private Aircraft aircraft;
+
+    /** gate the event concerns; or null if none */
+    private Gate gate;
+
+    /** terminal the event concerns; or null if none */
+    private Terminal terminal;
+
+    /** Creates a new, empty event slot. */
+    TowerEvent() {
+    }
+
+    /* Overwrites this slot with the details of a new event. */
+    void set(TowerEventType type, long tick, Aircraft aircraft, Gate gate, Terminal terminal) {
+        this.type = type;
+        this.tick = tick;
+        this.aircraft = aircraft;
+        this.gate = gate;
+        this.terminal = terminal;
+    }
+
+    /**
+     * Returns the type of this event.
+     *
+     * @return event type
+     */
+    public TowerEventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of ticks that had elapsed when this event occurred.
+     * <p>
+     * Events emitted during a tick report the number of ticks elapsed before that tick.
+     *
+     * @return ticks elapsed
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the aircraft this event concerns, or null if it does not concern an aircraft.
+     *
+     * @return aircraft of this event
+     */
+    public Aircraft getAircraft() {
+        return aircraft;
+    }
+
+    /**
+     * Returns the gate this event concerns, or null if it does not concern a gate.
+     * <p>
+     * {@code GATE_ASSIGNED}, {@code LANDED}, {@code LOAD_STARTED} and {@code LOAD_COMPLETED}
+     * events record the gate of the aircraft.
+     *
+     * @return gate of this event
+     */
+    public Gate getGate() {
+        return gate;
+    }
+
+    /**
+     * Returns the terminal this event concerns, or null if it does not concern a terminal.
+     * <p>
+     * Only {@code EMERGENCY_DECLARED} events for terminals record a terminal.
+     *
+     * @return terminal of this event
+     */
+    public Terminal getTerminal() {
+        return terminal;
+    }
+
+    /**
+     * Returns the human-readable string representation of this event.
+     *
+     * @return string representation of this event
+     */
+    @Override
+    public String toString() {
+        return String.format("%s at tick %d: %s", type, tick,
+                aircraft != null ? aircraft.getCallsign() : terminal);
+    }
+}
@@ -0,0 +1,166 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bus carrying the events emitted by a control tower to any number of consumers.
+ * <p>
+ * Events are written into a ring buffer of {@link TowerEvent} slots that is allocated once, when
+ * the bus is created, so publishing an event never allocates. Each consumer holds a
+ * {@link Subscription} with its own position in the buffer, and drains the events published
+ * since it last drained, at a time of its choosing (for example, after each tick).
+ * <p>
+ * If a consumer falls more than {@link #getCapacity()} events behind, the oldest events it has
+ * not drained are overwritten. They are skipped and counted by
+ * {@link Subscription#getMissedEvents()}, so the consumer can fall back to rebuilding its state
+ * from the control tower.
+ * <p>
+ * When there are no subscriptions, publishing an event does nothing. The bus is not
+ * thread-safe; events should be drained on the thread that ticks the control tower, or once it
+ * has finished ticking.
+ */
+public class TowerEventBus {
+    /**
+     * Default number of events held by the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** ring buffer of event slots; its length is a power of two */
+    private final TowerEvent[] ring;
+
+    /** number of events published since the bus was created */
+    private long published;
+
+    /** all open subscriptions */
+    private final List<Subscription> subscriptions;
+
+    /**
+     * A consumer's position in the events published on a bus.
+     */
+    public class Subscription {
+        /** number of events published before the next event to drain */
+        private long cursor;
+
+        /** number of events skipped because they were overwritten before being drained */
+        private long missedEvents;
+
+        private Subscription() {
+            this.cursor = published;
+            this.missedEvents = 0;
+        }
+
+        /**
+         * Passes each event published since this subscription was created or last drained to
+         * the given handler, in the order the events were published.
+         *
+         * @param handler handler to pass events to
+         * @return number of events passed to the handler
+         */
+        public int drain(TowerEventHandler handler) {
+            if (published - cursor > ring.length) {
+                // the oldest undrained events have been overwritten
+                missedEvents += published - ring.length - cursor;
+                cursor = published - ring.length;
+            }
+            int drained = 0;
+            while (cursor < published) {
+                handler.onEvent(ring[(int) (cursor & (ring.length - 1))]);
+                cursor++;
+                drained++;
+            }
+            return drained;
+        }
+
+        /**
+         * Returns the total number of events this subscription has skipped because they were
+         * overwritten before being drained.
+         *
+         * @return number of missed events
+         */
+        public long getMissedEvents() {
+            return missedEvents;
+        }
+
+        /**
+         * Closes this subscription. No further events are kept for it.
+         */
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+
+    /**
+     * Creates a new event bus whose ring buffer holds at least the given number of events.
+     *
+     * @param capacity minimum number of events held by the ring buffer
+     * @throws IllegalArgumentException if capacity &lt; 1 or capacity &gt; 2^30
+     */
+    public TowerEventBus(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Event bus capacity must be between 1 and 2^30");
+        }
+        // round up to a power of two so positions can be masked
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        this.ring = new TowerEvent[length];
+        for (int i = 0; i < length; i++) {
+            this.ring[i] = new TowerEvent();
+        }
+        this.published = 0;
+        this.subscriptions = new ArrayList<>(1);
+    }
+
+    /**
+     * Returns the number of events held by the ring buffer.
+     *
+     * @return capacity of the bus
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Creates a new subscription that will receive every event published from now on.
+     *
+     * @return new subscription
+     */
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription();
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Returns true if the bus has at least one open subscription.
+     *
+     * @return true if events published are kept for a consumer; false otherwise
+     */
+    public boolean hasSubscriptions() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Publishes an event with the given details.
+     *
+     * @param type type of the event
+     * @param tick number of ticks elapsed when the event occurred
+     * @param aircraft aircraft the event concerns; or null
+     * @param gate gate the event concerns; or null
+     * @param terminal terminal the event concerns; or null
+     */
+    void publish(TowerEventType type, long tick, Aircraft aircraft, Gate gate,
+                 Terminal terminal) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        ring[(int) (published & (ring.length - 1))].set(type, tick, aircraft, gate, terminal);
+        published++;
+    }
+}
@@ -0,0 +1,18 @@
+package towersim.control;
+
+/**
+ * Denotes an object that consumes events emitted by a control tower.
+ *
+ * @see TowerEventBus.Subscription#drain(TowerEventHandler)
+ */
+public interface TowerEventHandler {
+
+    /**
+     * Called for each event drained from a subscription, in the order the events occurred.
+     * <p>
+     * The given event is only valid for the duration of the call; see {@link TowerEvent}.
+     *
+     * @param event event that occurred
+     */
+    void onEvent(TowerEvent event);
+}
@@ -0,0 +1,61 @@
+package towersim.control;
+
+/**
+ * Enum to represent the types of events emitted by a control tower.
+ * <p>
+ * Each event concerns a single aircraft, except {@code EMERGENCY_DECLARED} events for terminals,
+ * which concern a single terminal. See {@link TowerEvent} for the details recorded with each
+ * event.
+ */
+public enum TowerEventType {
+    /**
+     * An aircraft was placed in the landing queue because its current task became {@code LAND}.
+     */
+    QUEUED_TO_LAND,
+
+    /**
+     * An aircraft was placed in the takeoff queue because its current task became
+     * {@code TAKEOFF}.
+     */
+    QUEUED_TO_TAKE_OFF,
+
+    /**
+     * An aircraft was assigned to, and parked at, a gate.
+     */
+    GATE_ASSIGNED,
+
+    /**
+     * An aircraft landed and was parked at a gate.
+     */
+    LANDED,
+
+    /**
+     * An aircraft took off.
+     */
+    TOOK_OFF,
+
+    /**
+     * An aircraft started loading at its gate.
+     */
+    LOAD_STARTED,
+
+    /**
+     * An aircraft finished loading and left its gate.
+     */
+    LOAD_COMPLETED,
+
+    /**
+     * A state of emergency was declared on an aircraft or on a terminal.
+     */
+    EMERGENCY_DECLARED,
+
+    /**
+     * An aircraft was added to the jurisdiction of the control tower.
+     */
+    AIRCRAFT_ADDED,
+
+    /**
+     * An aircraft was removed from the jurisdiction of the control tower.
+     */
+    AIRCRAFT_REMOVED
+}
@@ -0,0 +1,138 @@
+package towersim.control;
+
+import towersim.aircraft.AircraftSnapshot;
+import towersim.ground.TerminalSnapshot;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable record of the state of a control tower at the end of a tick.
+ * <p>
+ * Snapshots are published by a control tower once snapshots have been enabled (see
+ * {@link ControlTower#setSnapshotsEnabled(boolean)}), and can be read by any number of threads
+ * without locking while the control tower keeps ticking.
+ * <p>
+ * Consecutive snapshots share structure: the snapshot of an aircraft or terminal whose state did
+ * not change is reused from the previous snapshot, as are lists and mappings whose contents did
+ * not change. Comparing parts of two snapshots by identity is therefore a cheap way of finding
+ * out which parts changed.
+ */
+public final class TowerSnapshot {
+    /** number of ticks elapsed */
+    private final long ticksElapsed;
+
+    /** snapshots of all aircraft managed by the control tower */
+    private final List<AircraftSnapshot> aircraft;
+
+    /** simple name of the class of the takeoff queue */
+    private final String takeoffQueueType;
+
+    /** callsigns of the aircraft in the takeoff queue, in order */
+    private final List<String> takeoffQueue;
+
+    /** simple name of the class of the landing queue */
+    private final String landingQueueType;
+
+    /** callsigns of the aircraft in the landing queue, in order */
+    private final List<String> landingQueue;
+
+    /** mapping of the callsigns of loading aircraft to their remaining load times */
+    private final Map<String, Integer> loadingAircraft;
+
+    /** snapshots of all terminals in the airport */
+    private final List<TerminalSnapshot> terminals;
+
+    /**
+     * Creates a new snapshot from the given parts, which must not be modified afterwards.
+     */
+    TowerSnapshot(long ticksElapsed, List<AircraftSnapshot> aircraft,
+                  String takeoffQueueType, List<String> takeoffQueue,
+                  String landingQueueType, List<String> landingQueue,
+                  Map<String, Integer> loadingAircraft, List<TerminalSnapshot> terminals) {
+        this.ticksElapsed = ticksElapsed;
+        this.aircraft = aircraft;
+        this.takeoffQueueType = takeoffQueueType;
+        this.takeoffQueue = takeoffQueue;
+        this.landingQueueType = landingQueueType;
+        this.landingQueue = landingQueue;
+        this.loadingAircraft = loadingAircraft;
+        this.terminals = terminals;
+    }
+
+    /**
+     * Returns the number of ticks that had elapsed when the snapshot was taken.
+     *
+     * @return number of ticks elapsed
+     */
+    public long getTicksElapsed() {
+        return ticksElapsed;
+    }
+
+    /**
+     * Returns snapshots of all aircraft managed by the control tower, in the same order as
+     * {@link ControlTower#getAircraft()}.
+     *
+     * @return unmodifiable list of aircraft snapshots
+     */
+    public List<AircraftSnapshot> getAircraft() {
+        return aircraft;
+    }
+
+    /**
+     * Returns the simple name of the class of the control tower's takeoff queue.
+     *
+     * @return takeoff queue type
+     */
+    public String getTakeoffQueueType() {
+        return takeoffQueueType;
+    }
+
+    /**
+     * Returns the callsigns of the aircraft in the takeoff queue, in the order given by
+     * {@link AircraftQueue#getAircraftInOrder()}.
+     *
+     * @return unmodifiable list of callsigns
+     */
+    public List<String> getTakeoffQueue() {
+        return takeoffQueue;
+    }
+
+    /**
+     * Returns the simple name of the class of the control tower's landing queue.
+     *
+     * @return landing queue type
+     */
+    public String getLandingQueueType() {
+        return landingQueueType;
+    }
+
+    /**
+     * Returns the callsigns of the aircraft in the landing queue, in the order given by
+     * {@link AircraftQueue#getAircraftInOrder()}.
+     *
+     * @return unmodifiable list of callsigns
+     */
+    public List<String> getLandingQueue() {
+        return landingQueue;
+    }
+
+    /**
+     * Returns the mapping of the callsigns of loading aircraft to their remaining load times,
+     * in the same order as {@link ControlTower#getLoadingAircraft()}.
+     *
+     * @return unmodifiable mapping of loading aircraft
+     */
+    public Map<String, Integer> getLoadingAircraft() {
+        return loadingAircraft;
+    }
+
+    /**
+     * Returns snapshots of all terminals in the airport, in the order they were added.
+     *
+     * @return unmodifiable list of terminal snapshots
+     */
+    public List<TerminalSnapshot> getTerminals() {
+        return terminals;
+    }
+}
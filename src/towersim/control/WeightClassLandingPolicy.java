@@ -0,0 +1,48 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Landing priority policy that sequences aircraft by weight class, to reduce the spacing needed
+ * between landings for wake turbulence.
+ * <p>
+ * Aircraft in a state of emergency land first, then aircraft with less than 20% of their fuel
+ * remaining. All other aircraft are grouped by their total weight (see
+ * {@link Aircraft#getTotalWeight()}) into light, medium and heavy classes, and land lightest
+ * class first. A lighter aircraft landing behind a heavier one needs the most spacing, so landing
+ * each class together, lightest first, avoids it.
+ */
+public class WeightClassLandingPolicy implements LandingPriorityPolicy {
+
+    /**
+     * Total weight, in kilograms, above which an aircraft is in the medium weight class.
+     */
+    public static final double MEDIUM_WEIGHT = 7000;
+
+    /**
+     * Total weight, in kilograms, above which an aircraft is in the heavy weight class.
+     */
+    public static final double HEAVY_WEIGHT = 136000;
+
+    /**
+     * Creates a new weight class landing policy.
+     */
+    public WeightClassLandingPolicy() {
+        super();
+    }
+
+    @Override
+    public long priority(Aircraft aircraft, long arrivalTick) {
+        if (aircraft.hasEmergency()) {
+            return 0;
+        }
+        if (aircraft.getFuelPercentRemaining() < 20) {
+            return 1;
+        }
+        double weight = aircraft.getTotalWeight();
+        if (weight > HEAVY_WEIGHT) {
+            return 4;
+        }
+        return weight > MEDIUM_WEIGHT ? 3 : 2;
+    }
+}
@@ -26,7 +26,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Subclass of the JavaFX Canvas to represent the main elements of the airport graphically.
@@ -309,13 +308,10 @@ public class AirportCanvas extends Canvas {
         gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
 
         // Draw aircraft in queue
-        var aircraft = viewModel.getControlTower().getAircraft().stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == TaskType.AWAY)
-                .collect(Collectors.toList());
-
-        for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
+        int i = 0;
+        for (Aircraft a : viewModel.getAwayAircraft()) {
             drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
+            ++i;
         }
     }
 
@@ -367,7 +363,7 @@ public class AirportCanvas extends Canvas {
                     terminalStartY + 0.5 * terminalLabelHeight);
 
             // Number of gates and max number of gates
-            String numGatesText = terminal.getGates().size() + "/" + Terminal.MAX_NUM_GATES
+            String numGatesText = terminal.getNumGates() + "/" + terminal.getGateCapacity()
                     + " gates";
             gc.setFill(Color.BLACK);
             gc.setTextBaseline(VPos.CENTER);
@@ -410,7 +406,7 @@ public class AirportCanvas extends Canvas {
 
                 // Draw dividing line
                 final double gateLineX = terminalStartX + gateWidth * (j + 1);
-                if (j != Terminal.MAX_NUM_GATES - 1) {
+                if (j != terminal.getGateCapacity() - 1) {
                     gc.setStroke(Color.WHITE);
                     gc.strokeLine(gateLineX,
                             terminalStartY + terminalLabelHeight,
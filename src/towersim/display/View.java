@@ -76,6 +76,7 @@ public class View {
 
         Scene rootScene = new Scene(createWindow());
         stage.setScene(rootScene);
+        stage.setOnHidden(event -> viewModel.closeJournal());
     }
 
     /* Creates the root window containing all GUI elements */
@@ -144,7 +145,10 @@ public class View {
 
         MenuItem exit = new MenuItem("_Exit");
         exit.setMnemonicParsing(true);
-        exit.setOnAction(event -> System.exit(0));
+        exit.setOnAction(event -> {
+            viewModel.closeJournal();
+            System.exit(0);
+        });
         exit.setAccelerator(KeyCombination.keyCombination("Shortcut+Q"));
 
         Menu menuFile = new Menu("_File");
@@ -295,7 +299,7 @@ public class View {
                 return;
             }
             var terminal = choice.get();
-            if (terminal.getGates().size() == Terminal.MAX_NUM_GATES) {
+            if (terminal.getNumGates() == terminal.getGateCapacity()) {
                 viewModel.createErrorDialog("Cannot create gate", "Terminal "
                         + terminal.getTerminalNumber()
                         + " already has the maximum possible number of gates.");
@@ -14,10 +14,13 @@ import towersim.util.NoSuitableGateException;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
 
 /**
  * View model for the Control Tower Simulation GUI.
@@ -61,11 +64,23 @@ public class ViewModel {
     /** The aircraft currently taking off (i.e. just went from TAKEOFF to AWAY) */
     private final ObjectProperty<Aircraft> aircraftTakingOff = new SimpleObjectProperty<>();
 
-    /** List of all aircraft whose task is TAKEOFF; used in finding aircraftTakingOff */
-    private List<Aircraft> allTakeoffAircraft = new ArrayList<>();
+    /** All aircraft whose task is AWAY */
+    private final Set<Aircraft> awayAircraft = new HashSet<>();
 
-    /** List of all aircraft whose task is LAND; used in finding aircraftLanding */
-    private List<Aircraft> allLandAircraft = new ArrayList<>();
+    /** All aircraft whose task is AWAY, in the order they appear in the tower's aircraft */
+    private final List<Aircraft> awayAircraftInOrder = new ArrayList<>();
+
+    /** Whether aircraft have become or stopped being AWAY since they were last ordered */
+    private boolean awayAircraftChanged;
+
+    /** Subscription to the events published by the control tower */
+    private final TowerEventBus.Subscription towerEvents;
+
+    /** Handles each event drained from the control tower */
+    private final TowerEventHandler towerEventHandler = this::handleTowerEvent;
+
+    /** Number of events missed by the subscription when the GUI state was last rebuilt */
+    private long missedTowerEvents;
 
     /** File path of the tick file that we loaded from */
     private final String defaultTickSaveLocation;
@@ -82,12 +97,15 @@ public class ViewModel {
     /**
      * Creates a new view model and constructs a control tower by reading from the given filenames.
      *
+     * If a fifth filename is given, every external input to the control tower is recorded to an
+     * {@link InputJournal} at that path, which can be replayed from the four save files.
+     *
      * @param filenames list of four filenames, specifying the paths to: (1) the tick file;
      *                  (2) the aircraft file; (3) the queues file; (4) the terminals/gates file
      * @throws IOException if loading from the files specifies generates an IOException
      * @throws MalformedSaveException if any of the files are invalid according to
      * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}
-     * @requires filenames != null &amp;&amp; filenames.size() == 4
+     * @requires filenames != null &amp;&amp; (filenames.size() == 4 || filenames.size() == 5)
      * @given
      */
     public ViewModel(List<String> filenames) throws IOException, MalformedSaveException {
@@ -101,6 +119,10 @@ public class ViewModel {
                 new FileReader(filenames.get(1)),
                 new FileReader(filenames.get(2)),
                 new FileReader(filenames.get(3)));
+        if (filenames.size() > 4) {
+            tower.setJournal(new InputJournal(new FileOutputStream(filenames.get(4)),
+                    tower.getTicksElapsed()));
+        }
 
         this.numTerminals.set(tower.getTerminals().size());
 
@@ -113,7 +135,9 @@ public class ViewModel {
         });
         this.loadingInfoText.set(generateLoadingInfoText());
         System.out.println("a" + System.lineSeparator());
-        fillTakeoffLandAircraftLists();
+        this.towerEvents = tower.getEventBus().subscribe();
+        this.missedTowerEvents = 0;
+        fillAwayAircraft();
     }
 
     /**
@@ -189,7 +213,7 @@ public class ViewModel {
             public void handle(ActionEvent actionEvent) {
                 Aircraft aircraft = getSelectedAircraft().getValue();
                 if (aircraft != null
-                        && aircraft.getTaskList().getCurrentTask().getType() == TaskType.LAND) {
+                        && aircraft.getTaskList().getCurrentTaskType() == TaskType.LAND) {
                     try {
                         suitableGateText.setValue(tower.findUnoccupiedGate(aircraft).toString());
                     } catch (NoSuitableGateException exception) {
@@ -270,72 +294,8 @@ public class ViewModel {
      */
     public void saveAs(Writer tickWriter, Writer aircraftWriter, Writer queuesWriter,
             Writer terminalsWithGatesWriter) throws IOException {
-        // TODO implement for assignment 2
-        saveTick(tickWriter, this.getControlTower().getTicksElapsed());
-        saveAircraft(aircraftWriter, this.getControlTower().getAircraft());
-        saveQueue(queuesWriter, this.getControlTower().getTakeoffQueue(),
-                this.getControlTower().getLandingQueue(),
-                this.getControlTower().getLoadingAircraft());
-        saveTerminalWithGatesWriter(terminalsWithGatesWriter,
-                this.getControlTower().getTerminals());
-    }
-
-    /* Saves the terminals with gates to the given writer. */
-    private static void saveTerminalWithGatesWriter(Writer writer, List<Terminal> terminals)
-            throws IOException {
-        int terminalNumber = terminals.size();
-        StringJoiner result = new StringJoiner(System.lineSeparator());
-        result.add("" + terminalNumber);
-        if (terminalNumber > 0) {
-            for (Terminal terminal : terminals) {
-                result.add(terminal.encode());
-            }
-        }
-        writer.write(result.toString());
-        writer.close();
-    }
-
-    /* Saves the TakeoffQueue, LandingQueue and loadingAircraft map to the given writer. */
-    private static void saveQueue(Writer writer, AircraftQueue takeoffQueue,
-                                  AircraftQueue landingQueue,
-                                  Map<Aircraft, Integer> loadingAircraft)
-            throws IOException {
-        writer.write(takeoffQueue.encode());
-        writer.write(landingQueue.encode());
-        int entryNumber = loadingAircraft.size();
-        writer.write("LoadingAircraft:" + entryNumber + System.lineSeparator());
-        if (entryNumber >= 1) {
-            writer.write(encodeLoadingAircraft(loadingAircraft));
-        }
-        writer.close();
-    }
-
-    /* get the encode of given map (Map<Aircraft, Integer>) */
-    private static String encodeLoadingAircraft(Map<Aircraft, Integer> loadingAircraft) {
-        StringJoiner result = new StringJoiner(",");
-        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
-            result.add(entry.getKey().getCallsign() + ":" + entry.getValue());
-        }
-        return result.toString();
-    }
-
-    /* Saves the list of aircraft to the given writer. */
-    private static void saveAircraft(Writer writer, List<Aircraft> aircraft)
-            throws IOException {
-        StringJoiner result = new StringJoiner(System.lineSeparator());
-        result.add("" + aircraft.size());
-        for (Aircraft aircraft1 : aircraft) {
-            result.add(aircraft1.encode());
-        }
-        writer.write(result.toString());
-        writer.close();
-    }
-
-    /* Saves the current tick to the given writer. */
-    private static void saveTick(Writer writer, long tick)
-            throws IOException {
-        writer.write(String.valueOf(tick));
-        writer.close();
+        ControlTowerSaver.saveControlTower(this.getControlTower(), tickWriter, aircraftWriter,
+                queuesWriter, terminalsWithGatesWriter);
     }
 
     /**
@@ -363,41 +323,68 @@ public class ViewModel {
         registerChange();
     }
 
-    /* Updates the lists of aircraft currently taking off and landing */
+    /* Updates the aircraft currently taking off and landing, and the aircraft that are AWAY,
+    from the events published by the control tower since the last tick */
     private void updateTakeoffLandAircraft() {
         this.aircraftTakingOff.set(null);
         this.aircraftLanding.set(null);
-        for (Aircraft aircraft : getControlTower().getAircraft()) {
-            TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
-            if (currentTaskType == TaskType.AWAY && allTakeoffAircraft.contains(aircraft)) {
+        towerEvents.drain(towerEventHandler);
+        if (towerEvents.getMissedEvents() != missedTowerEvents) {
+            // some events were overwritten before they were drained
+            missedTowerEvents = towerEvents.getMissedEvents();
+            fillAwayAircraft();
+        } else if (awayAircraftChanged) {
+            orderAwayAircraft();
+        }
+    }
+
+    /* Updates the state of the GUI affected by the given event */
+    private void handleTowerEvent(TowerEvent event) {
+        switch (event.getType()) {
+            case TOOK_OFF:
                 // Aircraft has just taken off
-                this.aircraftTakingOff.set(aircraft);
-            }
-            if ((currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD)
-                    && allLandAircraft.contains(aircraft)) {
+                this.aircraftTakingOff.set(event.getAircraft());
+                awayAircraftChanged |= awayAircraft.add(event.getAircraft());
+                break;
+            case LANDED:
                 // Aircraft has just landed
-                this.aircraftLanding.set(aircraft);
-            }
+                this.aircraftLanding.set(event.getAircraft());
+                break;
+            case QUEUED_TO_LAND:
+            case AIRCRAFT_REMOVED:
+                awayAircraftChanged |= awayAircraft.remove(event.getAircraft());
+                break;
+            case AIRCRAFT_ADDED:
+                // added aircraft that have since queued to land are removed by a later event
+                if (event.getAircraft().getTaskList().getCurrentTaskType() == TaskType.AWAY) {
+                    awayAircraftChanged |= awayAircraft.add(event.getAircraft());
+                }
+                break;
+            default:
+                break;
         }
-        fillTakeoffLandAircraftLists();
     }
 
-    /*
-     * Places all aircraft that have a TAKEOFF task into the list of aircraft taking off;
-     * same for LAND
-     */
-    private void fillTakeoffLandAircraftLists() {
-        this.allTakeoffAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.TAKEOFF);
-        this.allLandAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.LAND);
+    /* Places all aircraft that have an AWAY task into the set of AWAY aircraft */
+    private void fillAwayAircraft() {
+        awayAircraft.clear();
+        awayAircraftInOrder.clear();
+        for (Aircraft aircraft : getControlTower().getAircraft()) {
+            if (aircraft.getTaskList().getCurrentTaskType() == TaskType.AWAY) {
+                awayAircraft.add(aircraft);
+                awayAircraftInOrder.add(aircraft);
+            }
+        }
+        awayAircraftChanged = false;
     }
 
-    /* Returns all aircraft in the given list whose current task's type is the given type */
-    private List<Aircraft> findAircraftWithTask(List<Aircraft> aircraft, TaskType taskType) {
-        return aircraft.stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == taskType)
-                .collect(Collectors.toList());
+    /* Orders the AWAY aircraft by their positions in the tower's list of aircraft, so they are
+    drawn in the same order however they became AWAY */
+    private void orderAwayAircraft() {
+        awayAircraftInOrder.clear();
+        awayAircraftInOrder.addAll(awayAircraft);
+        awayAircraftInOrder.sort(Comparator.comparingInt(tower::getAircraftPosition));
+        awayAircraftChanged = false;
     }
 
     /* Generates the formatted information text for the given aircraft */
@@ -440,6 +427,11 @@ public class ViewModel {
      */
     public void togglePaused() {
         this.paused.setValue(!this.paused.getValue());
+        InputJournal journal = tower.getJournal();
+        if (journal != null) {
+            journal.recordPaused(tower.getTicksElapsed(), this.paused.get());
+            journal.flush();
+        }
         if (this.paused.get()) {
             this.pausedStatusText.setValue(" (Paused)");
             this.pauseMenuText.setValue("Un_pause");
@@ -449,6 +441,26 @@ public class ViewModel {
         }
     }
 
+    /**
+     * Stops recording inputs and closes the input journal, if one was opened when the
+     * application was launched, so that its remaining records are written and the file is
+     * released. Errors when closing the journal are reported on standard error.
+     * <p>
+     * This should be called when the application exits.
+     */
+    public void closeJournal() {
+        InputJournal journal = tower.getJournal();
+        if (journal == null) {
+            return;
+        }
+        tower.setJournal(null);
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Error closing input journal: " + e.getMessage());
+        }
+    }
+
     /**
      * Saves the current state of the control tower simulation to the same files it was loaded
      * from when the application was launched.
@@ -593,6 +605,19 @@ public class ViewModel {
         return aircraftTakingOff;
     }
 
+    /**
+     * Returns all aircraft whose current task is AWAY, in the order they appear in the list of
+     * aircraft of the control tower.
+     * <p>
+     * This is kept up to date from the events published by the control tower on each tick,
+     * rather than by searching all aircraft.
+     *
+     * @return unmodifiable view of the aircraft that are AWAY
+     */
+    public List<Aircraft> getAwayAircraft() {
+        return Collections.unmodifiableList(awayAircraftInOrder);
+    }
+
     /**
      * Creates and shows an error dialog.
      *
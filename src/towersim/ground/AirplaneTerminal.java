@@ -16,4 +16,18 @@ public class AirplaneTerminal extends Terminal {
     public AirplaneTerminal(int terminalNumber) {
         super(terminalNumber);
     }
+
+    /**
+     * Creates a new AirplaneTerminal with the given unique terminal number, that may hold up to the
+     * given number of gates.
+     * <p>
+     * See {@link Terminal#Terminal(int, int)}.
+     *
+     * @param terminalNumber identifying number of this airplane terminal
+     * @param gateCapacity maximum number of gates allowed in this terminal
+     * @throws IllegalArgumentException if gateCapacity &lt; 0
+     */
+    public AirplaneTerminal(int terminalNumber, int gateCapacity) {
+        super(terminalNumber, gateCapacity);
+    }
 }
@@ -4,6 +4,10 @@ import towersim.aircraft.Aircraft;
 import towersim.util.Encodable;
 import towersim.util.NoSpaceException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Represents an aircraft gate with facilities for a single aircraft to be parked.
  * @ass1
@@ -16,6 +20,12 @@ public class Gate implements Encodable {
     /** Aircraft currently occupying the gate; or null if gate is empty. */
     private Aircraft aircraftAtGate;
 
+    /** Terminals this gate has been added to, notified whenever the gate's occupant changes. */
+    private final List<Terminal> terminals;
+
+    /** Position of this gate in each terminal it has been added to, in the same order. */
+    private int[] positions;
+
     /**
      * Creates a new Gate with the given unique gate number.
      * <p>
@@ -29,6 +39,18 @@ public class Gate implements Encodable {
     public Gate(int gateNumber) {
         this.gateNumber = gateNumber;
         this.aircraftAtGate = null;
+        this.terminals = new ArrayList<>(1);
+        this.positions = new int[1];
+    }
+
+    /* Records that this gate belongs to the given terminal, at the given position in its list of
+    gates. Called by Terminal.addGate(). */
+    void addTerminal(Terminal terminal, int position) {
+        if (this.terminals.size() == this.positions.length) {
+            this.positions = Arrays.copyOf(this.positions, this.positions.length * 2);
+        }
+        this.positions[this.terminals.size()] = position;
+        this.terminals.add(terminal);
     }
 
     /**
@@ -57,6 +79,9 @@ public class Gate implements Encodable {
                     + " is occupied, cannot park aircraft");
         }
         this.aircraftAtGate = aircraft;
+        for (int i = 0; i < terminals.size(); i++) {
+            terminals.get(i).aircraftParked(this, positions[i], aircraft);
+        }
     }
 
     /**
@@ -66,7 +91,14 @@ public class Gate implements Encodable {
      * @ass1
      */
     public void aircraftLeaves() {
+        // the aircraft leaving the gate, if any
+        Aircraft leavingAircraft = this.aircraftAtGate;
         this.aircraftAtGate = null;
+        if (leavingAircraft != null) {
+            for (int i = 0; i < terminals.size(); i++) {
+                terminals.get(i).aircraftLeft(this, positions[i], leavingAircraft);
+            }
+        }
     }
 
     /**
@@ -16,4 +16,18 @@ public class HelicopterTerminal extends Terminal {
     public HelicopterTerminal(int terminalNumber) {
         super(terminalNumber);
     }
+
+    /**
+     * Creates a new HelicopterTerminal with the given unique terminal number, that may hold up to the
+     * given number of gates.
+     * <p>
+     * See {@link Terminal#Terminal(int, int)}.
+     *
+     * @param terminalNumber identifying number of this helicopter terminal
+     * @param gateCapacity maximum number of gates allowed in this terminal
+     * @throws IllegalArgumentException if gateCapacity &lt; 0
+     */
+    public HelicopterTerminal(int terminalNumber, int gateCapacity) {
+        super(terminalNumber, gateCapacity);
+    }
 }
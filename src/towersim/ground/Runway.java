@@ -0,0 +1,95 @@
+package towersim.ground;
+
+/**
+ * Represents a runway that aircraft land on and take off from.
+ * <p>
+ * Each runway can handle a single movement (one landing or one takeoff) per tick. The
+ * {@link RunwayMode} of a runway determines which movements it may be used for.
+ */
+public class Runway {
+
+    /** Unique (airport-wide) runway number. */
+    private final int runwayNumber;
+
+    /** Types of movements this runway may be used for. */
+    private final RunwayMode mode;
+
+    /**
+     * Creates a new Runway with the given unique runway number and mode.
+     *
+     * @param runwayNumber identifying number of this runway
+     * @param mode types of movements this runway may be used for
+     * @throws IllegalArgumentException if mode is null
+     */
+    public Runway(int runwayNumber, RunwayMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Runway mode cannot be null");
+        }
+        this.runwayNumber = runwayNumber;
+        this.mode = mode;
+    }
+
+    /**
+     * Returns this runway's runway number.
+     *
+     * @return runway number
+     */
+    public int getRunwayNumber() {
+        return runwayNumber;
+    }
+
+    /**
+     * Returns the types of movements this runway may be used for.
+     *
+     * @return runway mode
+     */
+    public RunwayMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the human-readable string representation of this runway.
+     * <p>
+     * The format of the string to return is
+     * <pre>Runway runwayNumber [mode]</pre>
+     * For example: {@code "Runway 2 [ARRIVALS]"}.
+     *
+     * @return string representation of this runway
+     */
+    @Override
+    public String toString() {
+        return String.format("Runway %d [%s]", this.runwayNumber, this.mode);
+    }
+
+    /**
+     * Returns true if and only if this runway is equal to the other given runway.
+     *
+     * @param obj other object to check equality
+     * @return true if equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            // two objects are same the instance of Runway
+            return true;
+        } else if (!(obj instanceof Runway)) {
+            // obj is not an instance of Runway
+            return false;
+        } else {
+            // check whether two objects have same runway number and mode
+            Runway runway = (Runway) obj;
+            return this.getRunwayNumber() == runway.getRunwayNumber()
+                    && this.getMode() == runway.getMode();
+        }
+    }
+
+    /**
+     * Returns the hash code of this runway.
+     *
+     * @return hash code of this runway
+     */
+    @Override
+    public int hashCode() {
+        return this.getRunwayNumber() * 17 + this.getMode().hashCode();
+    }
+}
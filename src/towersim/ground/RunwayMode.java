@@ -0,0 +1,45 @@
+package towersim.ground;
+
+/**
+ * Enum to represent the types of movements a runway may be used for.
+ * <table border="1">
+ * <caption>Enum Definitions</caption>
+ * <tr><th>RunwayMode</th><th>Written description</th></tr>
+ * <tr><td>{@code ARRIVALS}</td><td>Used only for landing aircraft</td></tr>
+ * <tr><td>{@code DEPARTURES}</td><td>Used only for aircraft taking off</td></tr>
+ * <tr><td>{@code MIXED}</td><td>Used for both landing aircraft and aircraft taking off</td></tr>
+ * </table>
+ */
+public enum RunwayMode {
+    /**
+     * {@code ARRIVALS} runways land one aircraft per tick.
+     */
+    ARRIVALS("Used only for landing aircraft"),
+
+    /**
+     * {@code DEPARTURES} runways allow one aircraft to take off per tick.
+     */
+    DEPARTURES("Used only for aircraft taking off"),
+
+    /**
+     * {@code MIXED} runways try to land an aircraft on even ticks, allowing an aircraft to take
+     * off instead if none can be landed, and allow an aircraft to take off on odd ticks.
+     */
+    MIXED("Used for both landing aircraft and aircraft taking off");
+
+    /** Short written description of the runway mode. */
+    private final String description;
+
+    RunwayMode(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the written description of this runway mode.
+     *
+     * @return written description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,8 +1,10 @@
 package towersim.ground;
 
+import towersim.aircraft.Aircraft;
 import towersim.util.*;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.StringJoiner;
 
@@ -12,7 +14,8 @@ import java.util.StringJoiner;
  */
 public abstract class Terminal implements EmergencyState, OccupancyLevel, Encodable {
     /**
-     * Maximum possible number of gates allowed at a single terminal.
+     * Maximum possible number of gates allowed at a single terminal, unless a different gate
+     * capacity is given when the terminal is created.
      * @ass1
      */
     public static final int MAX_NUM_GATES = 6;
@@ -23,9 +26,21 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     /** List of gates in this terminal. */
     private final List<Gate> gates;
 
+    /** Maximum number of gates allowed in this terminal. */
+    private final int gateCapacity;
+
+    /** Positions in the list of gates of the gates that have no aircraft parked at them. */
+    private final BitSet freeGates;
+
+    /** Number of gates in this terminal with an aircraft parked at them. */
+    private int numOccupiedGates;
+
     /** Whether or not the terminal is currently in a state of emergency. */
     private boolean emergency;
 
+    /** Listeners notified of changes to this terminal's gates and emergency state. */
+    private final List<TerminalListener> listeners;
+
     /**
      * Creates a new Terminal with the given unique terminal number.
      * <p>
@@ -34,14 +49,59 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      * the same terminal number when instantiating a new terminal.
      * <p>
      * Newly created terminals should not be in a state of emergency by default.
+     * <p>
+     * The terminal may hold up to {@link #MAX_NUM_GATES} gates.
      *
      * @param terminalNumber identifying number of this terminal
      * @ass1
      */
     protected Terminal(int terminalNumber) {
+        this(terminalNumber, MAX_NUM_GATES);
+    }
+
+    /**
+     * Creates a new Terminal with the given unique terminal number, that may hold up to the given
+     * number of gates.
+     * <p>
+     * See {@link #Terminal(int)}. Unoccupied gates are tracked in a bit set, so finding an
+     * unoccupied gate stays fast in terminals with thousands of gates.
+     *
+     * @param terminalNumber identifying number of this terminal
+     * @param gateCapacity maximum number of gates allowed in this terminal
+     * @throws IllegalArgumentException if gateCapacity &lt; 0
+     */
+    protected Terminal(int terminalNumber, int gateCapacity) {
+        if (gateCapacity < 0) {
+            throw new IllegalArgumentException("Gate capacity must not be negative");
+        }
         this.terminalNumber = terminalNumber;
-        this.gates = new ArrayList<>();
+        this.gateCapacity = gateCapacity;
+        this.gates = new ArrayList<>(Math.min(gateCapacity, MAX_NUM_GATES));
+        this.freeGates = new BitSet();
+        this.numOccupiedGates = 0;
         this.emergency = false;
+        this.listeners = new ArrayList<>(1);
+    }
+
+    /**
+     * Registers the given listener to be notified of changes to this terminal's gates and
+     * emergency state.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(TerminalListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener previously registered with {@link #addListener(TerminalListener)}.
+     * <p>
+     * If the listener is not registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(TerminalListener listener) {
+        this.listeners.remove(listener);
     }
 
     /**
@@ -57,18 +117,30 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     /**
      * Adds a gate to the terminal.
      * <p>
-     * If the terminal is currently at maximum capacity ({@link #MAX_NUM_GATES}), then the gate
-     * should not be added, and instead a NoSpaceException should be thrown.
+     * If the terminal is currently at maximum capacity ({@link #getGateCapacity()}, which is
+     * {@link #MAX_NUM_GATES} by default), then the gate should not be added, and instead a
+     * NoSpaceException should be thrown.
      *
      * @param gate gate to add to terminal
      * @throws NoSpaceException if there is no space at the terminal for the new gate
      * @ass1
      */
     public void addGate(Gate gate) throws NoSpaceException {
-        if (this.gates.size() == MAX_NUM_GATES) {
-            throw new NoSpaceException("Maximum number of gates reached (" + MAX_NUM_GATES + ")");
+        if (this.gates.size() == this.gateCapacity) {
+            throw new NoSpaceException("Maximum number of gates reached (" + this.gateCapacity
+                    + ")");
         }
+        int position = this.gates.size();
         this.gates.add(gate);
+        if (gate.isOccupied()) {
+            this.numOccupiedGates++;
+        } else {
+            this.freeGates.set(position);
+        }
+        gate.addTerminal(this, position);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).gateAdded(this, gate);
+        }
     }
 
     /**
@@ -86,6 +158,36 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
         return new ArrayList<>(this.gates);
     }
 
+    /**
+     * Returns the maximum number of gates allowed in this terminal.
+     *
+     * @return gate capacity
+     */
+    public int getGateCapacity() {
+        return this.gateCapacity;
+    }
+
+    /**
+     * Returns the number of gates in this terminal.
+     *
+     * @return number of gates
+     */
+    public int getNumGates() {
+        return this.gates.size();
+    }
+
+    /**
+     * Returns the number of gates in this terminal that have an aircraft parked at them.
+     * <p>
+     * The count is kept up to date as aircraft park and leave, so this method takes constant
+     * time.
+     *
+     * @return number of occupied gates
+     */
+    public int getNumOccupiedGates() {
+        return this.numOccupiedGates;
+    }
+
     /**
      * Finds and returns the first non-occupied gate in this terminal.
      * <p>
@@ -99,12 +201,13 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      * @ass1
      */
     public Gate findUnoccupiedGate() throws NoSuitableGateException {
-        for (Gate gate : this.gates) {
-            if (!gate.isOccupied()) {
-                return gate;
-            }
+        // the first unoccupied gate is found by a word-at-a-time search of the free gates
+        int position = this.freeGates.nextSetBit(0);
+        if (position < 0) {
+            throw new NoSuitableGateException("No unoccupied gate in terminal "
+                    + this.terminalNumber);
         }
-        throw new NoSuitableGateException("No unoccupied gate in terminal " + this.terminalNumber);
+        return this.gates.get(position);
     }
 
     /**
@@ -113,7 +216,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        if (!this.emergency) {
+            this.emergency = true;
+            notifyEmergencyChanged();
+        }
     }
 
     /**
@@ -122,7 +228,37 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        if (this.emergency) {
+            this.emergency = false;
+            notifyEmergencyChanged();
+        }
+    }
+
+    /* Notifies all listeners that the emergency state of this terminal has changed. */
+    private void notifyEmergencyChanged() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).emergencyChanged(this);
+        }
+    }
+
+    /* Called by the gate at the given position in this terminal after the given aircraft was
+    parked at it. */
+    void aircraftParked(Gate gate, int position, Aircraft aircraft) {
+        this.freeGates.clear(position);
+        this.numOccupiedGates++;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).aircraftParked(this, gate, aircraft);
+        }
+    }
+
+    /* Called by the gate at the given position in this terminal after the given aircraft left
+    it. */
+    void aircraftLeft(Gate gate, int position, Aircraft aircraft) {
+        this.freeGates.set(position);
+        this.numOccupiedGates--;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).aircraftLeft(this, gate, aircraft);
+        }
     }
 
     /**
@@ -142,19 +278,16 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      * <p>
      * For example, if the terminal has 3 gates and 2 are occupied, the ratio should be
      * {@code 2/3 = 0.666...} and the rounded percentage is 67%, so 67 should be returned.
+     * <p>
+     * The number of occupied gates is counted as aircraft park and leave, so this method takes
+     * constant time.
      *
      * @return percentage of occupied gates in this terminal, 0 to 100
      * @ass1
      */
     @Override
     public int calculateOccupancyLevel() {
-        int numOccupiedGates = 0;
-        for (Gate gate : this.gates) {
-            if (gate.isOccupied()) {
-                numOccupiedGates++;
-            }
-        }
-        return (int) Math.round(100 * (double) numOccupiedGates / this.gates.size());
+        return (int) Math.round(100 * (double) this.numOccupiedGates / this.gates.size());
     }
 
     /**
@@ -220,6 +353,9 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
 
     /**
      * Returns the machine-readable string representation of this terminal.
+     * <p>
+     * If the gate capacity of this terminal is not {@link #MAX_NUM_GATES}, it is added as a
+     * fifth field of the first line, after the number of gates.
      *
      * @return encoded string representation of this terminal
      */
@@ -229,19 +365,18 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
         terminal.add(this.getClass().getSimpleName());
         terminal.add("" + this.getTerminalNumber());
         terminal.add("" + this.hasEmergency());
-        terminal.add("" + this.getGates().size());
+        terminal.add("" + this.gates.size());
+        if (this.gateCapacity != MAX_NUM_GATES) {
+            // the capacity is only given for terminals that do not have the default capacity
+            terminal.add("" + this.gateCapacity);
+        }
 
-        if (this.getGates().size() == 0) {
-            // there is no gate controlled by terminal, return the terminal string
-            return terminal.toString();
-        } else {
-            // machine-readable string of terminal and all of gate controlled by it
-            StringBuilder terminalWithGate = new StringBuilder();
-            terminalWithGate.append(terminal.toString());
-            for (Gate gate : this.getGates()) {
-                terminalWithGate.append(System.lineSeparator()).append(gate.encode());
-            }
-            return terminalWithGate.toString();
+        // machine-readable string of terminal and all of gate controlled by it
+        StringBuilder terminalWithGate = new StringBuilder(32 + 16 * this.gates.size());
+        terminalWithGate.append(terminal.toString());
+        for (int i = 0; i < this.gates.size(); i++) {
+            terminalWithGate.append(System.lineSeparator()).append(this.gates.get(i).encode());
         }
+        return terminalWithGate.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package towersim.ground;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Denotes an object that wishes to be notified of changes to the gates and emergency state
+ * of a terminal.
+ * <p>
+ * Listeners are registered with {@link Terminal#addListener(TerminalListener)}. All methods have
+ * empty default implementations so that implementing classes only need to override the
+ * notifications they are interested in.
+ */
+public interface TerminalListener {
+
+    /**
+     * Called after a gate has been added to the given terminal.
+     *
+     * @param terminal terminal that the gate was added to
+     * @param gate gate that was added
+     */
+    default void gateAdded(Terminal terminal, Gate gate) {
+    }
+
+    /**
+     * Called after an aircraft has been parked at a gate of the given terminal.
+     *
+     * @param terminal terminal containing the gate
+     * @param gate gate that became occupied
+     * @param aircraft aircraft that was parked at the gate
+     */
+    default void aircraftParked(Terminal terminal, Gate gate, Aircraft aircraft) {
+    }
+
+    /**
+     * Called after an aircraft has left a gate of the given terminal.
+     *
+     * @param terminal terminal containing the gate
+     * @param gate gate that became unoccupied
+     * @param aircraft aircraft that left the gate
+     */
+    default void aircraftLeft(Terminal terminal, Gate gate, Aircraft aircraft) {
+    }
+
+    /**
+     * Called after a state of emergency has been declared or cleared on the given terminal.
+     *
+     * @param terminal terminal whose emergency state changed
+     */
+    default void emergencyChanged(Terminal terminal) {
+    }
+}
@@ -0,0 +1,154 @@
+package towersim.ground;
+
+import towersim.util.Encodable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Immutable record of the state of a terminal and its gates at a point in time.
+ * <p>
+ * Snapshots can be read from any thread, independently of the terminal they were taken from.
+ */
+public final class TerminalSnapshot implements Encodable {
+    /** simple name of the class of the terminal */
+    private final String terminalType;
+
+    /** terminal number of the terminal */
+    private final int terminalNumber;
+
+    /** whether the terminal was in a state of emergency */
+    private final boolean emergency;
+
+    /** maximum number of gates allowed in the terminal */
+    private final int gateCapacity;
+
+    /** gate numbers of the terminal's gates, in order */
+    private final int[] gateNumbers;
+
+    /** callsigns of the aircraft at each gate, in order; null for unoccupied gates */
+    private final List<String> occupants;
+
+    /**
+     * Takes a snapshot of the current state of the given terminal and its gates.
+     * <p>
+     * This should be called on the thread that modifies the terminal.
+     *
+     * @param terminal terminal to take a snapshot of
+     */
+    public TerminalSnapshot(Terminal terminal) {
+        this.terminalType = terminal.getClass().getSimpleName();
+        this.terminalNumber = terminal.getTerminalNumber();
+        this.emergency = terminal.hasEmergency();
+        this.gateCapacity = terminal.getGateCapacity();
+        List<Gate> gates = terminal.getGates();
+        this.gateNumbers = new int[gates.size()];
+        List<String> callsigns = new ArrayList<>(gates.size());
+        for (int i = 0; i < gates.size(); i++) {
+            Gate gate = gates.get(i);
+            this.gateNumbers[i] = gate.getGateNumber();
+            callsigns.add(gate.isOccupied() ? gate.getAircraftAtGate().getCallsign() : null);
+        }
+        this.occupants = Collections.unmodifiableList(callsigns);
+    }
+
+    /**
+     * Returns true if the given terminal and its gates are in the same state as when this
+     * snapshot was taken, so that this snapshot can be reused rather than taking a new one.
+     *
+     * @param terminal terminal to compare with
+     * @return true if this snapshot is an up-to-date snapshot of the given terminal
+     */
+    public boolean isCurrent(Terminal terminal) {
+        if (terminal.hasEmergency() != emergency
+                || terminal.getTerminalNumber() != terminalNumber
+                || terminal.getNumGates() != gateNumbers.length) {
+            return false;
+        }
+        List<Gate> gates = terminal.getGates();
+        for (int i = 0; i < gateNumbers.length; i++) {
+            Gate gate = gates.get(i);
+            String occupant = gate.isOccupied() ? gate.getAircraftAtGate().getCallsign() : null;
+            if (gate.getGateNumber() != gateNumbers[i]
+                    || !Objects.equals(occupant, occupants.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the terminal number of the terminal.
+     *
+     * @return terminal number
+     */
+    public int getTerminalNumber() {
+        return terminalNumber;
+    }
+
+    /**
+     * Returns whether the terminal was in a state of emergency.
+     *
+     * @return true if the terminal had an emergency; false otherwise
+     */
+    public boolean hasEmergency() {
+        return emergency;
+    }
+
+    /**
+     * Returns the number of gates in the terminal.
+     *
+     * @return number of gates
+     */
+    public int getNumGates() {
+        return gateNumbers.length;
+    }
+
+    /**
+     * Returns the gate number of the gate at the given position in the terminal.
+     *
+     * @param index position of the gate, starting from zero
+     * @return gate number
+     */
+    public int getGateNumber(int index) {
+        return gateNumbers[index];
+    }
+
+    /**
+     * Returns the callsigns of the aircraft at each gate of the terminal, in the order the gates
+     * were added; unoccupied gates are represented by null.
+     *
+     * @return unmodifiable list of gate occupants
+     */
+    public List<String> getOccupants() {
+        return occupants;
+    }
+
+    /**
+     * Returns the machine-readable string representation of the terminal and its gates, as given
+     * by {@link Terminal#encode()}.
+     *
+     * @return encoded string representation of the terminal
+     */
+    @Override
+    public String encode() {
+        StringJoiner terminal = new StringJoiner(":");
+        terminal.add(terminalType);
+        terminal.add("" + terminalNumber);
+        terminal.add("" + emergency);
+        terminal.add("" + gateNumbers.length);
+        if (gateCapacity != Terminal.MAX_NUM_GATES) {
+            terminal.add("" + gateCapacity);
+        }
+        StringBuilder result = new StringBuilder(terminal.toString());
+        for (int i = 0; i < gateNumbers.length; i++) {
+            String occupant = occupants.get(i);
+            result.append(System.lineSeparator()).append(gateNumbers[i]).append(":")
+                    .append(occupant == null ? "empty" : occupant);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package towersim.tasks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, validated sequence of tasks that may be shared by the task lists of any number of
+ * aircraft.
+ * <p>
+ * Task cycles are interned: {@link #of(List)} returns the same instance for every list of equal
+ * tasks, so a fleet that flies a few dozen distinct schedules holds only a few dozen task
+ * cycles, however many aircraft it has. The order of the tasks is checked once, when a cycle is
+ * first interned. Each {@link TaskList} keeps only its position in its cycle.
+ * <p>
+ * The type of each task is stored as a byte, so looking up the type of a task is a single array
+ * read. The length of the run of tasks of the same type starting at each task is also computed
+ * once, so counting consecutive tasks of a type takes constant time.
+ */
+public final class TaskCycle {
+    /** all task types, indexed by ordinal */
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    /** every task cycle interned so far, keyed by its encoded representation */
+    private static final Map<String, TaskCycle> INTERNED = new ConcurrentHashMap<>();
+
+    /** tasks in the cycle; never modified */
+    private final Task[] tasks;
+
+    /** ordinal of the type of each task in the cycle */
+    private final byte[] types;
+
+    /** number of consecutive tasks of the same type starting from each task, at most the size */
+    private final int[] runLengths;
+
+    /** encoded representation of the cycle starting from each task, computed when first used */
+    private final String[] encodings;
+
+    private TaskCycle(List<Task> tasks) {
+        this.tasks = tasks.toArray(new Task[0]);
+        this.types = new byte[this.tasks.length];
+        for (int i = 0; i < this.tasks.length; i++) {
+            this.types[i] = (byte) this.tasks[i].getType().ordinal();
+        }
+        this.runLengths = computeRunLengths(this.types);
+        this.encodings = new String[this.tasks.length];
+    }
+
+    /* Returns the length of the run of tasks of the same type starting from each task, wrapping
+    around the end of the cycle. Every run is the size of the cycle if all tasks share a type. */
+    private static int[] computeRunLengths(byte[] types) {
+        int size = types.length;
+        int[] runLengths = new int[size];
+        // find a task that starts a run, so that walking backwards from it never wraps into the
+        // middle of a run
+        int start = 0;
+        while (start < size && types[start] == types[(start + size - 1) % size]) {
+            start++;
+        }
+        if (start == size) {
+            Arrays.fill(runLengths, size);
+            return runLengths;
+        }
+        // walk backwards from the task before the start of that run, all the way around
+        int next = start;
+        for (int step = 1; step <= size; step++) {
+            int index = (start - step + size) % size;
+            runLengths[index] = types[index] == types[next] ? runLengths[next] + 1 : 1;
+            next = index;
+        }
+        return runLengths;
+    }
+
+    /**
+     * Returns the task cycle consisting of the given tasks, in the given order.
+     * <p>
+     * Cycles are interned by their encoded representation. If a cycle of equal tasks has
+     * already been interned, that cycle is returned. Otherwise, the order of the tasks is checked
+     * and a new cycle is interned.
+     *
+     * @param tasks list of tasks
+     * @return shared task cycle of the given tasks
+     * @throws IllegalArgumentException if the list of tasks is empty, or if the order of the
+     * tasks is invalid
+     */
+    public static TaskCycle of(List<Task> tasks) {
+        if (tasks.size() == 0) {
+            throw new IllegalArgumentException();
+        }
+        StringJoiner key = new StringJoiner(",");
+        for (Task task : tasks) {
+            key.add(task.encode());
+        }
+        String encoded = key.toString();
+        TaskCycle existing = INTERNED.get(encoded);
+        if (existing != null && existing.hasTasks(tasks)) {
+            return existing;
+        }
+        for (int indexOfTask = 0; indexOfTask < tasks.size(); indexOfTask++) {
+            Task nextTask = tasks.get((indexOfTask + 1) % tasks.size());
+            if (isInvalidTasks(tasks.get(indexOfTask), nextTask)) {
+                // the order of tasks is invalid.
+                throw new IllegalArgumentException();
+            }
+        }
+        TaskCycle cycle = new TaskCycle(tasks);
+        cycle.encodings[0] = encoded;
+        if (existing == null) {
+            existing = INTERNED.putIfAbsent(encoded, cycle);
+        }
+        // tasks that are encoded alike but are not equal, such as a task other than LOAD given
+        // a load percentage, get a cycle of their own
+        return existing != null && existing.hasTasks(tasks) ? existing : cycle;
+    }
+
+    /* Returns true if the tasks of this cycle are equal to the given tasks, in order. */
+    private boolean hasTasks(List<Task> tasks) {
+        if (tasks.size() != this.tasks.length) {
+            return false;
+        }
+        for (int i = 0; i < this.tasks.length; i++) {
+            if (!this.tasks[i].equals(tasks.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Return true if the given tasks is not valid. */
+    private static boolean isInvalidTasks(Task currentTask, Task nextTask) {
+        switch (currentTask.getType()) {
+            case TAKEOFF :
+                return !nextTask.getType().equals(TaskType.AWAY);
+            case LOAD :
+                return !nextTask.getType().equals(TaskType.TAKEOFF);
+            case WAIT :
+            case LAND :
+                return !(nextTask.getType().equals(TaskType.LOAD)
+                        || nextTask.getType().equals(TaskType.WAIT));
+            case AWAY :
+                return !(nextTask.getType().equals(TaskType.AWAY)
+                        || nextTask.getType().equals(TaskType.LAND));
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of tasks in the cycle.
+     *
+     * @return number of tasks
+     */
+    public int size() {
+        return tasks.length;
+    }
+
+    /**
+     * Returns the task at the given position in the cycle.
+     *
+     * @param index position of the task, starting from zero
+     * @return task at the given position
+     */
+    public Task getTask(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * Returns the type of the task at the given position in the cycle.
+     *
+     * @param index position of the task, starting from zero
+     * @return type of the task at the given position
+     */
+    public TaskType getType(int index) {
+        return TASK_TYPES[types[index]];
+    }
+
+    /**
+     * Returns the number of consecutive tasks in the cycle with the same type as the task at the
+     * given position, starting from (and including) that task and wrapping around the end of the
+     * cycle.
+     * <p>
+     * If every task in the cycle has the same type, the size of the cycle is returned.
+     *
+     * @param index position of the first task, starting from zero
+     * @return length of the run of tasks of the same type starting at the given position
+     */
+    public int getRunLength(int index) {
+        return runLengths[index];
+    }
+
+    /**
+     * Returns the machine-readable string representation of the cycle, starting from the task at
+     * the given position and wrapping around to end on the task before it.
+     * <p>
+     * The representation of each rotation is computed once and then reused.
+     *
+     * @param start position of the first task to encode
+     * @return encoded string representation of the cycle
+     */
+    public String encode(int start) {
+        String encoded = encodings[start];
+        if (encoded == null) {
+            StringJoiner result = new StringJoiner(",");
+            for (int i = 0; i < tasks.length; i++) {
+                result.add(tasks[(start + i) % tasks.length].encode());
+            }
+            // computing the same string twice on different threads is harmless
+            encoded = result.toString();
+            encodings[start] = encoded;
+        }
+        return encoded;
+    }
+}
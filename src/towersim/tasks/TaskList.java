@@ -3,70 +3,47 @@ package towersim.tasks;
 import towersim.util.Encodable;
 
 import java.util.List;
-import java.util.StringJoiner;
 
 /**
  * Represents a circular list of tasks for an aircraft to cycle through.
  * @ass1
  */
 public class TaskList implements Encodable {
-    /** List of tasks to cycle through. */
-    private final List<Task> tasks;
-    /** Index of current task in tasks list. */
+    /** Shared cycle of tasks to cycle through. */
+    private final TaskCycle cycle;
+    /** Index of current task in tasks list, while the list is not bound to task positions. */
     private int currentTaskIndex;
+    /** Task positions holding the index of the current task, or null if this list holds it. */
+    private TaskPositions positions;
+    /** Slot of the index of the current task within the task positions bound to. */
+    private int positionSlot;
 
     /**
      * Creates a new TaskList with the given list of tasks.
      * <p>
      * Initially, the current task (as returned by {@link #getCurrentTask()}) should be the first
      * task in the given list.
+     * <p>
+     * The tasks are interned as a {@link TaskCycle}, shared with every other task list of equal
+     * tasks.
      *
      * @param tasks list of tasks
      * @ass1
      */
     public TaskList(List<Task> tasks) {
-        if (tasks.size() == 0) {
-            throw new IllegalArgumentException();
-        }
-
-        for (int indexOfTask = 0; indexOfTask < tasks.size(); indexOfTask++) {
-            Task currentTask = tasks.get(indexOfTask);
-            Task nextTask = getNextTaskInArraylist(tasks, indexOfTask);
-            if (isInvalidTasks(currentTask, nextTask)) {
-                // the order of tasks is invalid.
-                throw new IllegalArgumentException();
-            }
-        }
-
-        this.tasks = tasks;
-        this.currentTaskIndex = 0;
-    }
-
-    /* return the next task inside the arraylist with given index of current task. */
-    private static Task getNextTaskInArraylist(List<Task> tasks, int currentTaskIndex) {
-        if (currentTaskIndex == tasks.size() - 1) {
-            return tasks.get(0);
-        } else {
-            return tasks.get(currentTaskIndex + 1);
-        }
+        this(TaskCycle.of(tasks));
     }
 
-    /* Return true if the given tasks is not valid. */
-    private static Boolean isInvalidTasks(Task currentTask, Task nextTask) {
-        switch (currentTask.getType()) {
-            case TAKEOFF :
-                return !nextTask.getType().equals(TaskType.AWAY);
-            case LOAD :
-                return !nextTask.getType().equals(TaskType.TAKEOFF);
-            case WAIT :
-            case LAND :
-                return !(nextTask.getType().equals(TaskType.LOAD)
-                        || nextTask.getType().equals(TaskType.WAIT));
-            case AWAY :
-                return !(nextTask.getType().equals(TaskType.AWAY)
-                        || nextTask.getType().equals(TaskType.LAND));
-        }
-        return false;
+    /**
+     * Creates a new TaskList that cycles through the given shared task cycle.
+     * <p>
+     * Initially, the current task should be the first task in the cycle.
+     *
+     * @param cycle task cycle
+     */
+    public TaskList(TaskCycle cycle) {
+        this.cycle = cycle;
+        this.currentTaskIndex = 0;
     }
 
     /**
@@ -76,7 +53,18 @@ public class TaskList implements Encodable {
      * @ass1
      */
     public Task getCurrentTask() {
-        return this.tasks.get(this.currentTaskIndex);
+        return this.cycle.getTask(getCurrentTaskIndex());
+    }
+
+    /**
+     * Returns the type of the current task in the list.
+     * <p>
+     * This is equivalent to {@code getCurrentTask().getType()}.
+     *
+     * @return type of the current task
+     */
+    public TaskType getCurrentTaskType() {
+        return this.cycle.getType(getCurrentTaskIndex());
     }
 
     /**
@@ -92,8 +80,8 @@ public class TaskList implements Encodable {
      * @ass1
      */
     public Task getNextTask() {
-        int nextTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
-        return this.tasks.get(nextTaskIndex);
+        int nextTaskIndex = (getCurrentTaskIndex() + 1) % this.cycle.size();
+        return this.cycle.getTask(nextTaskIndex);
     }
 
     /**
@@ -107,7 +95,122 @@ public class TaskList implements Encodable {
      * @ass1
      */
     public void moveToNextTask() {
-        this.currentTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
+        setCurrentTaskIndex((getCurrentTaskIndex() + 1) % this.cycle.size());
+    }
+
+    /**
+     * Moves the reference to the current task forward by the given number of tasks in the
+     * circular task list.
+     * <p>
+     * This is equivalent to calling {@link #moveToNextTask()} {@code numTasks} times.
+     *
+     * @param numTasks number of tasks to move forward by
+     * @throws IllegalArgumentException if numTasks &lt; 0
+     */
+    public void moveForward(long numTasks) {
+        if (numTasks < 0) {
+            throw new IllegalArgumentException("Cannot move backwards through the task list");
+        }
+        setCurrentTaskIndex((int) ((getCurrentTaskIndex() + numTasks % this.cycle.size())
+                % this.cycle.size()));
+    }
+
+    /**
+     * Returns the number of consecutive tasks of the given type in the circular task list,
+     * starting from (and including) the current task.
+     * <p>
+     * If the current task is not of the given type, zero is returned. If every task in the list
+     * is of the given type, the size of the list is returned. This takes constant time, since
+     * the run lengths of the shared task cycle are computed once.
+     *
+     * @param type type of task to count
+     * @return number of consecutive tasks of the given type from the current task
+     */
+    public int countConsecutiveTasks(TaskType type) {
+        int index = getCurrentTaskIndex();
+        if (this.cycle.getType(index) != type) {
+            return 0;
+        }
+        return this.cycle.getRunLength(index);
+    }
+
+    /**
+     * Returns the position of the current task in the list, starting from zero.
+     *
+     * @return index of the current task
+     */
+    public int getCurrentTaskIndex() {
+        if (this.positions != null) {
+            return this.positions.getTaskIndex(this.positionSlot);
+        }
+        return this.currentTaskIndex;
+    }
+
+    /* Sets the position of the current task, wherever it is held. */
+    private void setCurrentTaskIndex(int index) {
+        if (this.positions != null) {
+            this.positions.setTaskIndex(this.positionSlot, index);
+        } else {
+            this.currentTaskIndex = index;
+        }
+    }
+
+    /**
+     * Binds this list to a slot of the given task positions, so that the position of its current
+     * task is held in that slot from now on.
+     * <p>
+     * The current position of this list is written to the slot. A list can only be bound once.
+     *
+     * @param positions task positions to hold the position of the current task
+     * @param slot slot of the task positions to use
+     * @throws IllegalStateException if this list is already bound to task positions
+     */
+    public void bind(TaskPositions positions, int slot) {
+        if (this.positions != null) {
+            throw new IllegalStateException("Task list is already bound to task positions");
+        }
+        positions.setTaskIndex(slot, this.currentTaskIndex);
+        this.positions = positions;
+        this.positionSlot = slot;
+    }
+
+    /**
+     * Returns the task positions this list is bound to, or null if it holds the position of its
+     * current task itself.
+     *
+     * @return task positions bound to, or null if not bound
+     */
+    public TaskPositions getPositions() {
+        return this.positions;
+    }
+
+    /**
+     * Returns the slot of the task positions this list is bound to.
+     * <p>
+     * The result is only meaningful if {@link #getPositions()} is not null.
+     *
+     * @return slot holding the position of the current task
+     */
+    public int getPositionSlot() {
+        return this.positionSlot;
+    }
+
+    /**
+     * Returns the shared task cycle this list cycles through.
+     *
+     * @return task cycle
+     */
+    public TaskCycle getCycle() {
+        return this.cycle;
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return number of tasks
+     */
+    public int size() {
+        return this.cycle.size();
     }
 
     /**
@@ -131,8 +234,8 @@ public class TaskList implements Encodable {
     public String toString() {
         return String.format("TaskList currently on %s [%d/%d]",
                 this.getCurrentTask(),
-                this.currentTaskIndex + 1,
-                this.tasks.size());
+                getCurrentTaskIndex() + 1,
+                this.cycle.size());
     }
 
     /**
@@ -142,12 +245,6 @@ public class TaskList implements Encodable {
      */
     @Override
     public String encode() {
-        // a StringBuilder to store encodes of task
-        StringJoiner result = new StringJoiner(",");
-        for (int indexOfTask = 0; indexOfTask < tasks.size(); indexOfTask++) {
-            result.add(getCurrentTask().encode());
-            moveToNextTask();
-        }
-        return result.toString();
+        return this.cycle.encode(getCurrentTaskIndex());
     }
 }
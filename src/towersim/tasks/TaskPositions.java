@@ -0,0 +1,27 @@
+package towersim.tasks;
+
+/**
+ * Storage for the positions of the current tasks of any number of task lists, kept outside the
+ * task lists themselves.
+ * <p>
+ * A {@link TaskList} bound to a slot with {@link TaskList#bind(TaskPositions, int)} reads and
+ * writes the position of its current task in that slot, so the positions of a whole fleet of
+ * task lists can be held in a single array.
+ */
+public interface TaskPositions {
+    /**
+     * Returns the position of the current task held in the given slot.
+     *
+     * @param slot slot holding the position
+     * @return index of the current task
+     */
+    int getTaskIndex(int slot);
+
+    /**
+     * Sets the position of the current task held in the given slot.
+     *
+     * @param slot slot holding the position
+     * @param index index of the current task
+     */
+    void setTaskIndex(int slot, int index);
+}
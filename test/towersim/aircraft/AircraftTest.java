@@ -219,6 +219,77 @@ public class AircraftTest {
                 0, passengerAircraft2.getFuelAmount(), 1e-5);
     }
 
+    @Test
+    public void burnFuelAway_MatchesTickTest() {
+        for (int i = 0; i < 4; i++) {
+            passengerAircraft2.tick();
+        }
+        passengerAircraft1.burnFuelAway(4);
+        assertEquals("burnFuelAway() should burn exactly the same fuel as ticking while AWAY",
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity * 6/10,
+                passengerAircraft1.getFuelAmount(), 1e-5);
+
+        passengerAircraft2.burnFuelAway(Long.MAX_VALUE);
+        assertEquals("burnFuelAway() should not reduce fuel onboard below zero",
+                0, passengerAircraft2.getFuelAmount(), 0);
+        assertEquals("burnFuelAway() should not change the current task",
+                TaskType.AWAY, passengerAircraft1.getTaskList().getCurrentTask().getType());
+    }
+
+    @Test
+    public void countAwayTicksUntilFuelBelow_MatchesTickTest() {
+        for (int percent = -1; percent <= 101; percent++) {
+            for (int tenths = 0; tenths <= 30; tenths++) {
+                Aircraft aircraft = new DummyAircraft("PROJ", AircraftCharacteristics.BOEING_787,
+                        new TaskList(List.of(new Task(TaskType.AWAY))),
+                        AircraftCharacteristics.BOEING_787.fuelCapacity * tenths / 30);
+                int projected = aircraft.countAwayTicksUntilFuelBelow(percent);
+                int empty = aircraft.countAwayTicksUntilFuelEmpty();
+                int ticks = 0;
+                while (aircraft.getFuelPercentRemaining() >= percent && ticks <= 20) {
+                    aircraft.tick();
+                    ticks++;
+                }
+                assertEquals("projection should match ticking for " + percent + "% from "
+                        + tenths + "/30", percent <= 0 ? -1 : ticks, projected);
+
+                aircraft = new DummyAircraft("PROJ", AircraftCharacteristics.BOEING_787,
+                        new TaskList(List.of(new Task(TaskType.AWAY))),
+                        AircraftCharacteristics.BOEING_787.fuelCapacity * tenths / 30);
+                for (int i = 0; i < empty; i++) {
+                    assertTrue(aircraft.getFuelAmount() > 0);
+                    aircraft.tick();
+                }
+                assertEquals(0, aircraft.getFuelAmount(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void projectTicksUntilFuelBelow_CurrentAwayRunTest() {
+        // passengerAircraft3 has enough fuel for several AWAY ticks, but is only AWAY for two
+        // ticks once it takes off
+        assertEquals("already below the percentage", 0,
+                passengerAircraft3.projectTicksUntilFuelBelow(100));
+        assertEquals("not AWAY, so cannot be projected", -1,
+                passengerAircraft3.projectTicksUntilFuelBelow(20));
+        passengerAircraft3.getTaskList().moveForward(2);
+        // 67% -> 57% -> 47% over its two AWAY ticks
+        assertEquals(2, passengerAircraft3.countAwayTicksUntilFuelBelow(50));
+        assertEquals(2, passengerAircraft3.projectTicksUntilFuelBelow(50));
+        assertEquals(3, passengerAircraft3.countAwayTicksUntilFuelBelow(40));
+        assertEquals(-1, passengerAircraft3.projectTicksUntilFuelBelow(40));
+        assertEquals(-1, passengerAircraft3.projectTicksUntilFuelEmpty());
+
+        // an aircraft that is only ever AWAY can always be projected
+        Aircraft awayOnly = new DummyAircraft("AWAY1", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(new Task(TaskType.AWAY))),
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity);
+        assertEquals(9, awayOnly.projectTicksUntilFuelBelow(20));
+        assertEquals(10, awayOnly.projectTicksUntilFuelEmpty());
+        assertEquals(-1, awayOnly.projectTicksUntilFuelBelow(0));
+    }
+
     @Test
     public void tick_RefuelsLoadingAircraftTest() {
         String failMsg = "tick() should increase current fuel by fuelCapacity/loadingTime litres";
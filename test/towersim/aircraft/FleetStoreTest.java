@@ -0,0 +1,219 @@
+package towersim.aircraft;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FleetStoreTest {
+    private List<Aircraft> aircraft;
+    private FleetStore store;
+
+    @Before
+    public void setup() {
+        this.aircraft = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            aircraft.add(createAircraft(i, null));
+        }
+        this.store = new FleetStore(0);
+        for (int i = 0; i < 40; i++) {
+            createAircraft(i, store);
+        }
+    }
+
+    /* Creates an aircraft whose kind, task list and state depend on the given number, in the
+    given store or in a store of its own if the store is null */
+    private static Aircraft createAircraft(int i, FleetStore store) {
+        List<Task> tasks = new ArrayList<>();
+        for (int away = 0; away <= i % 3; away++) {
+            tasks.add(new Task(TaskType.AWAY));
+        }
+        tasks.add(new Task(TaskType.LAND));
+        tasks.add(new Task(TaskType.WAIT));
+        tasks.add(new Task(TaskType.LOAD, 25 * (i % 5)));
+        tasks.add(new Task(TaskType.TAKEOFF));
+        TaskList taskList = new TaskList(tasks);
+        for (int skip = 0; skip < i % 4; skip++) {
+            taskList.moveToNextTask();
+        }
+        double passengerFuel = AircraftCharacteristics.AIRBUS_A320.fuelCapacity * (i % 7) / 7;
+        double freightFuel = AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2;
+        Aircraft plane;
+        if (i % 2 == 0) {
+            plane = store == null
+                    ? new PassengerAircraft("PAS" + i, AircraftCharacteristics.AIRBUS_A320,
+                            taskList, passengerFuel, 0)
+                    : new PassengerAircraft(store, "PAS" + i,
+                            AircraftCharacteristics.AIRBUS_A320, taskList, passengerFuel, 0);
+        } else {
+            plane = store == null
+                    ? new FreightAircraft("FRE" + i, AircraftCharacteristics.BOEING_747_8F,
+                            taskList, freightFuel, i * 100)
+                    : new FreightAircraft(store, "FRE" + i,
+                            AircraftCharacteristics.BOEING_747_8F, taskList, freightFuel, i * 100);
+        }
+        if (i % 5 == 0) {
+            plane.declareEmergency();
+        }
+        return plane;
+    }
+
+    @Test
+    public void add_ViewsSlotTest() {
+        assertEquals(40, store.size());
+        for (int i = 0; i < aircraft.size(); i++) {
+            Aircraft view = store.get(i);
+            assertSame(store, view.getFleetStore());
+            assertEquals(i, view.getSlot());
+            assertEquals(aircraft.get(i).encode(), view.encode());
+            assertEquals(aircraft.get(i).toString(), view.toString());
+            assertEquals(aircraft.get(i).calculateOccupancyLevel(),
+                    view.calculateOccupancyLevel());
+        }
+    }
+
+    @Test
+    public void add_OwnStoreTest() {
+        for (Aircraft plane : aircraft) {
+            assertEquals(1, plane.getFleetStore().size());
+            assertSame(plane, plane.getFleetStore().get(0));
+        }
+    }
+
+    @Test
+    public void add_SharedTaskListTest() {
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        Aircraft first = new PassengerAircraft("SHR001", AircraftCharacteristics.AIRBUS_A320,
+                taskList, 0, 0);
+        Aircraft second = new PassengerAircraft("SHR002", AircraftCharacteristics.AIRBUS_A320,
+                taskList, 0, 0);
+        assertSame("an aircraft created with a bound task list should join its store",
+                first.getFleetStore(), second.getFleetStore());
+        assertSame(taskList, second.getTaskList());
+        taskList.moveToNextTask();
+        assertEquals(TaskType.LAND, first.getTaskList().getCurrentTaskType());
+        assertEquals(TaskType.LAND, second.getTaskList().getCurrentTaskType());
+    }
+
+    @Test
+    public void add_TaskListBoundElsewhereTest() {
+        TaskList taskList = aircraft.get(0).getTaskList();
+        try {
+            new PassengerAircraft(store, "OTH001", AircraftCharacteristics.AIRBUS_A320,
+                    taskList, 0, 0);
+            fail("Creating an aircraft with a task list bound to another store should throw an "
+                    + "IllegalArgumentException");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+        assertEquals(40, store.size());
+    }
+
+    @Test
+    public void add_InvalidCargoTest() {
+        try {
+            new FreightAircraft(store, "OTH001", AircraftCharacteristics.BOEING_747_8F,
+                    new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                            new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF))), 0, -1);
+            fail("Creating an aircraft with negative freight should throw an "
+                    + "IllegalArgumentException");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+        assertEquals("a rejected aircraft should not take a slot", 40, store.size());
+    }
+
+    @Test
+    public void add_SharesTaskCyclesTest() {
+        int distinct = store.getNumTaskCycles();
+        for (int i = 0; i < 40; i++) {
+            createAircraft(i, store);
+        }
+        assertEquals(80, store.size());
+        assertEquals("identical task lists should share a task cycle",
+                distinct, store.getNumTaskCycles());
+    }
+
+    @Test
+    public void tick_MatchesAircraftTest() {
+        BitSet moved = new BitSet();
+        for (int tick = 0; tick < 60; tick++) {
+            for (Aircraft plane : aircraft) {
+                plane.tick();
+            }
+            store.tick();
+            moved.clear();
+            store.moveAwayAndWaiting(moved);
+            for (int i = 0; i < aircraft.size(); i++) {
+                Aircraft plane = aircraft.get(i);
+                TaskType type = plane.getTaskList().getCurrentTaskType();
+                assertEquals(type == TaskType.AWAY || type == TaskType.WAIT, moved.get(i));
+                if (moved.get(i)) {
+                    plane.getTaskList().moveToNextTask();
+                } else if (tick % 3 == 0) {
+                    // move the remaining aircraft on some ticks, as landing and takeoff would
+                    plane.getTaskList().moveToNextTask();
+                    store.get(i).getTaskList().moveToNextTask();
+                    if (plane.getTaskList().getCurrentTaskType() == TaskType.LOAD) {
+                        plane.unload();
+                        store.get(i).unload();
+                    }
+                }
+            }
+            for (int i = 0; i < aircraft.size(); i++) {
+                assertEquals("state differs at tick " + tick,
+                        aircraft.get(i).encode(), store.get(i).encode());
+                assertEquals(aircraft.get(i).getModificationCount(),
+                        store.get(i).getModificationCount());
+                assertEquals(aircraft.get(i).getLoadingTime(), store.get(i).getLoadingTime());
+            }
+        }
+    }
+
+    @Test
+    public void tick_NotifiesListenersTest() {
+        int[] changes = new int[store.size()];
+        for (int i = 0; i < store.size(); i++) {
+            int slot = i;
+            store.get(i).addListener(new AircraftListener() {
+                @Override
+                public void fuelChanged(Aircraft aircraft) {
+                    assertSame(store.get(slot), aircraft);
+                    changes[slot]++;
+                }
+
+                @Override
+                public void emergencyChanged(Aircraft aircraft) {
+                }
+            });
+        }
+        double[] fuel = new double[store.size()];
+        for (int i = 0; i < store.size(); i++) {
+            fuel[i] = store.get(i).getFuelAmount();
+        }
+        store.tick();
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals("listeners should be notified once for each change of fuel",
+                    fuel[i] != store.get(i).getFuelAmount() ? 1 : 0, changes[i]);
+        }
+    }
+
+    @Test
+    public void get_OutOfBoundsTest() {
+        try {
+            store.get(40);
+            fail("Getting an unused slot should throw an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ignored) {
+            // expected
+        }
+    }
+}
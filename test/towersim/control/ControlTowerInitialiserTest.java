@@ -203,6 +203,18 @@ public class ControlTowerInitialiserTest {
         } catch (MalformedSaveException ignored) {}
     }
 
+    @Test
+    public void readTaskList_InternedNegativeLoadPercentTest() {
+        // a task list built in code may have a negative load percentage, but a save may not
+        new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, -30), new Task(TaskType.TAKEOFF)));
+        try {
+            ControlTowerInitialiser.readTaskList("AWAY,LAND,LOAD@-30,TAKEOFF");
+            fail("the readTaskList should throw a MalformedSaveException exception" +
+                    "since load percent is less than zero, even if the task list was seen before");
+        } catch (MalformedSaveException ignored) {}
+    }
+
     // this test is not necessary, just read from discussion board,
     // tutor would not test for this condition
     @Test
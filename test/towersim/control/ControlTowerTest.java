@@ -4,11 +4,15 @@ import org.junit.Before;
 import org.junit.Test;
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftListener;
+import towersim.aircraft.AircraftType;
 import towersim.aircraft.FreightAircraft;
 import towersim.aircraft.PassengerAircraft;
 import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
 import towersim.ground.HelicopterTerminal;
+import towersim.ground.Runway;
+import towersim.ground.RunwayMode;
 import towersim.ground.Terminal;
 import towersim.tasks.Task;
 import towersim.tasks.TaskList;
@@ -16,7 +20,10 @@ import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -390,6 +397,39 @@ public class ControlTowerTest {
                         + "at any gate", tower.findGateOfAircraft(passengerAircraft3));
     }
 
+    @Test
+    public void getNumOccupiedGates_CountsTest() throws NoSpaceException {
+        tower.addTerminal(helicopterTerminal1);
+        tower.addTerminal(airplaneTerminal1);
+        helicopterTerminal1.addGate(gate1);
+        airplaneTerminal1.addGate(gate2);
+        airplaneTerminal1.addGate(gate3);
+        gate4.parkAircraft(passengerAircraft2);
+        // terminal added with an occupied gate already in it
+        airplaneTerminal2.addGate(gate4);
+        tower.addTerminal(airplaneTerminal2);
+        gate1.parkAircraft(passengerAircraft3);
+        gate2.parkAircraft(passengerAircraft1);
+
+        assertEquals(4, tower.getNumGates());
+        assertEquals(3, tower.getNumOccupiedGates());
+        assertEquals(3, tower.getNumGates(AircraftType.AIRPLANE));
+        assertEquals(2, tower.getNumOccupiedGates(AircraftType.AIRPLANE));
+        assertEquals(1, tower.getNumOccupiedGates(AircraftType.HELICOPTER));
+        assertEquals(75, tower.calculateOccupancyLevel());
+
+        gate2.aircraftLeaves();
+        gate1.aircraftLeaves();
+        assertEquals(1, tower.getNumOccupiedGates(AircraftType.AIRPLANE));
+        assertEquals(0, tower.getNumOccupiedGates(AircraftType.HELICOPTER));
+        assertEquals(25, tower.calculateOccupancyLevel());
+    }
+
+    @Test
+    public void calculateOccupancyLevel_NoGatesTest() {
+        assertEquals(0, tower.calculateOccupancyLevel());
+    }
+
     @Test
     public void tick_CallsAircraftTickTest() {
         tower.addTerminal(helicopterTerminal1);
@@ -421,4 +461,696 @@ public class ControlTowerTest {
                 AircraftCharacteristics.ROBINSON_R44.fuelCapacity,
                 passengerAircraftLoadingSingleTick.getFuelAmount(), 1e-5);
     }
+
+    /* Creates a control tower with the given number of freshly created aircraft */
+    private static ControlTower createTowerWithAircraft(int numAircraft) {
+        ControlTower newTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        try {
+            for (int i = 0; i < Terminal.MAX_NUM_GATES; i++) {
+                terminal.addGate(new Gate(i + 1));
+            }
+        } catch (NoSpaceException e) {
+            fail("Adding up to MAX_NUM_GATES gates should not result in a NoSpaceException");
+        }
+        newTower.addTerminal(terminal);
+        for (int i = 0; i < numAircraft; i++) {
+            TaskList taskList = new TaskList(List.of(
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.LAND),
+                    new Task(TaskType.LOAD, 10 + i % 90),
+                    new Task(TaskType.TAKEOFF)));
+            for (int j = 0; j < i % 5; j++) {
+                taskList.moveToNextTask();
+            }
+            try {
+                newTower.addAircraft(new PassengerAircraft(String.format("PAR%04d", i),
+                        AircraftCharacteristics.AIRBUS_A320, taskList,
+                        AircraftCharacteristics.AIRBUS_A320.fuelCapacity * (i % 10) / 10, 0));
+            } catch (NoSuitableGateException e) {
+                // no gate for this aircraft, leave it out of the simulation
+            }
+        }
+        return newTower;
+    }
+
+    @Test
+    public void tick_ParallelTest() {
+        ControlTower sequential = createTowerWithAircraft(500);
+        ControlTower parallel = createTowerWithAircraft(500);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setParallelTicking(pool, 1);
+            for (int i = 0; i < 50; i++) {
+                sequential.tick();
+                parallel.tick();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Aircraft> expected = sequential.getAircraft();
+        List<Aircraft> actual = parallel.getAircraft();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("ticking aircraft in parallel should give the same results as ticking "
+                    + "them sequentially", expected.get(i).encode(), actual.get(i).encode());
+            assertEquals("ticking aircraft in parallel should burn exactly the same fuel",
+                    expected.get(i).getFuelAmount(), actual.get(i).getFuelAmount(), 0);
+        }
+        assertEquals(sequential.getLandingQueue().encode(), parallel.getLandingQueue().encode());
+        assertEquals(sequential.getTakeoffQueue().encode(), parallel.getTakeoffQueue().encode());
+    }
+
+    @Test
+    public void tick_ParallelListenersOnTickingThreadTest() {
+        ControlTower parallel = createTowerWithAircraft(500);
+        List<Aircraft> notified = new ArrayList<>();
+        Set<Thread> threads = new HashSet<>();
+        AircraftListener listener = new AircraftListener() {
+            @Override
+            public void emergencyChanged(Aircraft aircraft) {
+            }
+
+            @Override
+            public void fuelChanged(Aircraft aircraft) {
+                threads.add(Thread.currentThread());
+                notified.add(aircraft);
+            }
+        };
+        for (Aircraft aircraft : parallel.getAircraft()) {
+            aircraft.addListener(listener);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setParallelTicking(pool, 1);
+            parallel.tick();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertFalse("some aircraft should have burned fuel", notified.isEmpty());
+        assertEquals("fuel changes should be sent on the thread running the tick",
+                Set.of(Thread.currentThread()), threads);
+        List<Aircraft> inOrder = new ArrayList<>(parallel.getAircraft());
+        inOrder.retainAll(notified);
+        assertEquals("fuel changes should be sent in the order aircraft were added",
+                inOrder, notified);
+    }
+
+    @Test
+    public void setParallelTicking_InvalidThresholdTest() {
+        try {
+            tower.setParallelTicking(null, 0);
+            fail("setParallelTicking() should throw an IllegalArgumentException for a "
+                    + "non-positive threshold");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    /* Creates an aircraft whose current task is the first of the given task types */
+    private static Aircraft createAircraft(String callsign, TaskType... taskTypes) {
+        List<Task> tasks = new ArrayList<>();
+        for (TaskType taskType : taskTypes) {
+            tasks.add(taskType == TaskType.LOAD ? new Task(taskType, 50) : new Task(taskType));
+        }
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(tasks), AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+    }
+
+    @Test
+    public void getRunways_DefaultTest() {
+        assertEquals("a newly created control tower should have a single mixed runway",
+                List.of(new Runway(1, RunwayMode.MIXED)), tower.getRunways());
+    }
+
+    @Test
+    public void setRunways_EmptyTest() {
+        try {
+            tower.setRunways(List.of());
+            fail("setRunways() should throw an IllegalArgumentException for an empty list");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void tick_MultipleRunwaysTest() throws NoSpaceException, NoSuitableGateException {
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal1.addGate(gate2);
+        airplaneTerminal1.addGate(gate3);
+        tower.addTerminal(airplaneTerminal1);
+        tower.setRunways(List.of(new Runway(1, RunwayMode.ARRIVALS),
+                new Runway(2, RunwayMode.ARRIVALS),
+                new Runway(3, RunwayMode.DEPARTURES)));
+
+        Aircraft landing1 = createAircraft("LAN101", TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF, TaskType.AWAY);
+        Aircraft landing2 = createAircraft("LAN102", TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF, TaskType.AWAY);
+        Aircraft landing3 = createAircraft("LAN103", TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF, TaskType.AWAY);
+        Aircraft takingOff1 = createAircraft("TAK101", TaskType.TAKEOFF, TaskType.AWAY,
+                TaskType.LAND, TaskType.WAIT, TaskType.LOAD);
+        Aircraft takingOff2 = createAircraft("TAK102", TaskType.TAKEOFF, TaskType.AWAY,
+                TaskType.LAND, TaskType.WAIT, TaskType.LOAD);
+        for (Aircraft aircraft : List.of(landing1, landing2, landing3, takingOff1, takingOff2)) {
+            tower.addAircraft(aircraft);
+        }
+
+        tower.tick();
+
+        assertEquals("two arrivals runways should land two aircraft in one tick",
+                List.of(landing3), tower.getLandingQueue().getAircraftInOrder());
+        assertEquals(gate1, tower.findGateOfAircraft(landing1));
+        assertEquals(gate2, tower.findGateOfAircraft(landing2));
+        assertEquals("a departures runway should let one aircraft take off per tick",
+                List.of(takingOff2), tower.getTakeoffQueue().getAircraftInOrder());
+        assertEquals(TaskType.AWAY, takingOff1.getTaskList().getCurrentTask().getType());
+    }
+
+    @Test
+    public void tick_LandingQueueTickTest() {
+        LandingQueue landing = new LandingQueue();
+        ControlTower aging = new ControlTower(5, new ArrayList<>(), landing,
+                new TakeoffQueue(), new HashMap<>());
+        assertEquals("queued aircraft should arrive at the tower's tick",
+                5, landing.getCurrentTick());
+        aging.tick();
+        assertEquals(6, landing.getCurrentTick());
+        aging.advanceTo(20);
+        assertEquals(20, landing.getCurrentTick());
+    }
+
+    @Test
+    public void tick_DeparturesDrainedInOrderTest() {
+        tower.setRunways(List.of(new Runway(1, RunwayMode.DEPARTURES),
+                new Runway(2, RunwayMode.MIXED),
+                new Runway(3, RunwayMode.DEPARTURES)));
+        List<Aircraft> takingOff = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            takingOff.add(createAircraft("TAK10" + i, TaskType.TAKEOFF, TaskType.AWAY,
+                    TaskType.LAND, TaskType.WAIT, TaskType.LOAD));
+        }
+        try {
+            for (Aircraft aircraft : takingOff) {
+                tower.addAircraft(aircraft);
+            }
+        } catch (NoSuitableGateException e) {
+            fail("Aircraft taking off should not need a gate");
+        }
+        TowerEventBus.Subscription subscription = tower.getEventBus().subscribe();
+        List<String> events = new ArrayList<>();
+
+        tower.tick(); // even tick: no aircraft to land, so every runway is used for takeoff
+        subscription.drain(event -> events.add(event.getType() + " "
+                + event.getAircraft().getCallsign()));
+
+        assertEquals(List.of("TOOK_OFF TAK100", "TOOK_OFF TAK101", "TOOK_OFF TAK102"),
+                events.subList(0, 3));
+        assertEquals("three runways should let three aircraft take off in one tick",
+                List.of(takingOff.get(3)), tower.getTakeoffQueue().getAircraftInOrder());
+    }
+
+    @Test
+    public void tick_ArrivalsBlockedTest() throws NoSpaceException, NoSuitableGateException {
+        airplaneTerminal1.addGate(gate1);
+        tower.addTerminal(airplaneTerminal1);
+        tower.setRunways(List.of(new Runway(1, RunwayMode.ARRIVALS),
+                new Runway(2, RunwayMode.ARRIVALS)));
+
+        Aircraft landing1 = createAircraft("LAN101", TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF, TaskType.AWAY);
+        Aircraft landing2 = createAircraft("LAN102", TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF, TaskType.AWAY);
+        tower.addAircraft(landing1);
+        tower.addAircraft(landing2);
+
+        tower.tick();
+
+        assertEquals("aircraft should only be landed while there are unoccupied gates",
+                List.of(landing2), tower.getLandingQueue().getAircraftInOrder());
+        assertEquals(gate1, tower.findGateOfAircraft(landing1));
+    }
+
+    /* Creates a control tower whose aircraft spend long stretches AWAY between visits */
+    private static ControlTower createTowerWithLongFlights(int numAircraft) {
+        ControlTower newTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        try {
+            terminal.addGate(new Gate(1));
+            terminal.addGate(new Gate(2));
+        } catch (NoSpaceException e) {
+            fail("Adding two gates should not result in a NoSpaceException");
+        }
+        newTower.addTerminal(terminal);
+        for (int i = 0; i < numAircraft; i++) {
+            List<Task> tasks = new ArrayList<>();
+            for (int j = 0; j < 20 + 7 * i; j++) {
+                tasks.add(new Task(TaskType.AWAY));
+            }
+            tasks.add(new Task(TaskType.LAND));
+            tasks.add(new Task(TaskType.WAIT));
+            tasks.add(new Task(TaskType.LOAD, 60));
+            tasks.add(new Task(TaskType.TAKEOFF));
+            try {
+                newTower.addAircraft(new PassengerAircraft(String.format("LNG%04d", i),
+                        AircraftCharacteristics.AIRBUS_A320, new TaskList(tasks),
+                        AircraftCharacteristics.AIRBUS_A320.fuelCapacity * (i % 10) / 10, 0));
+            } catch (NoSuitableGateException e) {
+                fail("Adding an AWAY aircraft should not result in a NoSuitableGateException");
+            }
+        }
+        return newTower;
+    }
+
+    @Test
+    public void advanceTo_MatchesTickTest() {
+        for (ControlTower[] towers : List.of(
+                new ControlTower[] {createTowerWithLongFlights(5), createTowerWithLongFlights(5)},
+                new ControlTower[] {createTowerWithAircraft(50), createTowerWithAircraft(50)})) {
+            ControlTower ticked = towers[0];
+            ControlTower advanced = towers[1];
+            for (int i = 0; i < 500; i++) {
+                ticked.tick();
+            }
+            advanced.advanceTo(250);
+            advanced.advanceTo(500);
+
+            assertEquals(ticked.getTicksElapsed(), advanced.getTicksElapsed());
+            List<Aircraft> expected = ticked.getAircraft();
+            List<Aircraft> actual = advanced.getAircraft();
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals("advanceTo() should give the same results as calling tick()",
+                        expected.get(i).encode(), actual.get(i).encode());
+                assertEquals("advanceTo() should burn exactly the same fuel as calling tick()",
+                        expected.get(i).getFuelAmount(), actual.get(i).getFuelAmount(), 0);
+            }
+            assertEquals(ticked.getLandingQueue().encode(), advanced.getLandingQueue().encode());
+            assertEquals(ticked.getTakeoffQueue().encode(), advanced.getTakeoffQueue().encode());
+            assertEquals(ticked.getLoadingAircraft(), advanced.getLoadingAircraft());
+        }
+    }
+
+    @Test
+    public void advanceTo_PastTickTest() {
+        tower.advanceTo(-1);
+        assertEquals("advanceTo() should not move the simulation backwards",
+                0, tower.getTicksElapsed());
+    }
+
+    @Test
+    public void removeAircraft_Test() throws NoSuitableGateException {
+        Aircraft away1 = createAircraft("AWY101", TaskType.AWAY, TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF);
+        Aircraft away2 = createAircraft("AWY102", TaskType.AWAY, TaskType.AWAY, TaskType.LAND,
+                TaskType.WAIT, TaskType.LOAD, TaskType.TAKEOFF);
+        Aircraft landing = createAircraft("LAN101", TaskType.LAND, TaskType.WAIT,
+                TaskType.LOAD, TaskType.TAKEOFF, TaskType.AWAY);
+        tower.addAircraft(away1);
+        tower.addAircraft(landing);
+        tower.addAircraft(away2);
+
+        assertFalse("aircraft that are not AWAY should not be removed",
+                tower.removeAircraft(landing));
+        assertTrue("AWAY aircraft should be removed", tower.removeAircraft(away1));
+        assertFalse("aircraft no longer managed should not be removed again",
+                tower.removeAircraft(away1));
+        assertEquals(List.of(landing, away2), tower.getAircraft());
+        assertEquals("aircraft after a removed aircraft should move back one position",
+                1, tower.getAircraftPosition(away2));
+        assertEquals(-1, tower.getAircraftPosition(away1));
+
+        tower.tick();
+        tower.tick();
+        assertEquals("aircraft after a removed aircraft should still be placed in queues",
+                List.of(landing, away2), tower.getLandingQueue().getAircraftInOrder());
+    }
+
+    @Test
+    public void getEventBus_AddRemoveEventsTest() throws NoSpaceException,
+            NoSuitableGateException {
+        airplaneTerminal1.addGate(gate1);
+        tower.addTerminal(airplaneTerminal1);
+        Aircraft away = createAircraft("ADD101", TaskType.AWAY, TaskType.LAND, TaskType.LOAD,
+                TaskType.TAKEOFF);
+        Aircraft waiting = createAircraft("ADD102", TaskType.WAIT, TaskType.LOAD,
+                TaskType.TAKEOFF, TaskType.AWAY, TaskType.LAND);
+        TowerEventBus.Subscription subscription = tower.getEventBus().subscribe();
+        List<String> events = new ArrayList<>();
+        TowerEventHandler handler = event -> events.add(event.getType() + " "
+                + event.getAircraft().getCallsign() + " " + event.getGate());
+
+        tower.addAircraft(away);
+        tower.addAircraft(waiting);
+        tower.removeAircraft(away);
+        subscription.drain(handler);
+        assertEquals(List.of("AIRCRAFT_ADDED ADD101 null", "AIRCRAFT_ADDED ADD102 null",
+                "GATE_ASSIGNED ADD102 " + gate1, "AIRCRAFT_REMOVED ADD101 null"), events);
+    }
+
+    @Test
+    public void getEventBus_TickEventsTest() throws NoSpaceException, NoSuitableGateException {
+        airplaneTerminal1.addGate(gate1);
+        tower.addTerminal(airplaneTerminal1);
+        Aircraft landing = createAircraft("LAN101", TaskType.LAND, TaskType.LOAD,
+                TaskType.TAKEOFF, TaskType.AWAY);
+        tower.addAircraft(landing);
+
+        TowerEventBus.Subscription subscription = tower.getEventBus().subscribe();
+        List<TowerEventType> types = new ArrayList<>();
+        List<Gate> gates = new ArrayList<>();
+        TowerEventHandler handler = event -> {
+            assertSame(landing, event.getAircraft());
+            types.add(event.getType());
+            gates.add(event.getGate());
+        };
+
+        tower.tick(); // lands and starts loading
+        subscription.drain(handler);
+        assertEquals(List.of(TowerEventType.GATE_ASSIGNED, TowerEventType.LANDED,
+                TowerEventType.LOAD_STARTED), types);
+        assertEquals(List.of(gate1, gate1, gate1), gates);
+
+        types.clear();
+        gates.clear();
+        landing.declareEmergency();
+        for (int i = 0; i < landing.getLoadingTime(); i++) {
+            tower.tick(); // loads, then leaves the gate and joins the takeoff queue
+        }
+        tower.tick(); // takes off
+        subscription.drain(handler);
+        assertEquals(List.of(TowerEventType.EMERGENCY_DECLARED, TowerEventType.LOAD_COMPLETED,
+                TowerEventType.QUEUED_TO_TAKE_OFF, TowerEventType.TOOK_OFF), types);
+        assertEquals(0, subscription.getMissedEvents());
+    }
+
+    @Test
+    public void getSnapshot_DisabledTest() {
+        assertNull("snapshots should be disabled by default", tower.getSnapshot());
+        tower.setSnapshotsEnabled(true);
+        assertNotNull(tower.getSnapshot());
+        tower.setSnapshotsEnabled(false);
+        assertNull(tower.getSnapshot());
+    }
+
+    @Test
+    public void getSnapshot_StructuralSharingTest() {
+        ControlTower longFlights = createTowerWithLongFlights(5);
+        longFlights.setSnapshotsEnabled(true);
+        TowerSnapshot first = longFlights.getSnapshot();
+        longFlights.publishSnapshot();
+        TowerSnapshot second = longFlights.getSnapshot();
+        assertNotSame(first, second);
+        assertSame("unchanged aircraft should not be copied",
+                first.getAircraft(), second.getAircraft());
+        assertSame("unchanged terminals should not be copied",
+                first.getTerminals(), second.getTerminals());
+
+        String encoded = first.getAircraft().get(1).encode();
+        longFlights.tick();
+        TowerSnapshot third = longFlights.getSnapshot();
+        assertEquals(1, third.getTicksElapsed());
+        assertNotSame("aircraft that burned fuel should be copied",
+                second.getAircraft().get(1), third.getAircraft().get(1));
+        assertEquals("earlier snapshots should not change when the tower ticks",
+                encoded, first.getAircraft().get(1).encode());
+        assertSame(second.getTerminals(), third.getTerminals());
+        assertSame(second.getLandingQueue(), third.getLandingQueue());
+        try {
+            third.getAircraft().clear();
+            fail("Snapshot lists should be unmodifiable");
+        } catch (UnsupportedOperationException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void getSnapshot_IdleTickTest() {
+        tower.setRunways(List.of(new Runway(1, RunwayMode.ARRIVALS)));
+        try {
+            tower.addAircraft(createAircraft("TAK100", TaskType.TAKEOFF, TaskType.AWAY,
+                    TaskType.LAND, TaskType.WAIT, TaskType.LOAD));
+        } catch (NoSuitableGateException e) {
+            fail("Aircraft taking off should not need a gate");
+        }
+        tower.setSnapshotsEnabled(true);
+        tower.tick(); // nowhere to take off, so the aircraft stays queued
+        TowerSnapshot first = tower.getSnapshot();
+        tower.tick();
+        TowerSnapshot second = tower.getSnapshot();
+        assertEquals(2, second.getTicksElapsed());
+        assertSame("an idle tick should reuse the aircraft",
+                first.getAircraft(), second.getAircraft());
+        assertSame(first.getLoadingAircraft(), second.getLoadingAircraft());
+        assertSame(first.getTerminals(), second.getTerminals());
+        assertSame(first.getTakeoffQueue(), second.getTakeoffQueue());
+        assertSame(first.getLandingQueue(), second.getLandingQueue());
+
+        tower.getTakeoffQueue().removeAircraft();
+        tower.tick();
+        assertEquals("a tick after the queue changed should see the change",
+                List.of(), tower.getSnapshot().getTakeoffQueue());
+    }
+
+    @Test
+    public void saveSnapshot_MatchesSaveControlTowerTest() throws Exception {
+        ControlTower busy = createTowerWithAircraft(50);
+        busy.setSnapshotsEnabled(true);
+        for (int i = 0; i < 30; i++) {
+            busy.tick();
+        }
+        StringWriter[] live = {new StringWriter(), new StringWriter(), new StringWriter(),
+                new StringWriter()};
+        StringWriter[] saved = {new StringWriter(), new StringWriter(), new StringWriter(),
+                new StringWriter()};
+        ControlTowerSaver.saveControlTower(busy, live[0], live[1], live[2], live[3]);
+        ControlTowerSaver.saveSnapshot(busy.getSnapshot(), saved[0], saved[1], saved[2],
+                saved[3]);
+        for (int i = 0; i < live.length; i++) {
+            assertEquals("saving a snapshot should give the same output as saving the tower",
+                    live[i].toString(), saved[i].toString());
+        }
+    }
+
+    @Test
+    public void submitAircraft_ConcurrentProducersTest() throws Exception {
+        ControlTower ingest = createTowerWithLongFlights(0);
+        int numThreads = 4;
+        int perThread = 250;
+        Thread[] producers = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int producer = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ingest.submitAircraft(createAircraft(
+                            String.format("P%d%04d", producer, i), TaskType.AWAY, TaskType.AWAY,
+                            TaskType.LAND, TaskType.LOAD, TaskType.TAKEOFF));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals("submitted aircraft should not be added before the next tick",
+                0, ingest.getAircraft().size());
+
+        ingest.tick();
+        assertEquals(numThreads * perThread, ingest.getAircraft().size());
+        for (int t = 0; t < numThreads; t++) {
+            int previous = -1;
+            for (Aircraft aircraft : ingest.getAircraft()) {
+                if (aircraft.getCallsign().startsWith("P" + t)) {
+                    int index = Integer.parseInt(aircraft.getCallsign().substring(2));
+                    assertTrue("each producer's aircraft should be added in order",
+                            index > previous);
+                    previous = index;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void submitAircraft_NoSuitableGateTest() {
+        ControlTower ingest = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        Aircraft waiting = createAircraft("WAIT001", TaskType.WAIT, TaskType.LOAD,
+                TaskType.TAKEOFF, TaskType.AWAY, TaskType.LAND);
+        var result = ingest.submitAircraft(waiting);
+        ingest.applySubmissions();
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.join();
+            fail("An aircraft with no suitable gate should be rejected");
+        } catch (java.util.concurrent.CompletionException exception) {
+            assertTrue(exception.getCause() instanceof NoSuitableGateException);
+        }
+        assertFalse(ingest.getAircraft().contains(waiting));
+    }
+
+    @Test
+    public void submitGate_AfterTerminalTest() {
+        ControlTower ingest = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        AirplaneTerminal terminal = new AirplaneTerminal(7);
+        var terminalResult = ingest.submitTerminal(terminal);
+        var gateResult = ingest.submitGate(terminal, new Gate(70));
+        var aircraftResult = ingest.submitAircraft(
+                createAircraft("WAIT002", TaskType.WAIT, TaskType.LOAD, TaskType.TAKEOFF,
+                        TaskType.AWAY, TaskType.LAND));
+        ingest.applySubmissions();
+
+        assertTrue(terminalResult.isDone() && !terminalResult.isCompletedExceptionally());
+        assertTrue(gateResult.isDone() && !gateResult.isCompletedExceptionally());
+        assertTrue("aircraft should be parked at the gate submitted before it",
+                aircraftResult.isDone() && !aircraftResult.isCompletedExceptionally());
+        assertEquals(List.of(terminal), ingest.getTerminals());
+        assertEquals(1, terminal.getGates().size());
+    }
+
+    @Test
+    public void applySubmissions_QueueSubmissionsTest() {
+        ControlTower ingest = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        Aircraft departing = createAircraft("DEP001", TaskType.TAKEOFF, TaskType.AWAY,
+                TaskType.LAND, TaskType.LOAD);
+        TowerEventBus.Subscription subscription = ingest.getEventBus().subscribe();
+        ingest.getTakeoffQueue().submitAircraft(departing);
+        assertEquals("reading the queue should not apply submissions",
+                0, ingest.getTakeoffQueue().size());
+        assertNull(ingest.getTakeoffQueue().peekAircraft());
+
+        ingest.tick();
+        List<TowerEventType> types = new ArrayList<>();
+        subscription.drain(event -> {
+            assertSame(departing, event.getAircraft());
+            types.add(event.getType());
+        });
+        assertEquals(List.of(TowerEventType.QUEUED_TO_TAKE_OFF, TowerEventType.TOOK_OFF), types);
+        assertEquals("the submitted aircraft's wait should be measured",
+                1, ingest.getLatencyHistogram(LatencyMetric.TAKEOFF_WAIT).getCount());
+    }
+
+    @Test
+    public void tick_SteadyStateAllocationFreeTest() throws Exception {
+        if (!(ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean)) {
+            return; // allocation cannot be measured on this JVM
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        ControlTower steady = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        steady.addTerminal(terminal);
+        // occupies the only gate for the whole test
+        List<Task> waitTasks = new ArrayList<>(Collections.nCopies(50000, new Task(TaskType.WAIT)));
+        waitTasks.addAll(List.of(new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY), new Task(TaskType.LAND)));
+        steady.addAircraft(new FreightAircraft("WAIT001", AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(waitTasks), 0, 0));
+        for (int i = 0; i < 20; i++) {
+            // a few aircraft queue to land and wait for the gate; the rest stay away
+            List<Task> awayTasks = new ArrayList<>(
+                    Collections.nCopies(i < 3 ? 1 : 50000, new Task(TaskType.AWAY)));
+            awayTasks.addAll(List.of(new Task(TaskType.LAND), new Task(TaskType.LOAD, 50),
+                    new Task(TaskType.TAKEOFF)));
+            steady.addAircraft(new PassengerAircraft(String.format("AWAY%03d", i),
+                    AircraftCharacteristics.AIRBUS_A320, new TaskList(awayTasks),
+                    AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0));
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long[] allocated = new long[7];
+        for (int round = -1; round < allocated.length; round++) {
+            // the first round warms up the tick path; after that, an allocation on every tick
+            // shows up in every round, while the JIT occasionally allocates a few bytes on the
+            // measuring thread, so the median allocated by a round is checked
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 5000; i++) {
+                steady.tick();
+            }
+            if (round >= 0) {
+                allocated[round] = threads.getThreadAllocatedBytes(threadId) - before;
+            }
+        }
+        Arrays.sort(allocated);
+        assertEquals("the landing queue should still be waiting for the gate",
+                3, steady.getLandingQueue().getAircraftInOrder().size());
+        assertEquals("ticks with no arrivals or departures should not allocate, but allocated "
+                + Arrays.toString(allocated), 0, allocated[allocated.length / 2]);
+    }
+
+    @Test
+    public void getLatencyHistogram_LandLoadTakeOffTest() throws Exception {
+        ControlTower measured = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        measured.addTerminal(terminal);
+        measured.addAircraft(createAircraft("LAT001", TaskType.LAND, TaskType.LOAD,
+                TaskType.TAKEOFF, TaskType.AWAY, TaskType.AWAY, TaskType.AWAY, TaskType.AWAY,
+                TaskType.AWAY, TaskType.AWAY, TaskType.AWAY, TaskType.AWAY));
+        for (int i = 0; i < 8; i++) {
+            measured.tick();
+        }
+
+        for (LatencyMetric metric : LatencyMetric.values()) {
+            LatencyHistogram histogram = measured.getLatencyHistogram(metric);
+            assertEquals("the aircraft should have been measured once for " + metric,
+                    1, histogram.getCount());
+            assertEquals("durations should also be recorded by aircraft characteristics",
+                    histogram.toString(), measured.getLatencyHistogram(metric,
+                            AircraftCharacteristics.AIRBUS_A320).toString());
+            assertEquals(0, measured.getLatencyHistogram(metric,
+                    AircraftCharacteristics.BOEING_747_8F).getCount());
+        }
+        // 75 passengers take 2 ticks to load
+        assertEquals(2, measured.getLatencyHistogram(LatencyMetric.GATE_OCCUPANCY).getMax());
+        assertEquals(measured.getLatencyHistogram(LatencyMetric.GATE_OCCUPANCY).toString(),
+                measured.getGateOccupancyHistogram(terminal).toString());
+        assertNull(measured.getGateOccupancyHistogram(new AirplaneTerminal(2)));
+    }
+
+    @Test
+    public void getGateOccupancyHistogram_AlreadyParkedTest() throws Exception {
+        ControlTower measured = new ControlTower(5, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        Gate gate = new Gate(1);
+        terminal.addGate(gate);
+        gate.parkAircraft(createAircraft("LAT002", TaskType.WAIT, TaskType.LOAD,
+                TaskType.TAKEOFF, TaskType.AWAY, TaskType.LAND));
+        measured.addTerminal(terminal);
+        measured.tick();
+        measured.tick();
+        gate.aircraftLeaves();
+        assertEquals("an aircraft parked before its terminal was added should be measured from"
+                + " when the terminal was added", "count=1 p50=2 p90=2 p99=2 max=2",
+                measured.getGateOccupancyHistogram(terminal).toString());
+    }
+
+    @Test
+    public void saveLatenciesTest() throws Exception {
+        StringWriter writer = new StringWriter();
+        ControlTowerSaver.saveLatencies(tower, writer);
+        String[] lines = writer.toString().split(System.lineSeparator());
+        int numCharacteristics = AircraftCharacteristics.values().length;
+        int expected = 3 * (1 + numCharacteristics) + tower.getTerminals().size();
+        assertEquals(String.valueOf(expected), lines[0]);
+        assertEquals(expected + 1, lines.length);
+        assertEquals("LANDING_WAIT:ALL:0:0:0:0:0", lines[1]);
+        assertTrue(lines[expected].startsWith("GATE_OCCUPANCY:"));
+    }
 }
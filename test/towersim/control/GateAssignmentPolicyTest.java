@@ -0,0 +1,164 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GateAssignmentPolicyTest {
+    private ControlTower tower;
+    private List<Terminal> terminals;
+    private int numAircraft;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        this.tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        this.terminals = new ArrayList<>();
+        // terminal 1 has 2 gates, terminal 2 has 4 gates, terminal 3 has 3 gates
+        int[] sizes = {2, 4, 3};
+        int gateNumber = 1;
+        for (int i = 0; i < sizes.length; i++) {
+            Terminal terminal = new AirplaneTerminal(i + 1);
+            for (int gate = 0; gate < sizes[i]; gate++) {
+                terminal.addGate(new Gate(gateNumber++));
+            }
+            terminals.add(terminal);
+            tower.addTerminal(terminal);
+        }
+        this.numAircraft = 0;
+    }
+
+    /* Finds a gate for a new aircraft, parks it there and returns the number of its terminal */
+    private int park() throws Exception {
+        Aircraft aircraft = new PassengerAircraft("POL" + numAircraft++,
+                AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(new Task(TaskType.WAIT), new Task(TaskType.LOAD, 50),
+                        new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))),
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        Gate gate = tower.findUnoccupiedGate(aircraft);
+        gate.parkAircraft(aircraft);
+        for (Terminal terminal : terminals) {
+            if (terminal.getGates().contains(gate)) {
+                return terminal.getTerminalNumber();
+            }
+        }
+        throw new AssertionError("gate does not belong to any terminal");
+    }
+
+    /* Parks the given number of aircraft and returns the numbers of their terminals */
+    private String parkAll(int count) throws Exception {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            result.append(park());
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void firstFit_DefaultTest() throws Exception {
+        assertEquals("by default, terminals should be filled in the order they were added",
+                "112222333", parkAll(9));
+    }
+
+    @Test
+    public void roundRobin_TurnsTest() throws Exception {
+        tower.setGateAssignmentPolicy(RoundRobinGatePolicy::new);
+        assertEquals("terminals should be used in turn, skipping full terminals",
+                "123123232", parkAll(9));
+    }
+
+    @Test
+    public void leastOccupied_SpreadTest() throws Exception {
+        tower.setGateAssignmentPolicy(LeastOccupiedGatePolicy::new);
+        // 0/2, 0/4, 0/3 -> 1; 1/2, 0/4, 0/3 -> 2; 1/2, 1/4, 0/3 -> 3; 1/2, 1/4, 1/3 -> 2; ...
+        assertEquals("the terminal with the lowest proportion of occupied gates should be used",
+                "123231232", parkAll(9));
+    }
+
+    @Test
+    public void bestFit_FewestFreeGatesTest() throws Exception {
+        tower.setGateAssignmentPolicy(BestFitGatePolicy::new);
+        assertEquals("the terminal with the fewest unoccupied gates should be used",
+                "113332222", parkAll(9));
+    }
+
+    @Test
+    public void setGateAssignmentPolicy_ExistingStateTest() throws Exception {
+        parkAll(3);
+        terminals.get(2).declareEmergency();
+        tower.setGateAssignmentPolicy(BestFitGatePolicy::new);
+        // terminal 1 is full, terminal 2 has 3 free gates, terminal 3 is in emergency
+        assertEquals("a new policy should know about existing occupancy and emergencies",
+                "222", parkAll(3));
+        terminals.get(2).clearEmergency();
+        assertEquals("333", parkAll(3));
+    }
+
+    @Test
+    public void leastOccupied_GateLeftTest() throws Exception {
+        tower.setGateAssignmentPolicy(LeastOccupiedGatePolicy::new);
+        parkAll(6);
+        // 2/2, 2/4, 2/3; terminal 1 becomes 1/2, level with terminal 2 but added first
+        terminals.get(0).getGates().get(0).aircraftLeaves();
+        assertEquals("1", parkAll(1));
+        // 2/2, 2/4, 2/3
+        assertEquals("2", parkAll(1));
+    }
+
+    @Test
+    public void selectTerminal_NoneAvailableTest() {
+        for (GateAssignmentPolicy policy : List.of(new FirstFitGatePolicy(),
+                new RoundRobinGatePolicy(), new LeastOccupiedGatePolicy(),
+                new BestFitGatePolicy())) {
+            assertEquals(-1, policy.selectTerminal());
+            policy.terminalUpdated(40, 5, 0, false);
+            assertEquals(-1, policy.selectTerminal());
+            policy.terminalUpdated(40, 5, 1, true);
+            assertEquals(40, policy.selectTerminal());
+        }
+    }
+
+    @Test
+    public void selectTerminal_MatchesFullSearchTest() {
+        Random random = new Random(1);
+        for (RankedGatePolicy policy : List.of(new LeastOccupiedGatePolicy(),
+                new BestFitGatePolicy())) {
+            int[] numGates = new int[50];
+            int[] numFreeGates = new int[50];
+            boolean[] available = new boolean[50];
+            for (int update = 0; update < 2000; update++) {
+                int terminal = random.nextInt(50);
+                numGates[terminal] = 1 + random.nextInt(6);
+                numFreeGates[terminal] = random.nextInt(numGates[terminal] + 1);
+                available[terminal] = numFreeGates[terminal] > 0 && random.nextInt(4) != 0;
+                policy.terminalUpdated(terminal, numGates[terminal], numFreeGates[terminal],
+                        available[terminal]);
+                int expected = -1;
+                for (int i = 0; i < 50; i++) {
+                    if (available[i] && (expected < 0 || policy.compare(numGates[i],
+                            numFreeGates[i], numGates[expected], numFreeGates[expected]) < 0)) {
+                        expected = i;
+                    }
+                }
+                assertEquals("update " + update, expected, policy.selectTerminal());
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftType;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GateIndexTest {
+    private GateIndex index;
+
+    private AirplaneTerminal airplaneTerminal1;
+    private AirplaneTerminal airplaneTerminal2;
+    private HelicopterTerminal helicopterTerminal;
+
+    private Gate gate1;
+    private Gate gate2;
+    private Gate gate3;
+    private Gate gate4;
+
+    private Aircraft aircraft1;
+    private Aircraft aircraft2;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        this.index = new GateIndex();
+
+        this.airplaneTerminal1 = new AirplaneTerminal(1);
+        this.airplaneTerminal2 = new AirplaneTerminal(2);
+        this.helicopterTerminal = new HelicopterTerminal(3);
+
+        this.gate1 = new Gate(1);
+        this.gate2 = new Gate(2);
+        this.gate3 = new Gate(3);
+        this.gate4 = new Gate(4);
+
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal1.addGate(gate2);
+        airplaneTerminal2.addGate(gate3);
+        helicopterTerminal.addGate(gate4);
+
+        TaskList taskList = new TaskList(List.of(
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+
+        this.aircraft1 = new PassengerAircraft("ABC001", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        this.aircraft2 = new PassengerAircraft("ABC002", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+    }
+
+    @Test
+    public void findUnoccupiedGate_EmptyTest() {
+        assertNull("an empty index should not find any gate",
+                index.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test
+    public void findUnoccupiedGate_OrderTest() {
+        index.addTerminal(airplaneTerminal1);
+        index.addTerminal(airplaneTerminal2);
+        index.addTerminal(helicopterTerminal);
+
+        assertEquals("the first gate of the first compatible terminal should be found",
+                gate1, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+        assertEquals("only helicopter terminals should be used for helicopters",
+                gate4, index.findUnoccupiedGate(AircraftType.HELICOPTER));
+    }
+
+    @Test
+    public void findUnoccupiedGate_ParkAndLeaveTest() throws NoSpaceException {
+        index.addTerminal(airplaneTerminal1);
+        index.addTerminal(airplaneTerminal2);
+
+        gate1.parkAircraft(aircraft1);
+        assertEquals("an occupied gate should be skipped",
+                gate2, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        gate2.parkAircraft(aircraft2);
+        assertEquals("a full terminal should be skipped",
+                gate3, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        gate1.aircraftLeaves();
+        assertEquals("a gate should become available once its aircraft leaves",
+                gate1, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test
+    public void findUnoccupiedGate_EmergencyTest() {
+        index.addTerminal(airplaneTerminal1);
+        index.addTerminal(airplaneTerminal2);
+
+        airplaneTerminal1.declareEmergency();
+        assertEquals("terminals in a state of emergency should be skipped",
+                gate3, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        airplaneTerminal2.declareEmergency();
+        assertNull("no gate should be found when all terminals are in emergency",
+                index.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        airplaneTerminal1.clearEmergency();
+        assertEquals("clearing an emergency should make the terminal available again",
+                gate1, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test
+    public void findUnoccupiedGate_GateAddedLaterTest() throws NoSpaceException {
+        AirplaneTerminal emptyTerminal = new AirplaneTerminal(4);
+        index.addTerminal(emptyTerminal);
+        assertNull("a terminal without gates has no unoccupied gate",
+                index.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        Gate gate5 = new Gate(5);
+        emptyTerminal.addGate(gate5);
+        assertEquals("gates added after the terminal was indexed should be found",
+                gate5, index.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test
+    public void findGateOfAircraft_Test() throws NoSpaceException {
+        gate2.parkAircraft(aircraft1);
+        index.addTerminal(airplaneTerminal1);
+        index.addTerminal(airplaneTerminal2);
+
+        assertEquals("aircraft parked before indexing should be found",
+                gate2, index.findGateOfAircraft(aircraft1));
+
+        gate3.parkAircraft(aircraft2);
+        assertEquals("aircraft parked after indexing should be found",
+                gate3, index.findGateOfAircraft(aircraft2));
+
+        gate3.aircraftLeaves();
+        assertNull("aircraft that left their gate should not be found",
+                index.findGateOfAircraft(aircraft2));
+    }
+}
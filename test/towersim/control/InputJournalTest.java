@@ -0,0 +1,278 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InputJournalTest {
+    private String[] startingSave;
+    private ControlTower tower;
+    private ByteArrayOutputStream recorded;
+
+    @Before
+    public void setup() throws Exception {
+        ControlTower initial = new ControlTower(5, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        initial.addTerminal(terminal);
+        for (int i = 0; i < 3; i++) {
+            initial.addAircraft(createAircraft("JRN00" + i, 2 * i));
+        }
+        this.startingSave = save(initial);
+        this.tower = load(startingSave);
+        this.recorded = new ByteArrayOutputStream();
+        tower.setJournal(new InputJournal(recorded, tower.getTicksElapsed()));
+    }
+
+    /* Creates an aircraft that is away for the given number of ticks before landing */
+    private static Aircraft createAircraft(String callsign, int awayTicks) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i <= awayTicks; i++) {
+            tasks.add(new Task(TaskType.AWAY));
+        }
+        tasks.add(new Task(TaskType.LAND));
+        tasks.add(new Task(TaskType.LOAD, 30));
+        tasks.add(new Task(TaskType.TAKEOFF));
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(tasks), AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2, 0);
+    }
+
+    /* Saves the given tower to four strings */
+    private static String[] save(ControlTower tower) throws IOException {
+        StringWriter[] writers = {new StringWriter(), new StringWriter(), new StringWriter(),
+                new StringWriter()};
+        ControlTowerSaver.saveControlTower(tower, writers[0], writers[1], writers[2], writers[3]);
+        return new String[] {writers[0].toString(), writers[1].toString(),
+                writers[2].toString(), writers[3].toString()};
+    }
+
+    /* Loads a tower from four strings written by save() */
+    private static ControlTower load(String[] save) throws IOException, MalformedSaveException {
+        return ControlTowerInitialiser.createControlTower(new StringReader(save[0]),
+                new StringReader(save[1]), new StringReader(save[2]), new StringReader(save[3]));
+    }
+
+    /* Ticks the tower until the given number of ticks have elapsed */
+    private void tickTo(long tick) {
+        while (tower.getTicksElapsed() < tick) {
+            tower.tick();
+        }
+    }
+
+    /* Records a session on the tower, checking its state at the given tick */
+    private String[] recordSession(long checkpoint) throws Exception {
+        String[] atCheckpoint = null;
+        tickTo(8);
+        tower.addAircraft(new FreightAircraft("JRN100", AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(List.of(new Task(TaskType.WAIT), new Task(TaskType.LOAD, 50),
+                        new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 4, 0));
+        tower.getAircraft().get(1).declareEmergency();
+        tickTo(12);
+        Terminal helicopters = new HelicopterTerminal(2);
+        tower.addTerminal(helicopters);
+        helicopters.addGate(new Gate(20));
+        tower.getTerminals().get(0).addGate(new Gate(3));
+        tower.getJournal().recordPaused(tower.getTicksElapsed(), true);
+        tickTo(checkpoint);
+        atCheckpoint = save(tower);
+        tower.getTerminals().get(0).declareEmergency();
+        tower.getAircraft().get(1).clearEmergency();
+        tickTo(40);
+        tower.getTerminals().get(0).clearEmergency();
+        tickTo(60);
+        tower.getJournal().close();
+        return atCheckpoint;
+    }
+
+    @Test
+    public void replay_FinalStateTest() throws Exception {
+        recordSession(20);
+        ControlTower replayed = load(startingSave);
+        long inputs = InputJournal.replay(replayed,
+                new ByteArrayInputStream(recorded.toByteArray()), 60);
+
+        assertEquals(9, inputs);
+        assertArrayEquals("replaying the journal should rebuild the recorded state exactly",
+                save(tower), save(replayed));
+    }
+
+    @Test
+    public void replay_ToTickTest() throws Exception {
+        String[] atCheckpoint = recordSession(20);
+        ControlTower replayed = load(startingSave);
+        InputJournal.replay(replayed, new ByteArrayInputStream(recorded.toByteArray()), 20);
+
+        assertArrayEquals("replaying to a tick should rebuild the state at that tick",
+                atCheckpoint, save(replayed));
+    }
+
+    @Test
+    public void replay_SameNumberDifferentTypeTest() throws Exception {
+        tickTo(8);
+        // airplane terminal 1 is added first, so matching on the number alone would find it
+        Terminal helicopters = new HelicopterTerminal(1);
+        tower.addTerminal(helicopters);
+        helicopters.addGate(new Gate(10));
+        tickTo(10);
+        helicopters.declareEmergency();
+        tickTo(12);
+        tower.getJournal().close();
+
+        ControlTower replayed = load(startingSave);
+        InputJournal.replay(replayed, new ByteArrayInputStream(recorded.toByteArray()), 12);
+        assertFalse(replayed.getTerminals().get(0).hasEmergency());
+        assertEquals(2, replayed.getTerminals().get(0).getGates().size());
+        assertTrue(replayed.getTerminals().get(1).hasEmergency());
+        assertEquals(1, replayed.getTerminals().get(1).getGates().size());
+        assertArrayEquals("inputs to a terminal should not be applied to another terminal with "
+                + "the same number", save(tower), save(replayed));
+    }
+
+    @Test
+    public void replay_LargeTerminalTest() throws Exception {
+        // the encoded terminal is longer than the 64 KB limit of writeUTF()
+        Terminal large = new AirplaneTerminal(2, 8000);
+        for (int gate = 1; gate <= 8000; gate++) {
+            large.addGate(new Gate(10000 + gate));
+        }
+        assertTrue(large.encode().length() > 65535);
+        tickTo(7);
+        tower.addTerminal(large);
+        tickTo(9);
+        tower.getJournal().close();
+        assertNull(tower.getJournal().checkError());
+
+        ControlTower replayed = load(startingSave);
+        assertEquals(1, InputJournal.replay(replayed,
+                new ByteArrayInputStream(recorded.toByteArray()), 9));
+        assertEquals(8000, replayed.getTerminals().get(1).getGates().size());
+        assertArrayEquals(save(tower), save(replayed));
+    }
+
+    @Test
+    public void replay_ExactFuelTest() throws Exception {
+        tickTo(8);
+        // the encoded aircraft rounds its fuel amount to two decimal places
+        tower.addAircraft(new PassengerAircraft("JRN300", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 10), new Task(TaskType.TAKEOFF))),
+                27000.1234, 0));
+        tickTo(10);
+        tower.getJournal().close();
+
+        ControlTower replayed = load(startingSave);
+        InputJournal.replay(replayed, new ByteArrayInputStream(recorded.toByteArray()), 10);
+        Aircraft original = tower.getAircraft().get(3);
+        Aircraft added = replayed.getAircraft().get(3);
+        assertEquals("JRN300", added.getCallsign());
+        assertEquals("an added aircraft should be replayed with its exact fuel amount",
+                Double.doubleToLongBits(original.getFuelAmount()),
+                Double.doubleToLongBits(added.getFuelAmount()));
+    }
+
+    @Test
+    public void replay_DuplicateCallsignTest() throws Exception {
+        tickTo(8);
+        tower.addAircraft(createAircraft("JRN001", 4));
+        // the callsign refers to the first aircraft with it, as when saves are loaded
+        tower.getAircraft().get(1).declareEmergency();
+        tickTo(10);
+        tower.getJournal().close();
+
+        ControlTower replayed = load(startingSave);
+        InputJournal.replay(replayed, new ByteArrayInputStream(recorded.toByteArray()), 10);
+        assertTrue(replayed.getAircraft().get(1).hasEmergency());
+        assertFalse(replayed.getAircraft().get(3).hasEmergency());
+        assertArrayEquals(save(tower), save(replayed));
+    }
+
+    @Test
+    public void replay_QueueSubmissionTest() throws Exception {
+        tickTo(8);
+        Aircraft arriving = createAircraft("JRN200", 0);
+        tower.addAircraft(arriving);
+        tower.getLandingQueue().submitAircraft(arriving);
+        tickTo(12);
+        tower.getJournal().close();
+
+        ControlTower replayed = load(startingSave);
+        assertEquals(2, InputJournal.replay(replayed,
+                new ByteArrayInputStream(recorded.toByteArray()), 12));
+        assertArrayEquals("aircraft submitted to a queue should be queued again on replay",
+                save(tower), save(replayed));
+    }
+
+    @Test
+    public void advanceTo_FlushesJournalTest() throws Exception {
+        // every aircraft is away at first, so these ticks are skipped in one step
+        tower.getAircraft().get(0).declareEmergency();
+        int written = recorded.size();
+        tower.advanceTo(tower.getTicksElapsed() + 1);
+        assertTrue("inputs should be written once idle ticks are skipped",
+                recorded.size() > written);
+    }
+
+    @Test
+    public void replay_TruncatedJournalTest() throws Exception {
+        recordSession(20);
+        byte[] bytes = recorded.toByteArray();
+        ControlTower replayed = load(startingSave);
+        long inputs = InputJournal.replay(replayed,
+                new ByteArrayInputStream(bytes, 0, bytes.length - 3), 60);
+
+        assertEquals("a partial final record should be ignored", 8, inputs);
+        assertEquals(60, replayed.getTicksElapsed());
+    }
+
+    @Test
+    public void replay_WrongStartTickTest() throws Exception {
+        tower.getJournal().close();
+        ControlTower other = load(startingSave);
+        other.tick();
+        try {
+            InputJournal.replay(other, new ByteArrayInputStream(recorded.toByteArray()), 10);
+            fail("Replaying on a tower at a different tick should throw a "
+                    + "MalformedSaveException");
+        } catch (MalformedSaveException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void replay_NotAJournalTest() throws Exception {
+        try {
+            InputJournal.replay(load(startingSave),
+                    new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}), 10);
+            fail("Replaying a stream that is not a journal should throw a "
+                    + "MalformedSaveException");
+        } catch (MalformedSaveException ignored) {
+            // expected
+        }
+    }
+}
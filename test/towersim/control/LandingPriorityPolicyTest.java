@@ -0,0 +1,126 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LandingPriorityPolicyTest {
+    private TaskList taskList;
+    private Aircraft freight; // heavy, 50% fuel
+    private Aircraft lightPassenger; // medium, 60% fuel
+    private Aircraft heavyPassenger; // heavy, 30% fuel
+    private Aircraft lowFuelFreight; // heavy, 10% fuel
+
+    @Before
+    public void setup() {
+        this.taskList = new TaskList(List.of(new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 0), new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY)));
+        this.freight = new FreightAircraft("FRT001", AircraftCharacteristics.BOEING_747_8F,
+                taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity * 0.5, 0);
+        this.lightPassenger = new PassengerAircraft("PAX001", AircraftCharacteristics.FOKKER_100,
+                taskList, AircraftCharacteristics.FOKKER_100.fuelCapacity * 0.6, 0);
+        this.heavyPassenger = new PassengerAircraft("PAX002", AircraftCharacteristics.BOEING_787,
+                taskList, AircraftCharacteristics.BOEING_787.fuelCapacity * 0.3, 0);
+        this.lowFuelFreight = new FreightAircraft("FRT002", AircraftCharacteristics.BOEING_747_8F,
+                taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity * 0.1, 0);
+    }
+
+    /* Returns a new queue using the given policy, with the test aircraft added in order, one
+    per tick */
+    private LandingQueue queueOf(LandingPriorityPolicy policy) {
+        LandingQueue queue = new LandingQueue(policy);
+        queue.addAircraft(freight);
+        queue.setCurrentTick(1);
+        queue.addAircraft(lightPassenger);
+        queue.setCurrentTick(2);
+        queue.addAircraft(heavyPassenger);
+        queue.setCurrentTick(3);
+        queue.addAircraft(lowFuelFreight);
+        return queue;
+    }
+
+    @Test
+    public void ruleBased_DefaultTest() {
+        assertTrue(new LandingQueue().getPriorityPolicy() instanceof RuleBasedLandingPolicy);
+        assertEquals(List.of(lowFuelFreight, lightPassenger, heavyPassenger, freight),
+                queueOf(new RuleBasedLandingPolicy()).getAircraftInOrder());
+    }
+
+    @Test
+    public void fuelUrgency_OrderTest() {
+        LandingQueue queue = queueOf(new FuelUrgencyLandingPolicy());
+        // scores: 50, 60 - 15, 30 - 15, 10
+        assertEquals("aircraft should land in order of fuel remaining, with an allowance for"
+                        + " passenger aircraft",
+                List.of(lowFuelFreight, heavyPassenger, lightPassenger, freight),
+                queue.getAircraftInOrder());
+        freight.declareEmergency();
+        assertEquals(freight, queue.peekAircraft());
+    }
+
+    @Test
+    public void weightClass_OrderTest() {
+        LandingQueue queue = queueOf(new WeightClassLandingPolicy());
+        // the two heavy aircraft land in the order they were added
+        assertEquals("low fuel first, then lighter weight classes first",
+                List.of(lowFuelFreight, lightPassenger, freight, heavyPassenger),
+                queue.getAircraftInOrder());
+    }
+
+    @Test
+    public void aging_FreightNotStarvedTest() {
+        LandingQueue queue = new LandingQueue(new AgingLandingPolicy(3));
+        queue.setCurrentTick(10);
+        queue.addAircraft(freight);
+        for (int i = 0; i < 10; i++) {
+            // five passenger aircraft arrive on each of the next two ticks
+            queue.setCurrentTick(11 + i / 5);
+            queue.addAircraft(new PassengerAircraft("PAX1" + i, AircraftCharacteristics.FOKKER_100,
+                    taskList, AircraftCharacteristics.FOKKER_100.fuelCapacity, 0));
+        }
+        queue.setCurrentTick(13);
+        queue.addAircraft(new PassengerAircraft("PAX20", AircraftCharacteristics.FOKKER_100,
+                taskList, AircraftCharacteristics.FOKKER_100.fuelCapacity, 0));
+        // passengers arriving 1 and 2 ticks later land first, however many there are, but not
+        // those arriving 3 or more ticks later
+        for (int i = 0; i < 10; i++) {
+            assertEquals("PAX1" + i, queue.removeAircraft().getCallsign());
+        }
+        assertEquals(freight, queue.removeAircraft());
+        assertEquals("PAX20", queue.removeAircraft().getCallsign());
+        queue.addAircraft(lowFuelFreight);
+        assertEquals("low fuel aircraft should not need to age", lowFuelFreight,
+                queue.removeAircraft());
+    }
+
+    @Test
+    public void aging_NegativeIntervalTest() {
+        try {
+            new AgingLandingPolicy(-1);
+            fail("a negative aging interval should not be allowed");
+        } catch (IllegalArgumentException expected) {}
+    }
+
+    @Test
+    public void setPriorityPolicy_ReordersTest() {
+        LandingQueue queue = queueOf(new RuleBasedLandingPolicy());
+        // last in, first out
+        queue.setPriorityPolicy((aircraft, arrivalTick) -> -arrivalTick);
+        assertEquals(List.of(lowFuelFreight, heavyPassenger, lightPassenger, freight),
+                queue.getAircraftInOrder());
+        assertEquals(lowFuelFreight, queue.removeAircraft());
+        assertEquals(heavyPassenger, queue.removeAircraft());
+        assertEquals(2, queue.size());
+    }
+}
@@ -8,6 +8,7 @@ import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import static org.junit.Assert.*;
 
@@ -85,6 +86,21 @@ public class LandingQueueTest {
                 landingQueue.containsAircraft(aircraft2));
     }
 
+    @Test
+    public void containsAircraftAfterRemoveTest() {
+        landingQueue.addAircraft(aircraft1);
+        landingQueue.addAircraft(aircraft2);
+        landingQueue.getAircraftInOrder();
+        assertTrue("getAircraftInOrder should not remove aircraft from the queue",
+                landingQueue.containsAircraft(aircraft1));
+
+        landingQueue.removeAircraft(); // aircraft2 is low on fuel, so lands first
+        assertFalse("containsAircraft is not correct after removing an aircraft",
+                landingQueue.containsAircraft(aircraft2));
+        assertTrue("containsAircraft is not correct",
+                landingQueue.containsAircraft(aircraft1));
+    }
+
     @Test
     public void peekAircraftNullTest() {
         assertNull("peekAircraft is not correct", landingQueue.peekAircraft());
@@ -140,4 +156,170 @@ public class LandingQueueTest {
         assertEquals("getAircraftInOrder is not correct", expected,
                 landingQueue.getAircraftInOrder());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAircraftInOrder_EmergencyAfterAddedTest() {
+        landingQueue.addAircraft(aircraft1);
+        landingQueue.addAircraft(aircraft4);
+        landingQueue.addAircraft(aircraft3);
+        aircraft3.declareEmergency();
+        assertEquals("declaring an emergency should move a queued aircraft to the front",
+                List.of(aircraft3, aircraft4, aircraft1), landingQueue.getAircraftInOrder());
+        aircraft3.clearEmergency();
+        assertEquals("clearing an emergency should restore the aircraft's original place",
+                List.of(aircraft4, aircraft1, aircraft3), landingQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void getAircraftInOrder_FuelDropTest() {
+        landingQueue.addAircraft(aircraft4);
+        landingQueue.addAircraft(aircraft1);
+        // 100% -> 10% remaining
+        aircraft1.burnFuelAway(9);
+        assertEquals("an aircraft running low on fuel should move ahead of passenger aircraft",
+                aircraft1, landingQueue.peekAircraft());
+        assertEquals(List.of(aircraft1, aircraft4), landingQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void removeAircraft_StopsListeningTest() {
+        landingQueue.addAircraft(aircraft1);
+        landingQueue.addAircraft(aircraft4);
+        assertEquals(aircraft4, landingQueue.removeAircraft());
+        aircraft4.declareEmergency();
+        assertEquals("a removed aircraft should not re-enter the queue", List.of(aircraft1),
+                landingQueue.getAircraftInOrder());
+        assertFalse(landingQueue.containsAircraft(aircraft4));
+    }
+
+    @Test
+    public void removeAircraft_DuplicatesTest() {
+        landingQueue.addAircraft(aircraft1);
+        landingQueue.addAircraft(aircraft4);
+        landingQueue.addAircraft(aircraft1);
+        aircraft1.declareEmergency();
+        assertEquals(3, landingQueue.size());
+        assertEquals(List.of(aircraft1, aircraft1, aircraft4), landingQueue.getAircraftInOrder());
+        assertEquals(aircraft1, landingQueue.removeAircraft());
+        assertTrue("aircraft should still be queued once", landingQueue.containsAircraft(aircraft1));
+        aircraft1.clearEmergency();
+        assertEquals(List.of(aircraft4, aircraft1), landingQueue.getAircraftInOrder());
+        assertEquals(aircraft4, landingQueue.removeAircraft());
+        assertEquals(aircraft1, landingQueue.removeAircraft());
+        assertEquals(0, landingQueue.size());
+        assertNull(landingQueue.peekAircraft());
+    }
+
+    @Test
+    public void submitAircraft_ConcurrentProducersTest() throws Exception {
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 0), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY)));
+        int numThreads = 8;
+        int perThread = 500;
+        Thread[] producers = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int producer = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    String callsign = String.format("P%d%04d", producer, i);
+                    // alternate freight and passenger aircraft, all with full fuel
+                    landingQueue.submitAircraft(i % 2 == 0
+                            ? new FreightAircraft(callsign, AircraftCharacteristics.BOEING_747_8F,
+                            taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 0)
+                            : new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                            taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals("submitted aircraft should not be added by the queue itself",
+                0, landingQueue.size());
+        Aircraft submitted;
+        while ((submitted = landingQueue.pollSubmission()) != null) {
+            landingQueue.addAircraft(submitted);
+        }
+
+        List<Aircraft> inOrder = landingQueue.getAircraftInOrder();
+        assertEquals(numThreads * perThread, inOrder.size());
+        for (int i = 0; i < inOrder.size(); i++) {
+            assertEquals("passenger aircraft should land before freight aircraft",
+                    i < inOrder.size() / 2, inOrder.get(i) instanceof PassengerAircraft);
+        }
+        // highest index seen from each producer, for passenger and freight aircraft
+        int[][] previous = new int[2][numThreads];
+        Arrays.fill(previous[0], -1);
+        Arrays.fill(previous[1], -1);
+        for (Aircraft aircraft : inOrder) {
+            int[] kind = previous[aircraft instanceof PassengerAircraft ? 0 : 1];
+            int producer = aircraft.getCallsign().charAt(1) - '0';
+            int index = Integer.parseInt(aircraft.getCallsign().substring(2));
+            assertTrue("each producer's aircraft of the same priority should stay in order",
+                    index > kind[producer]);
+            kind[producer] = index;
+        }
+    }
+
+    @Test
+    public void addAll_SameAsAddingEachTest() {
+        aircraft3.declareEmergency();
+        List<Aircraft> batch = List.of(aircraft1, aircraft2, aircraft3, aircraft4, aircraft1);
+        LandingQueue oneByOne = new LandingQueue();
+        for (Aircraft aircraft : batch) {
+            oneByOne.addAircraft(aircraft);
+        }
+        landingQueue.addAll(batch);
+        assertEquals(oneByOne.getAircraftInOrder(), landingQueue.getAircraftInOrder());
+        // adding to a non-empty queue
+        landingQueue.addAll(List.of(aircraft4, aircraft3));
+        assertEquals(List.of(aircraft3, aircraft3, aircraft2, aircraft4, aircraft4, aircraft1,
+                aircraft1), landingQueue.getAircraftInOrder());
+        aircraft3.clearEmergency();
+        assertEquals("aircraft added in a batch should still be listened to",
+                aircraft2, landingQueue.peekAircraft());
+    }
+
+    @Test
+    public void drainTo_PriorityOrderTest() {
+        landingQueue.addAll(List.of(aircraft1, aircraft2, aircraft4));
+        List<Aircraft> drained = new ArrayList<>();
+        assertEquals(0, landingQueue.drainTo(drained, 0));
+        assertEquals(2, landingQueue.drainTo(drained, 2));
+        assertEquals(List.of(aircraft2, aircraft4), drained);
+        assertFalse(landingQueue.containsAircraft(aircraft2));
+        aircraft2.declareEmergency();
+        assertEquals("drained aircraft should no longer be listened to",
+                List.of(aircraft1), landingQueue.getAircraftInOrder());
+        assertEquals(1, landingQueue.drainTo(drained, 5));
+        assertEquals(0, landingQueue.size());
+    }
+
+    @Test
+    public void addAll_LargeBatchIntoEmptyQueueTest() {
+        List<Aircraft> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            batch.add(List.of(aircraft1, aircraft2, aircraft3, aircraft4).get(i * 7 % 4));
+        }
+        aircraft3.declareEmergency();
+        LandingQueue oneByOne = new LandingQueue();
+        for (Aircraft aircraft : batch) {
+            oneByOne.addAircraft(aircraft);
+        }
+        landingQueue.addAll(batch);
+        assertEquals(oneByOne.getAircraftInOrder(), landingQueue.getAircraftInOrder());
+
+        // the tree built from the batch should keep working as the queue changes
+        aircraft3.clearEmergency();
+        oneByOne.addAircraft(aircraft3);
+        landingQueue.addAircraft(aircraft3);
+        aircraft1.declareEmergency();
+        List<Aircraft> expected = new ArrayList<>();
+        List<Aircraft> drained = new ArrayList<>();
+        oneByOne.drainTo(expected, 400);
+        assertEquals(301, landingQueue.drainTo(drained, 400));
+        assertEquals(expected, drained);
+        assertEquals(0, landingQueue.size());
+    }
+}
@@ -0,0 +1,77 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setup() {
+        this.histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void getValueAtPercentile_EmptyTest() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void getValueAtPercentile_SmallValuesExactTest() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(9, histogram.getValueAtPercentile(90));
+        assertEquals(10, histogram.getValueAtPercentile(99));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(10, histogram.getMax());
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void getValueAtPercentile_LargeValuesPrecisionTest() {
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(percentile / 100 * 100_000) * 1000;
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue("percentile should not be understated", reported >= exact);
+            assertTrue("percentile should be within 12.5%", reported <= exact * 1.125);
+        }
+        assertEquals("the maximum should be exact", 100_000_000, histogram.getMax());
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void record_LargestValueTest() {
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void record_NegativeTest() {
+        try {
+            histogram.record(-1);
+            fail("a negative duration should not be recorded");
+        } catch (IllegalArgumentException expected) {}
+    }
+
+    @Test
+    public void resetTest() {
+        histogram.record(5);
+        histogram.record(500);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        histogram.record(3);
+        assertEquals("count=1 p50=3 p90=3 p99=3 max=3", histogram.toString());
+    }
+}
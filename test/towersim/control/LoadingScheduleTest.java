@@ -0,0 +1,107 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class LoadingScheduleTest {
+    private Map<Aircraft, Integer> loadingAircraft;
+    private LoadingSchedule schedule;
+    private List<Aircraft> finished;
+
+    private Aircraft aircraft1;
+    private Aircraft aircraft2;
+    private Aircraft aircraft3;
+
+    @Before
+    public void setup() {
+        this.loadingAircraft = new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+        this.finished = new ArrayList<>();
+
+        TaskList taskList = new TaskList(List.of(
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+
+        this.aircraft1 = new PassengerAircraft("ABC001", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        this.aircraft2 = new PassengerAircraft("ABC002", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        this.aircraft3 = new PassengerAircraft("ABC003", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+    }
+
+    @Test
+    public void advance_FinishesInDeadlineOrderTest() {
+        schedule = new LoadingSchedule(loadingAircraft);
+        schedule.add(aircraft1, 3);
+        schedule.add(aircraft2, 1);
+        schedule.add(aircraft3, 3);
+
+        schedule.advance(finished);
+        assertEquals("only aircraft whose load time has elapsed should finish loading",
+                List.of(aircraft2), finished);
+        assertFalse(schedule.contains(aircraft2));
+
+        schedule.advance(finished);
+        assertEquals(List.of(aircraft2), finished);
+
+        schedule.advance(finished);
+        assertEquals("aircraft finishing on the same step should finish in the order they "
+                + "started loading", List.of(aircraft2, aircraft1, aircraft3), finished);
+        assertTrue(schedule.isEmpty());
+    }
+
+    @Test
+    public void getRemainingTicks_Test() {
+        schedule = new LoadingSchedule(loadingAircraft);
+        schedule.add(aircraft1, 3);
+        schedule.add(aircraft2, 2);
+        assertEquals(Map.of(aircraft1, 3, aircraft2, 2), schedule.getRemainingTicks());
+
+        schedule.advance(finished);
+        assertEquals("remaining load times should be counted down on each step",
+                Map.of(aircraft1, 2, aircraft2, 1), schedule.getRemainingTicks());
+
+        schedule.advance(finished);
+        assertEquals("aircraft that finished loading should be removed from the mapping",
+                Map.of(aircraft1, 1), schedule.getRemainingTicks());
+    }
+
+    @Test
+    public void constructor_ExistingEntriesTest() {
+        loadingAircraft.put(aircraft1, 2);
+        loadingAircraft.put(aircraft2, 1);
+        schedule = new LoadingSchedule(loadingAircraft);
+
+        schedule.advance(finished);
+        assertEquals("aircraft already loading should be scheduled",
+                List.of(aircraft2), finished);
+        assertEquals(Map.of(aircraft1, 1), schedule.getRemainingTicks());
+    }
+
+    @Test
+    public void advance_NoTimeRemainingTest() {
+        loadingAircraft.put(aircraft1, 0);
+        schedule = new LoadingSchedule(loadingAircraft);
+
+        schedule.advance(finished);
+        assertEquals("an aircraft with no time remaining is never counted down to zero",
+                List.of(), finished);
+        assertEquals(Map.of(aircraft1, -1), schedule.getRemainingTicks());
+    }
+}
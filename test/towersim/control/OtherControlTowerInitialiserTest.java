@@ -1033,4 +1033,37 @@ public class OtherControlTowerInitialiserTest {
             fail("loadTerminalsWithGates should not throw a MalformedSaveException or IOException");
         }
     }
+
+    @Test
+    public void readTerminal_GateCapacityRoundTripTest() throws Exception {
+        Terminal terminal = new AirplaneTerminal(7, 2000);
+        for (int i = 1; i <= 1500; i++) {
+            terminal.addGate(new Gate(i));
+        }
+        terminal.getGates().get(1200).parkAircraft(passengerAircraft2);
+        String encoded = terminal.encode();
+        String[] lines = encoded.split(System.lineSeparator(), 2);
+        assertEquals("AirplaneTerminal:7:false:1500:2000", lines[0]);
+
+        Terminal read = ControlTowerInitialiser.readTerminal(lines[0],
+                new BufferedReader(new StringReader(lines[1])),
+                List.of(passengerAircraft1, passengerAircraft2));
+        assertEquals(2000, read.getGateCapacity());
+        assertEquals(1500, read.getNumGates());
+        assertEquals(1, read.getNumOccupiedGates());
+        assertEquals(passengerAircraft2, read.getGates().get(1200).getAircraftAtGate());
+        assertEquals(encoded, read.encode());
+    }
+
+    @Test
+    public void readTerminal_MoreGatesThanCapacityTest() {
+        String fileContents = String.join(System.lineSeparator(), "1:empty", "2:empty",
+                "3:empty");
+        try {
+            ControlTowerInitialiser.readTerminal("HelicopterTerminal:1:false:3:2",
+                    new BufferedReader(new StringReader(fileContents)), List.of());
+            fail("readTerminal should throw a MalformedSaveException since the number of gates "
+                    + "is greater than the gate capacity.");
+        } catch (MalformedSaveException | IOException ignored) {}
+    }
 }
@@ -231,6 +231,31 @@ public class OtherControlTowerTest {
         }
     }
 
+    @Test
+    public void getTicksUntilLoaded_MatchesLoadingAircraftTest() {
+        try {
+            assertEquals("aircraft that are not loading should give -1",
+                    -1, controlTower.getTicksUntilLoaded(aircraftLoading));
+            airplaneTerminal1.addGate(gate1);
+            controlTower.addTerminal(airplaneTerminal1);
+            controlTower.addAircraft(aircraftLoading);
+            int loadingTime = aircraftLoading.getLoadingTime();
+            assertEquals(loadingTime, controlTower.getTicksUntilLoaded(aircraftLoading));
+
+            for (int remaining = loadingTime - 1; remaining > 0; remaining--) {
+                controlTower.loadAircraft();
+                assertEquals(remaining, controlTower.getTicksUntilLoaded(aircraftLoading));
+                assertEquals(controlTower.getLoadingAircraft().get(aircraftLoading),
+                        (Integer) remaining);
+            }
+            controlTower.loadAircraft();
+            assertEquals("aircraft that finished loading should give -1",
+                    -1, controlTower.getTicksUntilLoaded(aircraftLoading));
+        } catch (NoSuitableGateException | NoSpaceException exception) {
+            fail("getTicksUntilLoaded should not throw a NoSuitableGateException");
+        }
+    }
+
     @Test
     public void findUnoccupiedGate_BasicTest() {
         try {
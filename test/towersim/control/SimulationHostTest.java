@@ -0,0 +1,165 @@
+package towersim.control;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class SimulationHostTest {
+    private SimulationHost host;
+
+    @Before
+    public void setup() {
+        this.host = new SimulationHost(2);
+    }
+
+    @After
+    public void teardown() {
+        host.shutdown();
+    }
+
+    /* Creates a control tower with one terminal and the given number of aircraft */
+    private static ControlTower createTower(String prefix, int numAircraft) {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        try {
+            for (int i = 0; i < 5; i++) {
+                terminal.addGate(new Gate(i + 1));
+            }
+        } catch (NoSpaceException e) {
+            fail("Adding five gates should not result in a NoSpaceException");
+        }
+        tower.addTerminal(terminal);
+        for (int i = 0; i < numAircraft; i++) {
+            TaskList taskList = new TaskList(List.of(
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.LAND),
+                    new Task(TaskType.LOAD, 40),
+                    new Task(TaskType.TAKEOFF)));
+            try {
+                tower.addAircraft(new PassengerAircraft(prefix + i,
+                        AircraftCharacteristics.AIRBUS_A320, taskList,
+                        AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0));
+            } catch (NoSuitableGateException e) {
+                fail("Adding an AWAY aircraft should not result in a NoSuitableGateException");
+            }
+        }
+        return tower;
+    }
+
+    @Test
+    public void constructor_InvalidThreadsTest() {
+        try {
+            new SimulationHost(0);
+            fail("SimulationHost should throw an IllegalArgumentException for zero threads");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void addAirport_DuplicateTest() {
+        host.addAirport("BNE", createTower("QFA", 1));
+        try {
+            host.addAirport("BNE", createTower("VOZ", 1));
+            fail("addAirport should throw an IllegalArgumentException for a duplicate name");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void tick_MatchesSequentialTest() {
+        List<String> names = List.of("BNE", "SYD", "MEL");
+        List<ControlTower> expected = new ArrayList<>();
+        for (String name : names) {
+            host.addAirport(name, createTower(name, 4));
+            expected.add(createTower(name, 4));
+        }
+
+        host.tick(20);
+        for (ControlTower tower : expected) {
+            for (int i = 0; i < 20; i++) {
+                tower.tick();
+            }
+        }
+
+        assertEquals(names, host.getAirportNames());
+        for (int i = 0; i < names.size(); i++) {
+            ControlTower actual = host.getControlTower(names.get(i));
+            assertEquals("ticking airports concurrently should give the same results as ticking "
+                    + "them one after another", expected.get(i).toString(), actual.toString());
+            assertEquals(20, actual.getTicksElapsed());
+            for (int j = 0; j < actual.getAircraft().size(); j++) {
+                assertEquals(expected.get(i).getAircraft().get(j).encode(),
+                        actual.getAircraft().get(j).encode());
+            }
+        }
+    }
+
+    @Test
+    public void handOff_AwayAircraftTest() {
+        ControlTower brisbane = createTower("QFA", 2);
+        ControlTower sydney = createTower("VOZ", 1);
+        host.addAirport("BNE", brisbane);
+        host.addAirport("SYD", sydney);
+        Aircraft aircraft = brisbane.getAircraft().get(0);
+
+        host.handOff(aircraft, "BNE", "SYD");
+        assertTrue("hand-offs should not be applied until the end of a tick",
+                brisbane.getAircraft().contains(aircraft));
+
+        host.tick();
+        assertFalse("an AWAY aircraft should leave the jurisdiction of its old airport",
+                brisbane.getAircraft().contains(aircraft));
+        assertEquals("an AWAY aircraft should join the jurisdiction of its new airport",
+                aircraft, sydney.getAircraft().get(1));
+    }
+
+    @Test
+    public void handOff_NotAwayTest() {
+        ControlTower brisbane = createTower("QFA", 1);
+        ControlTower sydney = createTower("VOZ", 1);
+        host.addAirport("BNE", brisbane);
+        host.addAirport("SYD", sydney);
+        Aircraft aircraft = brisbane.getAircraft().get(0);
+
+        host.tick(2); // aircraft is now in the landing queue
+        host.handOff(aircraft, "BNE", "SYD");
+        host.tick();
+
+        assertTrue("aircraft that are not AWAY should not be handed off",
+                brisbane.getAircraft().contains(aircraft));
+        assertEquals(1, sydney.getAircraft().size());
+    }
+
+    @Test
+    public void handOff_UnknownAirportTest() {
+        ControlTower brisbane = createTower("QFA", 1);
+        host.addAirport("BNE", brisbane);
+        try {
+            host.handOff(brisbane.getAircraft().get(0), "BNE", "XXX");
+            fail("handOff should throw an IllegalArgumentException for an unknown airport");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+}
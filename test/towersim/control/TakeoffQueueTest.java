@@ -11,6 +11,7 @@ import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import static org.junit.Assert.*;
 
@@ -97,4 +98,138 @@ public class TakeoffQueueTest {
         assertTrue("containsAircraft is not correct",
                 takeoffQueue.containsAircraft(aircraft2));
     }
+
+    @Test
+    public void containsAircraftAfterRemoveTest() {
+        takeoffQueue.addAircraft(aircraft1);
+        takeoffQueue.addAircraft(aircraft2);
+        takeoffQueue.addAircraft(aircraft1);
+        takeoffQueue.removeAircraft();
+        assertTrue("an aircraft added twice should still be in the queue after one is removed",
+                takeoffQueue.containsAircraft(aircraft1));
+        takeoffQueue.removeAircraft();
+        takeoffQueue.removeAircraft();
+        assertFalse("containsAircraft is not correct after removing all aircraft",
+                takeoffQueue.containsAircraft(aircraft1));
+    }
+
+    @Test
+    public void getAircraftInOrder_WrapAroundTest() {
+        // repeatedly add and remove so the front of the queue moves around the array, then grow it
+        List<Aircraft> expected = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Aircraft aircraft = i % 2 == 0 ? aircraft1 : aircraft2;
+            takeoffQueue.addAircraft(aircraft);
+            expected.add(aircraft);
+            if (i % 3 == 0) {
+                assertEquals(expected.remove(0), takeoffQueue.removeAircraft());
+            }
+        }
+        assertEquals(expected, takeoffQueue.getAircraftInOrder());
+        assertEquals(expected.size(), takeoffQueue.size());
+        assertEquals(expected.get(0), takeoffQueue.peekAircraft());
+    }
+
+    @Test
+    public void getAircraftInOrder_ReadOnlyTest() {
+        takeoffQueue.addAircraft(aircraft1);
+        List<Aircraft> inOrder = takeoffQueue.getAircraftInOrder();
+        try {
+            inOrder.add(aircraft2);
+            fail("the list of aircraft in the queue should not be modifiable");
+        } catch (UnsupportedOperationException expected) {}
+        assertSame("views of an unchanged queue should be reused",
+                inOrder, takeoffQueue.getAircraftInOrder());
+        takeoffQueue.addAircraft(aircraft2);
+        assertEquals(List.of(aircraft1, aircraft2), takeoffQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void getAircraftInOrder_FailFastTest() {
+        takeoffQueue.addAircraft(aircraft1);
+        takeoffQueue.addAircraft(aircraft2);
+        List<Aircraft> inOrder = takeoffQueue.getAircraftInOrder();
+        takeoffQueue.removeAircraft();
+        try {
+            inOrder.get(0);
+            fail("using the list after the queue was modified should throw a "
+                    + "ConcurrentModificationException");
+        } catch (ConcurrentModificationException ignored) {
+            // expected
+        }
+
+        try {
+            for (Aircraft aircraft : takeoffQueue.getAircraftInOrder()) {
+                takeoffQueue.addAircraft(aircraft);
+            }
+            fail("modifying the queue while iterating over it should throw a "
+                    + "ConcurrentModificationException");
+        } catch (ConcurrentModificationException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void submitAircraft_ConcurrentProducersTest() throws Exception {
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY), new Task(TaskType.LAND), new Task(TaskType.LOAD, 0)));
+        int numThreads = 8;
+        int perThread = 500;
+        Thread[] producers = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int producer = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    takeoffQueue.submitAircraft(new PassengerAircraft(
+                            String.format("P%d%04d", producer, i),
+                            AircraftCharacteristics.AIRBUS_A320, taskList, 0, 0));
+                }
+            });
+            producers[t].start();
+        }
+        // consume on this thread while the producers are still submitting
+        List<Aircraft> removed = new ArrayList<>();
+        while (removed.size() < numThreads * perThread) {
+            Aircraft submitted;
+            while ((submitted = takeoffQueue.pollSubmission()) != null) {
+                takeoffQueue.addAircraft(submitted);
+            }
+            Aircraft aircraft = takeoffQueue.removeAircraft();
+            if (aircraft != null) {
+                removed.add(aircraft);
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(takeoffQueue.peekAircraft());
+        int[] previous = new int[numThreads];
+        for (Aircraft aircraft : removed) {
+            int producer = aircraft.getCallsign().charAt(1) - '0';
+            int index = Integer.parseInt(aircraft.getCallsign().substring(2));
+            assertEquals("each producer's aircraft should take off in the order submitted",
+                    previous[producer], index);
+            previous[producer]++;
+        }
+    }
+
+    @Test
+    public void addAllDrainTo_FifoTest() {
+        takeoffQueue.addAircraft(aircraft3);
+        List<Aircraft> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(i % 2 == 0 ? aircraft1 : aircraft2);
+        }
+        takeoffQueue.addAll(batch);
+        assertEquals(21, takeoffQueue.size());
+
+        List<Aircraft> drained = new ArrayList<>();
+        assertEquals(3, takeoffQueue.drainTo(drained, 3));
+        assertEquals(List.of(aircraft3, aircraft1, aircraft2), drained);
+        assertFalse(takeoffQueue.containsAircraft(aircraft3));
+        assertEquals(18, takeoffQueue.drainTo(drained, 100));
+        assertEquals(0, takeoffQueue.drainTo(drained, 100));
+        assertFalse(takeoffQueue.containsAircraft(aircraft1));
+        assertNull(takeoffQueue.peekAircraft());
+    }
 }
@@ -0,0 +1,82 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TowerEventBusTest {
+    private TowerEventBus bus;
+    private List<Long> ticks;
+    private TowerEventHandler handler;
+
+    @Before
+    public void setup() {
+        this.bus = new TowerEventBus(4);
+        this.ticks = new ArrayList<>();
+        this.handler = event -> ticks.add(event.getTick());
+    }
+
+    @Test
+    public void constructor_InvalidCapacityTest() {
+        try {
+            new TowerEventBus(0);
+            fail("TowerEventBus should throw an IllegalArgumentException for zero capacity");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void getCapacity_RoundedUpTest() {
+        assertEquals("capacity should be rounded up to a power of two",
+                8, new TowerEventBus(5).getCapacity());
+        assertEquals(4, bus.getCapacity());
+    }
+
+    @Test
+    public void drain_OrderTest() {
+        TowerEventBus.Subscription subscription = bus.subscribe();
+        bus.publish(TowerEventType.TOOK_OFF, 1, null, null, null);
+        bus.publish(TowerEventType.LANDED, 2, null, null, null);
+
+        assertEquals(2, subscription.drain(handler));
+        assertEquals("events should be drained in the order they were published",
+                List.of(1L, 2L), ticks);
+        assertEquals("events should only be drained once", 0, subscription.drain(handler));
+    }
+
+    @Test
+    public void drain_OverflowTest() {
+        TowerEventBus.Subscription subscription = bus.subscribe();
+        for (long tick = 0; tick < 6; tick++) {
+            bus.publish(TowerEventType.TOOK_OFF, tick, null, null, null);
+        }
+
+        subscription.drain(handler);
+        assertEquals("only the most recent events should be drained after an overflow",
+                List.of(2L, 3L, 4L, 5L), ticks);
+        assertEquals(2, subscription.getMissedEvents());
+    }
+
+    @Test
+    public void subscribe_OnlyLaterEventsTest() {
+        bus.publish(TowerEventType.TOOK_OFF, 0, null, null, null);
+        TowerEventBus.Subscription early = bus.subscribe();
+        bus.publish(TowerEventType.TOOK_OFF, 1, null, null, null);
+        TowerEventBus.Subscription late = bus.subscribe();
+        bus.publish(TowerEventType.TOOK_OFF, 2, null, null, null);
+
+        assertEquals(2, early.drain(handler));
+        assertEquals("subscriptions should only receive events published after subscribing",
+                1, late.drain(handler));
+        assertEquals(List.of(1L, 2L, 2L), ticks);
+
+        early.close();
+        late.close();
+        assertFalse(bus.hasSubscriptions());
+    }
+}
@@ -0,0 +1,42 @@
+package towersim.ground;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RunwayTest {
+
+    @Test
+    public void getters_Test() {
+        Runway runway = new Runway(3, RunwayMode.ARRIVALS);
+        assertEquals("getRunwayNumber() should return the number given to the constructor",
+                3, runway.getRunwayNumber());
+        assertEquals("getMode() should return the mode given to the constructor",
+                RunwayMode.ARRIVALS, runway.getMode());
+    }
+
+    @Test
+    public void constructor_NullModeTest() {
+        try {
+            new Runway(1, null);
+            fail("Creating a runway without a mode should throw an IllegalArgumentException");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void toString_Test() {
+        assertEquals("Runway 2 [DEPARTURES]",
+                new Runway(2, RunwayMode.DEPARTURES).toString());
+    }
+
+    @Test
+    public void equals_Test() {
+        assertEquals(new Runway(1, RunwayMode.MIXED), new Runway(1, RunwayMode.MIXED));
+        assertEquals(new Runway(1, RunwayMode.MIXED).hashCode(),
+                new Runway(1, RunwayMode.MIXED).hashCode());
+        assertNotEquals(new Runway(1, RunwayMode.MIXED), new Runway(2, RunwayMode.MIXED));
+        assertNotEquals(new Runway(1, RunwayMode.MIXED), new Runway(1, RunwayMode.ARRIVALS));
+    }
+}
@@ -11,6 +11,7 @@ import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -90,6 +91,38 @@ public class TerminalTest {
         } catch (NoSpaceException expected) {}
     }
 
+    @Test
+    public void addGate_GateCapacityTest() throws NoSpaceException {
+        Terminal large = new HelicopterTerminal(3, 1000);
+        for (int i = 0; i < 1000; i++) {
+            large.addGate(new Gate(i + 1));
+        }
+        assertEquals(1000, large.getGateCapacity());
+        try {
+            large.addGate(new Gate(1001));
+            fail("Calling addGate() on a terminal at its gate capacity should result in a "
+                    + "NoSpaceException");
+        } catch (NoSpaceException expected) {}
+    }
+
+    @Test
+    public void findUnoccupiedGate_LargeTerminalTest() throws Exception {
+        Terminal large = new AirplaneTerminal(3, 5000);
+        List<Gate> gates = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Gate gate = new Gate(i + 1);
+            gates.add(gate);
+            large.addGate(gate);
+        }
+        for (int i = 0; i < 4000; i++) {
+            large.findUnoccupiedGate().parkAircraft(aircraft);
+        }
+        assertEquals(gates.get(4000), large.findUnoccupiedGate());
+        gates.get(1234).aircraftLeaves();
+        assertEquals("the first unoccupied gate should be found after a gate is vacated",
+                gates.get(1234), large.findUnoccupiedGate());
+    }
+
     @Test
     public void getGates_Test() {
         try {
@@ -240,6 +273,27 @@ public class TerminalTest {
                 67, airplaneTerminal.calculateOccupancyLevel());
     }
 
+    @Test
+    public void getNumOccupiedGates_ParkAndLeaveTest() throws NoSpaceException {
+        gate2.parkAircraft(aircraft);
+        airplaneTerminal.addGate(gate1);
+        airplaneTerminal.addGate(gate2);
+        airplaneTerminal.addGate(gate3);
+
+        assertEquals("A gate that was occupied when added should be counted",
+                1, airplaneTerminal.getNumOccupiedGates());
+        gate1.parkAircraft(aircraft);
+        gate3.parkAircraft(aircraft);
+        assertEquals(3, airplaneTerminal.getNumOccupiedGates());
+        assertEquals(100, airplaneTerminal.calculateOccupancyLevel());
+        gate2.aircraftLeaves();
+        gate2.aircraftLeaves();
+        assertEquals("An empty gate leaving again should not change the count",
+                2, airplaneTerminal.getNumOccupiedGates());
+        assertEquals(3, airplaneTerminal.getNumGates());
+        assertEquals(67, airplaneTerminal.calculateOccupancyLevel());
+    }
+
     @Test
     public void toString_Test1() {
         try {
@@ -0,0 +1,107 @@
+package towersim.tasks;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TaskCycleTest {
+    /* Creates a new list of equal tasks on each call */
+    private static List<Task> createTasks(int loadPercent) {
+        return List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, loadPercent),
+                new Task(TaskType.TAKEOFF));
+    }
+
+    @Test
+    public void of_InternedTest() {
+        TaskCycle first = TaskCycle.of(createTasks(60));
+        TaskCycle second = TaskCycle.of(createTasks(60));
+
+        assertSame("Equal lists of tasks should give the same task cycle", first, second);
+        assertNotSame("Lists of tasks with different load percentages should give different "
+                + "task cycles", first, TaskCycle.of(createTasks(61)));
+        assertSame("Task lists of equal tasks should share a task cycle",
+                new TaskList(createTasks(60)).getCycle(), new TaskList(createTasks(60)).getCycle());
+    }
+
+    @Test
+    public void of_InvalidOrderTest() {
+        try {
+            TaskCycle.of(List.of(new Task(TaskType.AWAY), new Task(TaskType.WAIT)));
+            fail("A task cycle with AWAY followed by WAIT should throw an "
+                    + "IllegalArgumentException");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void of_EmptyTest() {
+        try {
+            TaskCycle.of(List.of());
+            fail("An empty task cycle should throw an IllegalArgumentException");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void of_EncodedKeyTest() {
+        TaskCycle cycle = TaskCycle.of(createTasks(45));
+
+        assertEquals("AWAY,AWAY,LAND,WAIT,LOAD@45,TAKEOFF", cycle.encode(0));
+        assertNotSame(cycle, TaskCycle.of(createTasks(46)));
+        // a percentage on a task other than LOAD is not encoded, but the tasks are not equal
+        List<Task> awayWithPercent = new java.util.ArrayList<>(createTasks(45));
+        awayWithPercent.set(0, new Task(TaskType.AWAY, 10));
+        TaskCycle other = TaskCycle.of(awayWithPercent);
+        assertNotSame("tasks that are not equal should not share a cycle", cycle, other);
+        assertEquals(new Task(TaskType.AWAY, 10), other.getTask(0));
+        assertEquals(cycle.encode(0), other.encode(0));
+    }
+
+    @Test
+    public void encode_RotationTest() {
+        TaskCycle cycle = TaskCycle.of(createTasks(45));
+
+        assertEquals("WAIT,LOAD@45,TAKEOFF,AWAY,AWAY,LAND", cycle.encode(3));
+        assertSame("Encodings should be reused", cycle.encode(3), cycle.encode(3));
+        assertEquals(TaskType.LOAD, cycle.getType(4));
+        assertEquals(new Task(TaskType.LOAD, 45), cycle.getTask(4));
+    }
+
+    @Test
+    public void getCurrentTaskType_MatchesTaskTest() {
+        TaskList list = new TaskList(createTasks(20));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(list.getCurrentTask().getType(), list.getCurrentTaskType());
+            list.moveToNextTask();
+        }
+        // each task list keeps its own position in the shared cycle
+        assertEquals(TaskType.AWAY, new TaskList(createTasks(20)).getCurrentTaskType());
+        assertEquals(TaskType.LAND, list.getCurrentTaskType());
+    }
+
+    @Test
+    public void getRunLength_WrapsAroundTest() {
+        // AWAY, AWAY, LAND, WAIT, LOAD, TAKEOFF, AWAY
+        List<Task> tasks = new java.util.ArrayList<>(createTasks(30));
+        tasks.add(new Task(TaskType.AWAY));
+        TaskCycle cycle = TaskCycle.of(tasks);
+
+        assertEquals("runs should continue from the end of the cycle to the start",
+                3, cycle.getRunLength(6));
+        assertEquals(2, cycle.getRunLength(0));
+        assertEquals(1, cycle.getRunLength(1));
+        assertEquals(1, cycle.getRunLength(4));
+
+        TaskCycle awayOnly = TaskCycle.of(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY), new Task(TaskType.AWAY)));
+        assertEquals(3, awayOnly.getRunLength(1));
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.Test;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 public class TaskListTest {
     @Test
@@ -136,4 +138,74 @@ public class TaskListTest {
 
         assertEquals("TaskList currently on AWAY [1/7]", list.toString());
     }
+
+    @Test
+    public void moveForward_Test() {
+        Task waitTask = new Task(TaskType.WAIT);
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                waitTask,
+                new Task(TaskType.LOAD),
+                new Task(TaskType.TAKEOFF)));
+
+        list.moveForward(12); // wraps around the list twice
+
+        assertEquals("moveForward(n) should be equivalent to calling moveToNextTask() n times",
+                waitTask, list.getCurrentTask());
+    }
+
+    @Test
+    public void countConsecutiveTasks_Test() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY)));
+
+        assertEquals(2, list.countConsecutiveTasks(TaskType.AWAY));
+        assertEquals(0, list.countConsecutiveTasks(TaskType.LAND));
+        list.moveForward(5);
+        assertEquals("consecutive tasks should be counted around the circular list",
+                3, list.countConsecutiveTasks(TaskType.AWAY));
+
+        TaskList awayOnly = new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY)));
+        assertEquals(2, awayOnly.countConsecutiveTasks(TaskType.AWAY));
+    }
+
+    @Test
+    public void bind_Test() {
+        int[] slots = new int[3];
+        TaskPositions positions = new TaskPositions() {
+            @Override
+            public int getTaskIndex(int slot) {
+                return slots[slot];
+            }
+
+            @Override
+            public void setTaskIndex(int slot, int index) {
+                slots[slot] = index;
+            }
+        };
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD),
+                new Task(TaskType.TAKEOFF)));
+        list.moveToNextTask();
+        list.bind(positions, 2);
+        assertSame(positions, list.getPositions());
+        assertEquals("binding should write the current position to the slot", 1, slots[2]);
+
+        list.moveForward(2);
+        assertEquals(3, slots[2]);
+        slots[2] = 0;
+        assertEquals(TaskType.AWAY, list.getCurrentTaskType());
+
+        try {
+            list.bind(positions, 0);
+            fail("Binding a task list twice should throw an IllegalStateException");
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+    }
 }